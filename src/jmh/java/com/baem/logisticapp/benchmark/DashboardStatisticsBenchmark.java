@@ -0,0 +1,224 @@
+package com.baem.logisticapp.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Satış dashboard'unun sipariş istatistikleri: eski hali (metrik başına ayrı COUNT/SUM sorgusu, 8 sorgu),
+ * tüm metrikleri tek geçişte FILTER ile hesaplayan aggregate sorgusu ve bugünkü okuma yolu olan
+ * dashboard_counters sayaçları (DashboardCounterService.readOrderCounts) karşılaştırılır.
+ * Gömülü PostgreSQL'de Flyway şeması ve index'leriyle, varsayılan olarak 1M sipariş üzerinde çalışır
+ * (daha küçük veri için: -Djmh.include="DashboardStatisticsBenchmark -p orderCount=100000").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class DashboardStatisticsBenchmark {
+
+    // Eski StatisticsService.getSalesDashboardStats'ın sipariş sorguları (OrderRepository JPQL'lerinin SQL karşılığı)
+    private static final String COUNT_CREATED_BETWEEN =
+            "SELECT COUNT(*) FROM orders WHERE created_at >= ? AND created_at < ?";
+    private static final String COUNT_BY_STATUS =
+            "SELECT COUNT(*) FROM orders WHERE CAST(trip_status AS varchar) = ?";
+    private static final String SUM_TOTAL = "SELECT COALESCE(SUM(quote_price), 0) FROM orders";
+    private static final String SUM_CREATED_BETWEEN =
+            "SELECT COALESCE(SUM(quote_price), 0) FROM orders WHERE created_at >= ? AND created_at < ?";
+    private static final String COUNT_BY_STATUS_WITHOUT_OPERATOR =
+            "SELECT COUNT(*) FROM orders WHERE CAST(trip_status AS varchar) = ? AND operation_person_id IS NULL";
+
+    // Tek geçişli FILTER aggregate: f46de17 ile eklenen, 884629f'te dashboard sayaçlarıyla değiştirilen
+    // dashboard sorgusunun birebir kopyası
+    private static final String AGGREGATE = "SELECT COUNT(*), "
+            + "COUNT(*) FILTER (WHERE trip_status = 'TEKLIF_ASAMASI'), "
+            + "COUNT(*) FILTER (WHERE trip_status = 'ONAYLANAN_TEKLIF'), "
+            + "COUNT(*) FILTER (WHERE trip_status = 'REDDEDILDI'), "
+            + "COUNT(*) FILTER (WHERE trip_status = 'YOLA_CIKTI'), "
+            + "COUNT(*) FILTER (WHERE trip_status = 'TESLIM_EDILDI'), "
+            + "COUNT(*) FILTER (WHERE trip_status = 'ONAYLANAN_TEKLIF' AND operation_person_id IS NULL), "
+            + "COUNT(*) FILTER (WHERE created_at >= ? AND created_at < ?), "
+            + "COUNT(*) FILTER (WHERE created_at >= ? AND created_at < ?), "
+            + "COUNT(*) FILTER (WHERE trip_status = 'TESLIM_EDILDI' AND updated_at >= ? AND updated_at < ?), "
+            + "COUNT(*) FILTER (WHERE updated_at >= ? AND updated_at < ?), "
+            + "COUNT(*) FILTER (WHERE estimated_arrival_date < CURRENT_DATE "
+            + "AND trip_status IN ('ONAYLANAN_TEKLIF', 'YOLA_CIKTI')), "
+            + "COALESCE(SUM(quote_price), 0), "
+            + "COALESCE(SUM(quote_price) FILTER (WHERE created_at >= ? AND created_at < ?), 0) "
+            + "FROM orders";
+
+    // Sayaç okuması (DashboardCounterService.readOrderCounts): gereken anahtarlar + gecikmiş sipariş sayımı
+    private static final String COUNT_DELAYED = "SELECT COUNT(*) FROM orders WHERE estimated_arrival_date < CURRENT_DATE "
+            + "AND trip_status IN ('ONAYLANAN_TEKLIF', 'YOLA_CIKTI')";
+
+    @Param({"1000000"})
+    private int orderCount;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private OffsetDateTime now;
+    private OffsetDateTime monthStart;
+    private OffsetDateTime lastMonthStart;
+    private OffsetDateTime dayStart;
+    private OffsetDateTime dayEnd;
+    private String[] counterKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        DataSource dataSource = postgres.getPostgresDatabase();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        connection = dataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO customer (customer_id, name) VALUES (1, 'ACME Lojistik')");
+            statement.execute("INSERT INTO users (id, username, password, role) VALUES (1, 'operation', 'x', 'OPERATION')");
+            // Son 90 güne yayılmış, durumları ve fiyatları karışık siparişler
+            statement.execute("INSERT INTO orders (order_id, customer_id, order_number, trip_status, quote_price, "
+                    + "operation_person_id, estimated_arrival_date, created_at, updated_at) "
+                    + "SELECT i, 1, lpad(i::text, 16, '0'), "
+                    + "(ARRAY['TEKLIF_ASAMASI', 'ONAYLANAN_TEKLIF', 'IPTAL_EDILDI', 'REDDEDILDI', 'YOLA_CIKTI', "
+                    + "'TESLIM_EDILDI'])[1 + i % 6], (i % 5000) + 100, CASE WHEN i % 3 = 0 THEN NULL ELSE 1 END, "
+                    + "CURRENT_DATE + (i % 60) - 30, now() - (i % 90) * interval '1 day', "
+                    + "now() - (i % 45) * interval '1 day' "
+                    + "FROM generate_series(1, " + orderCount + ") AS i");
+            // Sayaçlar: genel, durum başına ve son 90 günün günlük sayaçları, her biri 16 şeritte
+            statement.execute("INSERT INTO dashboard_counters (counter_key, stripe, counter_value, bucket_date) "
+                    + "SELECT c.counter_key, stripe, 1, c.bucket_date FROM ("
+                    + "SELECT 'orders.status.' || s AS counter_key, NULL::date AS bucket_date "
+                    + "FROM unnest(ARRAY['TEKLIF_ASAMASI', 'ONAYLANAN_TEKLIF', 'IPTAL_EDILDI', 'REDDEDILDI', "
+                    + "'YOLA_CIKTI', 'TESLIM_EDILDI']) AS s "
+                    + "UNION ALL SELECT k, NULL::date FROM unnest(ARRAY['orders.total', 'orders.value.total', "
+                    + "'orders.approvedWithoutOperator']) AS k "
+                    + "UNION ALL SELECT p || d::date, d::date FROM unnest(ARRAY['orders.created.', "
+                    + "'orders.createdValue.', 'orders.updated.', 'orders.completed.']) AS p, "
+                    + "generate_series(CURRENT_DATE - 90, CURRENT_DATE, interval '1 day') AS d) AS c, "
+                    + "generate_series(0, 15) AS stripe");
+            statement.execute("ANALYZE orders");
+            statement.execute("ANALYZE dashboard_counters");
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate today = LocalDate.now();
+        now = OffsetDateTime.now();
+        monthStart = today.withDayOfMonth(1).atStartOfDay(zone).toOffsetDateTime();
+        lastMonthStart = today.withDayOfMonth(1).minusMonths(1).atStartOfDay(zone).toOffsetDateTime();
+        dayStart = today.atStartOfDay(zone).toOffsetDateTime();
+        dayEnd = today.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+
+        List<String> keys = new ArrayList<>(List.of("orders.total", "orders.value.total",
+                "orders.approvedWithoutOperator", "orders.updated." + today, "orders.completed." + today));
+        for (String status : new String[]{"TEKLIF_ASAMASI", "ONAYLANAN_TEKLIF", "IPTAL_EDILDI", "REDDEDILDI",
+                "YOLA_CIKTI", "TESLIM_EDILDI"}) {
+            keys.add("orders.status." + status);
+        }
+        for (LocalDate day = today.withDayOfMonth(1).minusMonths(1); !day.isAfter(today); day = day.plusDays(1)) {
+            keys.add("orders.created." + day);
+            keys.add("orders.createdValue." + day);
+        }
+        counterKeys = keys.toArray(String[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public long perMetricQueries() throws SQLException {
+        long result = count(COUNT_CREATED_BETWEEN, monthStart, now);
+        result += count(COUNT_CREATED_BETWEEN, lastMonthStart, monthStart);
+        result += count(COUNT_BY_STATUS, "ONAYLANAN_TEKLIF");
+        result += count(COUNT_BY_STATUS, "TEKLIF_ASAMASI");
+        result += count(COUNT_BY_STATUS, "REDDEDILDI");
+        result += sum(SUM_TOTAL).longValue();
+        result += sum(SUM_CREATED_BETWEEN, monthStart, now).longValue();
+        result += count(COUNT_BY_STATUS_WITHOUT_OPERATOR, "ONAYLANAN_TEKLIF");
+        return result;
+    }
+
+    @Benchmark
+    public long singleAggregate() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(AGGREGATE)) {
+            bind(statement, monthStart, now, lastMonthStart, monthStart, dayStart, dayEnd, dayStart, dayEnd,
+                    monthStart, now);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                long result = 0;
+                for (int column = 1; column <= 12; column++) {
+                    result += resultSet.getLong(column);
+                }
+                return result + resultSet.getBigDecimal(13).longValue() + resultSet.getBigDecimal(14).longValue();
+            }
+        }
+    }
+
+    @Benchmark
+    public long counters() throws SQLException {
+        long result = 0;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT counter_key, SUM(counter_value) FROM dashboard_counters WHERE counter_key = ANY (?) "
+                        + "GROUP BY counter_key")) {
+            statement.setArray(1, connection.createArrayOf("varchar", counterKeys));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    result += resultSet.getBigDecimal(2).longValue();
+                }
+            }
+        }
+        return result + count(COUNT_DELAYED);
+    }
+
+    private long count(String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private BigDecimal sum(String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            bind(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getBigDecimal(1);
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object... parameters) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+    }
+}
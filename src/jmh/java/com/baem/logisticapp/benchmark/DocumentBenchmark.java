@@ -0,0 +1,62 @@
+package com.baem.logisticapp.benchmark;
+
+import com.baem.logisticapp.entity.Driver;
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.Vehicle;
+import com.baem.logisticapp.service.DocumentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sürücü bilgi formu üretimi (saniyede belge sayısı)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DocumentBenchmark {
+
+    private DocumentService documentService;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        documentService = new DocumentService();
+        documentService.compileTemplates();
+
+        Driver driver = new Driver();
+        driver.setFirstName("Mehmet");
+        driver.setLastName("Yılmaz");
+        Vehicle truck = new Vehicle();
+        truck.setPlateNo("34 ABC 123");
+
+        order = Order.builder()
+                .id(1L)
+                .orderNumber("2610183900000001")
+                .departureCity("Milano")
+                .arrivalCity("İstanbul")
+                .arrivalAddress("Ambarlı Limanı")
+                .cargoType("Tekstil")
+                .loadingDate(LocalDate.now())
+                .assignedDriver(driver)
+                .assignedTruck(truck)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] generateDriverInformationDocument() {
+        return documentService.generateDriverInformationDocument(order);
+    }
+}
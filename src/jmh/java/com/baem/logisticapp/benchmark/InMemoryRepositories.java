@@ -0,0 +1,109 @@
+package com.baem.logisticapp.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Benchmark'lar için veritabanı yerine geçen bellek içi repository'ler.
+ * Spring Data arayüzleri dinamik proxy ile karşılanır; yalnızca servislerin
+ * kullandığı temel CRUD metodları desteklenir, diğerleri varsayılan değer döner.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    /**
+     * save/findById/findAll ve findWithAssociationsById metodlarını bir Map üzerinden karşılar
+     */
+    static <R, T> R crud(Class<R> repositoryType, Function<T, Long> idGetter, BiConsumer<T, Long> idSetter) {
+        Map<Long, T> store = new ConcurrentHashMap<>();
+        AtomicLong ids = new AtomicLong();
+        return proxy(repositoryType, (name, args) -> switch (name) {
+            case "save", "saveAndFlush" -> {
+                @SuppressWarnings("unchecked")
+                T entity = (T) args[0];
+                if (idGetter.apply(entity) == null) {
+                    idSetter.accept(entity, ids.incrementAndGet());
+                }
+                store.put(idGetter.apply(entity), entity);
+                yield entity;
+            }
+            case "findById", "findWithAssociationsById" -> Optional.ofNullable(store.get((Long) args[0]));
+            case "existsById" -> store.containsKey((Long) args[0]);
+            case "findAll", "findAllWithAssociations" -> new ArrayList<>(store.values());
+            case "findAllById" -> {
+                List<T> found = new ArrayList<>();
+                for (Object id : (Iterable<?>) args[0]) {
+                    T entity = store.get((Long) id);
+                    if (entity != null) {
+                        found.add(entity);
+                    }
+                }
+                yield found;
+            }
+            case "count" -> (long) store.size();
+            case "deleteAll" -> {
+                store.clear();
+                yield null;
+            }
+            default -> UNHANDLED;
+        });
+    }
+
+    /**
+     * Metodları verilen işleyiciye yönlendiren repository proxy'si oluşturur
+     */
+    static <R> R proxy(Class<R> repositoryType, MethodHandler handler) {
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (self, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return "InMemory" + repositoryType.getSimpleName();
+                        case "hashCode":
+                            return System.identityHashCode(self);
+                        case "equals":
+                            return self == args[0];
+                        default:
+                            break;
+                    }
+                    Object result = handler.handle(method.getName(), args != null ? args : new Object[0]);
+                    return result != UNHANDLED ? result : defaultValue(method.getReturnType());
+                });
+        return repositoryType.cast(proxy);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == List.class || type == Collection.class || type == Iterable.class) {
+            return List.of();
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        return null;
+    }
+
+    static final Object UNHANDLED = new Object();
+
+    @FunctionalInterface
+    interface MethodHandler {
+        Object handle(String methodName, Object[] args);
+    }
+}
@@ -0,0 +1,55 @@
+package com.baem.logisticapp.benchmark;
+
+import com.baem.logisticapp.security.JwtUtil;
+import com.baem.logisticapp.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT doğrulama maliyeti: her istekte parse/imza kontrolü ile önbellekten doğrulamanın karşılaştırması
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        verifiedTokenCache = new VerifiedTokenCache(jwtUtil, 10_000);
+        token = jwtUtil.generateToken("operation", "OPERATION");
+        verifiedTokenCache.verify(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token, "operation");
+    }
+
+    @Benchmark
+    public Optional<VerifiedTokenCache.VerifiedToken> verifyCached() {
+        return verifiedTokenCache.verify(token);
+    }
+}
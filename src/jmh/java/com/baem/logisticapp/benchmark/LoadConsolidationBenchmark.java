@@ -0,0 +1,60 @@
+package com.baem.logisticapp.benchmark;
+
+import com.baem.logisticapp.service.LoadConsolidationPlanner;
+import com.baem.logisticapp.service.LoadConsolidationPlanner.Capacity;
+import com.baem.logisticapp.service.LoadConsolidationPlanner.Item;
+import com.baem.logisticapp.service.LoadConsolidationPlanner.Plan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tek bir rota penceresinin planlanması: yalnızca first-fit-decreasing ile yerel aramanın
+ * bitene kadar çalıştığı durum. Parsiyel yükler 13.6 m / 24 ton dorseye yerleştirilir.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoadConsolidationBenchmark {
+
+    private static final Capacity TRAILER = new Capacity(24_000, 13.6);
+
+    @Param({"50", "500"})
+    private int orderCount;
+
+    private List<Item> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        items = new ArrayList<>(orderCount);
+        for (long id = 1; id <= orderCount; id++) {
+            items.add(new Item(id, 500 + random.nextInt(9_500), 0.4 + random.nextInt(50) / 10.0));
+        }
+    }
+
+    @Benchmark
+    public Plan firstFitDecreasing() {
+        return LoadConsolidationPlanner.plan(items, TRAILER, System.nanoTime());
+    }
+
+    @Benchmark
+    public Plan withLocalSearch() {
+        return LoadConsolidationPlanner.plan(items, TRAILER, System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,203 @@
+package com.baem.logisticapp.benchmark;
+
+import com.baem.logisticapp.dto.OrderCreateDTO;
+import com.baem.logisticapp.dto.OrderResponseDTO;
+import com.baem.logisticapp.dto.OrderUpdateDTO;
+import com.baem.logisticapp.entity.CountryCode;
+import com.baem.logisticapp.entity.Customer;
+import com.baem.logisticapp.entity.Driver;
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.Supplier;
+import com.baem.logisticapp.entity.Trailer;
+import com.baem.logisticapp.entity.TripStatus;
+import com.baem.logisticapp.entity.User;
+import com.baem.logisticapp.entity.Vehicle;
+import com.baem.logisticapp.repository.ActivityLogRepository;
+import com.baem.logisticapp.repository.CountryCodeRepository;
+import com.baem.logisticapp.repository.CustomerRepository;
+import com.baem.logisticapp.repository.DashboardCounterRepository;
+import com.baem.logisticapp.repository.DriverRepository;
+import com.baem.logisticapp.repository.OrderNumberSequenceRepository;
+import com.baem.logisticapp.repository.OrderRepository;
+import com.baem.logisticapp.repository.SupplierRepository;
+import com.baem.logisticapp.repository.TrailerRepository;
+import com.baem.logisticapp.repository.UserRepository;
+import com.baem.logisticapp.repository.VehicleRepository;
+import com.baem.logisticapp.service.ActivityLog;
+import com.baem.logisticapp.service.CountryCodeIndex;
+import com.baem.logisticapp.service.DashboardCounterService;
+import com.baem.logisticapp.service.GlobalSearchIndex;
+import com.baem.logisticapp.service.OrderNumberSequenceAllocator;
+import com.baem.logisticapp.service.OrderServiceImpl;
+import com.baem.logisticapp.service.ResourceAvailabilityIndex;
+import com.baem.logisticapp.service.TripNumberGenerator;
+import com.baem.logisticapp.validator.OrderValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sipariş servisinin sıcak yolları: oluşturma (sipariş/sefer numarası dahil),
+ * DTO dönüşümü ve güncelleme. Veritabanı yerine bellek içi repository'ler kullanılır;
+ * ölçülen süre yalnızca uygulama kodudur.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrderServiceBenchmark {
+
+    private OrderServiceImpl orderService;
+    private OrderRepository orderRepository;
+    private CountryCodeIndex countryCodeIndex;
+    private OrderNumberSequenceAllocator orderNumberSequenceAllocator;
+    private TripNumberGenerator tripNumberGenerator;
+    private GlobalSearchIndex globalSearchIndex;
+    private ResourceAvailabilityIndex resourceAvailabilityIndex;
+    private ActivityLog activityLog;
+    private OrderCreateDTO createDTO;
+    private OrderUpdateDTO updateDTO;
+    private Long existingOrderId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderRepository = InMemoryRepositories.crud(OrderRepository.class, Order::getId, Order::setId);
+        CustomerRepository customerRepository = InMemoryRepositories.crud(CustomerRepository.class, Customer::getId, Customer::setId);
+        UserRepository userRepository = InMemoryRepositories.crud(UserRepository.class, User::getId, User::setId);
+        VehicleRepository vehicleRepository = InMemoryRepositories.crud(VehicleRepository.class, Vehicle::getId, Vehicle::setId);
+        TrailerRepository trailerRepository = InMemoryRepositories.crud(TrailerRepository.class, Trailer::getId, Trailer::setId);
+        DriverRepository driverRepository = InMemoryRepositories.crud(DriverRepository.class, Driver::getId, Driver::setId);
+
+        List<CountryCode> countryCodes = List.of(
+                CountryCode.builder().id(1L).countryName("TURKEY").countryNameTr("TÜRKİYE").countryCodeIso("TR")
+                        .countryCodeNumeric("90").isActive(true).build(),
+                CountryCode.builder().id(2L).countryName("ITALY").countryNameTr("İTALYA").countryCodeIso("IT")
+                        .countryCodeNumeric("39").isActive(true).build(),
+                CountryCode.builder().id(3L).countryName("GERMANY").countryNameTr("ALMANYA").countryCodeIso("DE")
+                        .countryCodeNumeric("49").isActive(true).build());
+        CountryCodeRepository countryCodeRepository = InMemoryRepositories.proxy(CountryCodeRepository.class,
+                (name, args) -> name.equals("findAll") ? countryCodes : InMemoryRepositories.UNHANDLED);
+        countryCodeIndex = new CountryCodeIndex(countryCodeRepository);
+        countryCodeIndex.rebuild();
+
+        // Veritabanı blok tahsisinin karşılığı: her prefix için yüksek su seviyesi
+        ConcurrentHashMap<String, AtomicLong> highWaterMarks = new ConcurrentHashMap<>();
+        OrderNumberSequenceRepository sequenceRepository = InMemoryRepositories.proxy(OrderNumberSequenceRepository.class,
+                (name, args) -> name.equals("allocateBlock")
+                        ? highWaterMarks.computeIfAbsent((String) args[0], prefix -> new AtomicLong())
+                                .addAndGet((Long) args[1])
+                        : InMemoryRepositories.UNHANDLED);
+        orderNumberSequenceAllocator = new OrderNumberSequenceAllocator(sequenceRepository, 50);
+        tripNumberGenerator = new TripNumberGenerator(0);
+
+        DashboardCounterService dashboardCounterService = new DashboardCounterService(
+                InMemoryRepositories.proxy(DashboardCounterRepository.class, (name, args) -> InMemoryRepositories.UNHANDLED),
+                orderRepository, null);
+
+        SupplierRepository supplierRepository = InMemoryRepositories.crud(SupplierRepository.class, Supplier::getId, Supplier::setId);
+        globalSearchIndex = new GlobalSearchIndex(customerRepository, supplierRepository,
+                orderRepository, driverRepository);
+
+        // Siparişlere kaynak atanmaz: aynı tarihlerde tekrar tekrar oluşturulan siparişler aynı kamyonu
+        // paylaşamaz, çakışma kontrolü de EntityManager ile satır kilidi ister
+        resourceAvailabilityIndex = new ResourceAvailabilityIndex(orderRepository, vehicleRepository,
+                trailerRepository, driverRepository);
+
+        // Aktiviteler arka planda yazılır; tablo yazımı ölçüme girmesin diye kayıtlar atılır
+        activityLog = new ActivityLog(
+                InMemoryRepositories.proxy(ActivityLogRepository.class, (name, args) -> InMemoryRepositories.UNHANDLED),
+                userRepository, tripNumberGenerator, 4096, 200, 500, 50, 5);
+        activityLog.start();
+
+        orderService = new OrderServiceImpl(orderRepository, customerRepository, userRepository, vehicleRepository,
+                trailerRepository, driverRepository, countryCodeIndex, new OrderValidator(), null,
+                dashboardCounterService, orderNumberSequenceAllocator, tripNumberGenerator, globalSearchIndex,
+                resourceAvailabilityIndex, activityLog);
+
+        Customer customer = customerRepository.save(Customer.builder().name("ACME Lojistik").taxNo("1234567890").build());
+        User salesPerson = userRepository.save(User.builder().username("sales").firstName("Satış").lastName("Personeli").build());
+
+        createDTO = OrderCreateDTO.builder()
+                .customerId(customer.getId())
+                .salesPersonId(salesPerson.getId())
+                .departureCountry("İtalya")
+                .departureCity("Milano")
+                .departureAddress("Via Roma 1")
+                .arrivalCountry("Türkiye")
+                .arrivalCity("İstanbul")
+                .arrivalAddress("Ambarlı Limanı")
+                .cargoType("Tekstil")
+                .cargoWeightKg(new BigDecimal("12000"))
+                .quotePrice(new BigDecimal("4500.00"))
+                .loadingDate(LocalDate.now().plusDays(2))
+                .estimatedArrivalDate(LocalDate.now().plusDays(6))
+                .tripStatus(TripStatus.TEKLIF_ASAMASI)
+                .build();
+
+        updateDTO = new OrderUpdateDTO();
+        updateDTO.setArrivalAddress("Haydarpaşa Limanı");
+        updateDTO.setCargoType("Otomotiv yedek parça");
+        updateDTO.setCargoWeightKg(new BigDecimal("11500"));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetOrders() {
+        // createOrder ölçümünde biriken siparişler (ve arama indeksi kayıtları) belleği şişirmesin
+        orderRepository.findAll().forEach(order -> {
+            globalSearchIndex.removed(GlobalSearchIndex.EntityType.ORDER, order.getId());
+            resourceAvailabilityIndex.orderRemoved(order.getId());
+        });
+        orderRepository.deleteAll();
+        existingOrderId = orderService.createOrder(createDTO).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        activityLog.stop();
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder() {
+        return orderService.createOrder(createDTO);
+    }
+
+    @Benchmark
+    public OrderResponseDTO getOrderById() {
+        // convertToDTO
+        return orderService.getOrderById(existingOrderId);
+    }
+
+    @Benchmark
+    public OrderResponseDTO updateOrder() {
+        // updateOrderFields + convertToDTO
+        return orderService.updateOrder(existingOrderId, updateDTO);
+    }
+
+    @Benchmark
+    public String generateOrderNumberParts() {
+        // generateOrderNumber'ın parçaları: ülke kodu çözümleme ve günlük sıra numarası
+        String countryCode = countryCodeIndex.findNumericCode("italya").orElse("00");
+        return countryCode + orderNumberSequenceAllocator.next("261018", countryCode);
+    }
+
+    @Benchmark
+    public String generateTripNumber() {
+        return tripNumberGenerator.nextTripNumber();
+    }
+}
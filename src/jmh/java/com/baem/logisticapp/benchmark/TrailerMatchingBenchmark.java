@@ -0,0 +1,99 @@
+package com.baem.logisticapp.benchmark;
+
+import com.baem.logisticapp.repository.TrailerRepository;
+import com.baem.logisticapp.service.TrailerCapacityIndex;
+import com.baem.logisticapp.service.TrailerCapacityIndex.Cargo;
+import com.baem.logisticapp.service.TrailerCapacityIndex.TrailerFit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dorse eşleştirme: önceden sıralanmış kapasite indeksi ile tüm dorseleri tarayıp sıralamanın karşılaştırması.
+ * Yükler büyük dorse gerektirecek şekilde seçilir (gerçekte tır yüklerinin çoğu gibi).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TrailerMatchingBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"1000", "10000"})
+    private int trailerCount;
+
+    private TrailerCapacityIndex index;
+    private List<Object[]> trailerRows;
+    private Cargo[] cargos;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] types = {"Tenteli", "Frigorifik", "Konteyner", "Lowbed"};
+        trailerRows = new ArrayList<>(trailerCount);
+        for (long id = 1; id <= trailerCount; id++) {
+            trailerRows.add(new Object[]{id, "TR-" + id, types[random.nextInt(types.length)],
+                    5.0 + random.nextInt(36), // 5-40 ton
+                    6.0 + random.nextInt(80) / 10.0, // 6-13.9 m
+                    2.2 + random.nextInt(40) / 100.0, // 2.2-2.6 m
+                    2.4 + random.nextInt(60) / 100.0}); // 2.4-3.0 m
+        }
+        TrailerRepository trailerRepository = InMemoryRepositories.proxy(TrailerRepository.class,
+                (name, args) -> name.equals("findCapacityIndexRows") ? trailerRows : InMemoryRepositories.UNHANDLED);
+        index = new TrailerCapacityIndex(trailerRepository);
+        index.rebuild();
+
+        cargos = new Cargo[1024];
+        for (int i = 0; i < cargos.length; i++) {
+            cargos[i] = new Cargo(20_000.0 + random.nextInt(18_000), 8.0 + random.nextInt(50) / 10.0,
+                    2.0 + random.nextInt(40) / 100.0, 2.0 + random.nextInt(80) / 100.0);
+        }
+    }
+
+    @Benchmark
+    public List<TrailerFit> indexed() {
+        return index.findBestFits(nextCargo(), null, trailerId -> true, LIMIT);
+    }
+
+    @Benchmark
+    public List<Object[]> linearScan() {
+        // Karşılaştırma için: her dorseyi kontrol edip uyanları boş kapasiteye göre sıralamak
+        Cargo cargo = nextCargo();
+        double longSide = Math.max(cargo.length(), cargo.width());
+        double shortSide = Math.min(cargo.length(), cargo.width());
+        List<Object[]> fits = new ArrayList<>();
+        for (Object[] row : trailerRows) {
+            double capacityKg = (Double) row[3] * 1000;
+            double length = (Double) row[4];
+            double width = (Double) row[5];
+            double height = (Double) row[6];
+            if (capacityKg >= cargo.weightKg() && Math.max(length, width) >= longSide
+                    && Math.min(length, width) >= shortSide && height >= cargo.height()) {
+                fits.add(row);
+            }
+        }
+        fits.sort(Comparator.comparingDouble(row -> (Double) row[3] * 1000 - cargo.weightKg()));
+        return fits.subList(0, Math.min(LIMIT, fits.size()));
+    }
+
+    private Cargo nextCargo() {
+        return cargos[next++ & (cargos.length - 1)];
+    }
+}
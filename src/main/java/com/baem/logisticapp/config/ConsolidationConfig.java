@@ -0,0 +1,30 @@
+package com.baem.logisticapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ConsolidationConfig {
+
+    /**
+     * Yük konsolidasyonunda rota grupları bu havuzda paralel planlanır. Ortak havuzdan ayrı tutulur;
+     * uzun süren bir planlama diğer parallel stream kullanımlarını bekletmez. 0 = işlemci sayısı.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool consolidationPool(@Value("${consolidation.threads:0}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("consolidation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(parallelism, threadFactory, null, false);
+    }
+}
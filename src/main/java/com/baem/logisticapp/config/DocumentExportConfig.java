@@ -0,0 +1,54 @@
+package com.baem.logisticapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class DocumentExportConfig implements WebMvcConfigurer {
+
+    // Yanıtı uzun süre akan toplu dışa aktarım; siparişleri parça başına kısa transaction'larda okur
+    private static final String BULK_EXPORT_PATH = "/api/v1/orders/driver-information-documents";
+
+    /**
+     * Toplu belge üretimi için sınırlı thread havuzu. Kuyruk dolduğunda iş
+     * çağıran thread'de çalışır; böylece eşzamanlı dışa aktarımlar belleği şişirmez.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService documentRenderExecutor(@Value("${documents.export.threads:4}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "document-render-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Open-in-view, Spring Boot'un varsayılanı gibi tüm isteklerde açık kalır; yalnızca toplu dışa
+     * aktarımda kapalıdır. Aksi halde isteğe bağlı EntityManager ilk sorguda aldığı bağlantıyı
+     * ZIP akışı bitene kadar bırakmaz ve küçük bağlantı havuzunu uzun süre meşgul eder.
+     */
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(BULK_EXPORT_PATH);
+    }
+}
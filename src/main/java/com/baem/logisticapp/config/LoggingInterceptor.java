@@ -1,30 +0,0 @@
-package com.baem.logisticapp.config;
-
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
-import org.springframework.web.servlet.HandlerInterceptor;
-
-@Component
-public class LoggingInterceptor implements HandlerInterceptor {
-    
-    private static final Logger log = LoggerFactory.getLogger(LoggingInterceptor.class);
-
-    @Override
-    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        // Sadece endpoint'i logla, detay yok
-        return true;
-    }
-
-    @Override
-    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        // Tek satırda endpoint ve status code
-        log.info("{} {} - {}", request.getMethod(), request.getRequestURI(), response.getStatus());
-        
-        if (ex != null) {
-            log.error("Exception: {} {}", request.getRequestURI(), ex.getMessage());
-        }
-    }
-}
@@ -0,0 +1,68 @@
+package com.baem.logisticapp.config;
+
+import com.baem.logisticapp.metrics.RequestMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * API isteklerinin süresini (güvenlik filtreleri dahil) ölçüp RequestMetrics'e yazar.
+ * Rota, eşleşen path pattern'i (ör. /api/v1/orders/{id}) olarak kaydedilir;
+ * böylece id'ler ayrı metrik oluşturmaz.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    private final RequestMetrics requestMetrics;
+    private final long slowRequestThresholdNanos;
+
+    public RequestMetricsFilter(RequestMetrics requestMetrics,
+                                @Value("${metrics.slow-request-threshold-ms:2000}") long slowRequestThresholdMs) {
+        this.requestMetrics = requestMetrics;
+        this.slowRequestThresholdNanos = slowRequestThresholdMs * 1_000_000;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        requestMetrics.requestStarted();
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        try {
+            filterChain.doFilter(request, response);
+            status = response.getStatus();
+        } catch (IOException | ServletException | RuntimeException e) {
+            // GlobalExceptionHandler'a ulaşmayan hatalar
+            requestMetrics.recordError(e);
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String route = pattern != null ? (String) pattern : UNMATCHED_ROUTE;
+            requestMetrics.requestFinished(request.getMethod(), route, status, duration);
+            if (duration > slowRequestThresholdNanos) {
+                log.warn("Slow request: {} {} - {} ({}ms)", request.getMethod(), request.getRequestURI(), status,
+                        duration / 1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.baem.logisticapp.config;
+
+import com.baem.logisticapp.entity.CountryCode;
+import com.baem.logisticapp.entity.Currency;
+import com.baem.logisticapp.entity.CustomerRiskStatus;
+import com.baem.logisticapp.entity.VehicleOwnershipType;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // İkinci seviye önbellekteki entity'ler; region adı entity sınıfının tam adıdır
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(
+            CountryCode.class, Currency.class, CustomerRiskStatus.class, VehicleOwnershipType.class);
+
+    /**
+     * Hibernate region'ları için Caffeine tabanlı JCache yöneticisi. Her uygulama context'i kendi
+     * provider'ını kullanır; region'lar boyut ve TTL sınırıyla önceden oluşturulur.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${cache.reference-data.max-entries:1000}") long referenceDataMaxEntries,
+            @Value("${cache.reference-data.ttl-ms:3600000}") long referenceDataTtlMs,
+            @Value("${cache.query-results.max-entries:500}") long queryResultsMaxEntries) {
+        CachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        for (Class<?> entity : CACHED_ENTITIES) {
+            cacheManager.createCache(entity.getName(), regionConfiguration(referenceDataMaxEntries, referenceDataTtlMs));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(queryResultsMaxEntries, referenceDataTtlMs));
+        // Tablo başına son güncelleme zamanı; sorgu sonuçlarının geçerliliği buna bakılarak anlaşılır,
+        // bu yüzden süresi dolmamalı ve taşmamalı (tablo sayısı kadar kayıt)
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setNativeStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Önceden oluşturulmamış region sınırsız büyürdü; yeni @Cache entity'si CACHED_ENTITIES'e eklenmeli
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxEntries, long ttlMs) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        configuration.setNativeStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,38 @@
+package com.baem.logisticapp.config;
+
+import com.baem.logisticapp.metrics.SqlProfiler;
+import com.baem.logisticapp.metrics.SqlProfilingSessionListener;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.cfg.SessionEventSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class SqlProfilingConfig implements WebMvcConfigurer {
+
+    private final SqlProfilingInterceptor sqlProfilingInterceptor;
+
+    public SqlProfilingConfig(SqlProfilingInterceptor sqlProfilingInterceptor) {
+        this.sqlProfilingInterceptor = sqlProfilingInterceptor;
+    }
+
+    /**
+     * Hibernate'e SQL profil kancalarını ekler
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlProfilingHibernateCustomizer() {
+        return properties -> {
+            properties.put(JdbcSettings.STATEMENT_INSPECTOR, new SqlProfiler());
+            properties.put(SessionEventSettings.AUTO_SESSION_EVENTS_LISTENER, SqlProfilingSessionListener.class.getName());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlProfilingInterceptor)
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,73 @@
+package com.baem.logisticapp.config;
+
+import com.baem.logisticapp.metrics.SqlMetrics;
+import com.baem.logisticapp.metrics.SqlProfiler;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Her controller çağrısı için SQL profilini başlatır/bitirir, sonuçları controller
+ * metoduna (ör. OrderController.searchOrders) atfeder ve statement bütçesi aşılınca uyarır.
+ */
+@Component
+@Slf4j
+public class SqlProfilingInterceptor implements HandlerInterceptor {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final SqlMetrics sqlMetrics;
+    private final int statementBudget;
+    private final ConcurrentHashMap<Method, String> endpointNames = new ConcurrentHashMap<>();
+
+    public SqlProfilingInterceptor(SqlMetrics sqlMetrics,
+                                   @Value("${metrics.sql.statement-budget:20}") int statementBudget) {
+        this.sqlMetrics = sqlMetrics;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqlProfiler.start(endpointName(handlerMethod));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (SqlProfiler.current() == null) {
+            return;
+        }
+        SqlProfiler.Profile profile = SqlProfiler.stop();
+        boolean overBudget = statementBudget > 0 && profile.getStatementCount() > statementBudget;
+        sqlMetrics.record(profile, overBudget);
+
+        if (overBudget) {
+            String slowestSql = profile.getSlowestSql();
+            if (slowestSql != null && slowestSql.length() > MAX_LOGGED_SQL_LENGTH) {
+                slowestSql = slowestSql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+            }
+            log.warn("SQL budget exceeded: {} executed {} statements (budget {}), jdbc {}ms, slowest {}ms: {}",
+                    profile.getEndpoint(), profile.getStatementCount(), statementBudget,
+                    profile.getTotalNanos() / 1_000_000, profile.getSlowestNanos() / 1_000_000, slowestSql);
+        }
+    }
+
+    private String endpointName(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        String name = endpointNames.get(method);
+        if (name == null) {
+            name = endpointNames.computeIfAbsent(method,
+                    key -> handlerMethod.getBeanType().getSimpleName() + "." + key.getName());
+        }
+        return name;
+    }
+}
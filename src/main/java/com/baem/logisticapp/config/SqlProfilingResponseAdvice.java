@@ -0,0 +1,38 @@
+package com.baem.logisticapp.config;
+
+import com.baem.logisticapp.metrics.SqlProfiler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Geliştirme ortamında isteğin SQL profilini yanıt header'larına ekler
+ * (X-SQL-Statements, X-SQL-Time-Ms, X-SQL-Slowest-Ms)
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "metrics.sql.response-headers", havingValue = "true")
+public class SqlProfilingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SqlProfiler.Profile profile = SqlProfiler.current();
+        if (profile != null) {
+            response.getHeaders().set("X-SQL-Statements", Integer.toString(profile.getStatementCount()));
+            response.getHeaders().set("X-SQL-Time-Ms", Double.toString(profile.getTotalNanos() / 1_000_000.0));
+            response.getHeaders().set("X-SQL-Slowest-Ms", Double.toString(profile.getSlowestNanos() / 1_000_000.0));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,57 @@
+package com.baem.logisticapp.controller;
+
+import com.baem.logisticapp.dto.AvailableResourceDTO;
+import com.baem.logisticapp.dto.ResourceBookingDTO;
+import com.baem.logisticapp.service.ResourceAvailabilityIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/availability")
+@RequiredArgsConstructor
+@Tag(name = "Availability", description = "Truck, trailer and driver availability by date range")
+public class AvailabilityController {
+
+    private final ResourceAvailabilityIndex resourceAvailabilityIndex;
+
+    @GetMapping
+    @Operation(summary = "Find free resources", description = "Active trucks, trailers and drivers with no booking between from and to (both inclusive). An order books its resources from the loading date to the estimated arrival date (deadline if not set) unless it is cancelled, rejected or delivered.")
+    public ResponseEntity<List<AvailableResourceDTO>> findAvailable(
+            @Parameter(description = "First day (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Restrict to types: truck, trailer, driver (default all)") @RequestParam(required = false) List<String> types) {
+        Set<ResourceAvailabilityIndex.ResourceType> resourceTypes = EnumSet.noneOf(ResourceAvailabilityIndex.ResourceType.class);
+        if (types != null) {
+            types.stream()
+                    .filter(type -> !type.isBlank())
+                    .map(ResourceAvailabilityIndex.ResourceType::from)
+                    .forEach(resourceTypes::add);
+        }
+        return ResponseEntity.ok(resourceAvailabilityIndex.findAvailable(resourceTypes, from, to));
+    }
+
+    @GetMapping("/{type}/{id}/bookings")
+    @Operation(summary = "List bookings of a resource", description = "Orders holding the truck, trailer or driver between from and to (both inclusive), by loading date")
+    public ResponseEntity<List<ResourceBookingDTO>> findBookings(
+            @Parameter(description = "Resource type: truck, trailer or driver") @PathVariable String type,
+            @PathVariable Long id,
+            @Parameter(description = "First day (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, inclusive (yyyy-MM-dd)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(resourceAvailabilityIndex.findBookings(ResourceAvailabilityIndex.ResourceType.from(type),
+                id, from, to, null));
+    }
+}
@@ -1,6 +1,7 @@
 package com.baem.logisticapp.controller;
 
 import com.baem.logisticapp.dto.DriverCreateDTO;
+import com.baem.logisticapp.dto.DriverDocumentExpiryDTO;
 import com.baem.logisticapp.dto.DriverResponseDTO;
 import com.baem.logisticapp.dto.DriverUpdateDTO;
 import com.baem.logisticapp.service.DriverService;
@@ -47,6 +48,13 @@ public class DriverController {
         return ResponseEntity.noContent().build();
     }
 
+    // Süresi geçmiş ya da withinDays gün içinde dolacak belgeler (varsayılan: en uzun bildirim ufku)
+    @GetMapping("/document-expiries")
+    public ResponseEntity<List<DriverDocumentExpiryDTO>> getDocumentExpiries(
+            @RequestParam(required = false) Integer withinDays) {
+        return ResponseEntity.ok(driverService.getDocumentExpiries(withinDays));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<DriverResponseDTO>> searchDrivers(
             @RequestParam(required = false) String licenseNo,
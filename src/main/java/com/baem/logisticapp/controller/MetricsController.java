@@ -0,0 +1,32 @@
+package com.baem.logisticapp.controller;
+
+import com.baem.logisticapp.metrics.CacheMetrics;
+import com.baem.logisticapp.metrics.RequestMetrics;
+import com.baem.logisticapp.metrics.SqlMetrics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/metrics")
+@RequiredArgsConstructor
+@Tag(name = "Metrics", description = "Request metrics for monitoring")
+public class MetricsController {
+
+    private final RequestMetrics requestMetrics;
+    private final SqlMetrics sqlMetrics;
+    private final CacheMetrics cacheMetrics;
+
+    @GetMapping(produces = "text/plain; version=0.0.4; charset=utf-8")
+    @Operation(summary = "Scrape request metrics", description = "Per-route latency quantiles (p50/p95/p99/max), request counts by status class, in-flight requests, errors by exception type SQL statements per controller method and second-level cache hit/miss counts in Prometheus text format")
+    public ResponseEntity<String> scrape() {
+        StringBuilder out = new StringBuilder(requestMetrics.scrape());
+        sqlMetrics.scrape(out);
+        cacheMetrics.scrape(out);
+        return ResponseEntity.ok(out.toString());
+    }
+}
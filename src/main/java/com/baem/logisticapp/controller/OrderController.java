@@ -1,23 +1,46 @@
 package com.baem.logisticapp.controller;
 
+import com.baem.logisticapp.dto.ConsolidationPlanDTO;
+import com.baem.logisticapp.dto.DriverDocumentExportRequestDTO;
 import com.baem.logisticapp.dto.OrderCreateDTO;
+import com.baem.logisticapp.dto.OrderCursorPageDTO;
+import com.baem.logisticapp.dto.OrderImportResultDTO;
 import com.baem.logisticapp.dto.OrderResponseDTO;
+import com.baem.logisticapp.dto.OrderSearchCriteria;
 import com.baem.logisticapp.dto.OrderUpdateDTO;
+import com.baem.logisticapp.dto.TrailerMatchDTO;
 import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.TripStatus;
 import com.baem.logisticapp.service.DocumentService;
+import com.baem.logisticapp.service.DriverDocumentExportService;
+import com.baem.logisticapp.service.LoadConsolidationService;
+import com.baem.logisticapp.service.OrderCsvParser;
+import com.baem.logisticapp.service.OrderExcelExportService;
 import com.baem.logisticapp.service.OrderService;
+import com.baem.logisticapp.service.TrailerMatchingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -29,12 +52,32 @@ public class OrderController {
 
     private final OrderService orderService;
     private final DocumentService documentService;
+    private final DriverDocumentExportService driverDocumentExportService;
+    private final ObjectMapper objectMapper;
+    private final OrderCsvParser orderCsvParser;
+    private final OrderExcelExportService orderExcelExportService;
+    private final TrailerMatchingService trailerMatchingService;
+    private final LoadConsolidationService loadConsolidationService;
 
     @PostMapping
     public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderCreateDTO createDTO) {
         return new ResponseEntity<>(orderService.createOrder(createDTO), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import orders in bulk", description = "Creates all orders in one transaction. Every row is validated first; if any row is invalid nothing is imported and the errors are returned per row (row numbers start at 1).")
+    public ResponseEntity<OrderImportResultDTO> importOrders(@RequestBody List<OrderCreateDTO> createDTOs) {
+        return new ResponseEntity<>(orderService.importOrders(createDTOs), HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Import orders from a CSV file", description = "The header row uses the order create field names (customerId, departureCountry, loadingDate, ...). Comma or semicolon separated, UTF-8. Same all-or-nothing rules as the JSON import.")
+    public ResponseEntity<OrderImportResultDTO> importOrdersCsv(
+            @Parameter(description = "CSV file") @RequestParam("file") MultipartFile file) throws IOException {
+        return new ResponseEntity<>(orderService.importOrders(orderCsvParser.parse(file.getInputStream())),
+                HttpStatus.CREATED);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id) {
         return ResponseEntity.ok(orderService.getOrderById(id));
@@ -45,6 +88,35 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get orders with cursor pagination", description = "Returns orders ordered by creation date (newest first). Pass nextCursor from the previous response to get the next page.")
+    public ResponseEntity<OrderCursorPageDTO> getOrdersPage(
+            @Parameter(description = "Cursor returned by the previous page (empty for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(orderService.getOrdersPage(cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Stream all orders as NDJSON", description = "Streams every order as one JSON object per line without loading the whole table into memory")
+    public void streamOrders(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        try {
+            orderService.streamAllOrders(order -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(order));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> updateOrder(
             @PathVariable Long id,
@@ -69,41 +141,99 @@ public class OrderController {
                 .ok(orderService.searchOrders(customerId, salesPersonId, fleetPersonId, operationPersonId, tripStatus));
     }
 
+    @GetMapping("/search/page")
+    @Operation(summary = "Search orders with pagination", description = "Filters are optional and combined with AND. City filters match case-insensitively from the start of the name; date ranges include both ends.")
+    public ResponseEntity<Page<OrderResponseDTO>> searchOrdersPaginated(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long salesPersonId,
+            @RequestParam(required = false) Long fleetPersonId,
+            @RequestParam(required = false) Long operationPersonId,
+            @RequestParam(required = false) String tripStatus,
+            @RequestParam(required = false) String departureCity,
+            @RequestParam(required = false) String arrivalCity,
+            @Parameter(description = "Loading date from (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate loadingDateFrom,
+            @Parameter(description = "Loading date to (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate loadingDateTo,
+            @Parameter(description = "Created from (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @Parameter(description = "Created to (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        OrderSearchCriteria criteria = searchCriteria(customerId, salesPersonId, fleetPersonId, operationPersonId,
+                tripStatus, departureCity, arrivalCity, loadingDateFrom, loadingDateTo, createdFrom, createdTo);
+        return ResponseEntity.ok(orderService.searchOrders(criteria, PageRequest.of(page, size, sort(sortBy, sortDir))));
+    }
+
+    @GetMapping("/search/export")
+    @Operation(summary = "Export searched orders as Excel", description = "Streams every order matching the search filters as an XLSX file. Takes the same filters and sorting as the paged search.")
+    public void exportOrdersXlsx(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long salesPersonId,
+            @RequestParam(required = false) Long fleetPersonId,
+            @RequestParam(required = false) Long operationPersonId,
+            @RequestParam(required = false) String tripStatus,
+            @RequestParam(required = false) String departureCity,
+            @RequestParam(required = false) String arrivalCity,
+            @Parameter(description = "Loading date from (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate loadingDateFrom,
+            @Parameter(description = "Loading date to (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate loadingDateTo,
+            @Parameter(description = "Created from (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @Parameter(description = "Created to (yyyy-MM-dd)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "desc") String sortDir,
+            HttpServletResponse response) throws IOException {
+        OrderSearchCriteria criteria = searchCriteria(customerId, salesPersonId, fleetPersonId, operationPersonId,
+                tripStatus, departureCity, arrivalCity, loadingDateFrom, loadingDateTo, createdFrom, createdTo);
+        // Hatalar (geçersiz filtre, sıralama alanı, satır sınırı) yanıt başlamadan fırlatılır
+        Sort sort = orderExcelExportService.prepareExport(criteria, sort(sortBy, sortDir));
+
+        response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.xlsx\"");
+        OutputStream out = response.getOutputStream();
+        orderExcelExportService.writeXlsx(criteria, sort, out);
+        out.flush();
+    }
+
     @PostMapping("/{orderId}/assign-operation")
     public ResponseEntity<OrderResponseDTO> assignToOperation(
             @PathVariable Long orderId,
-            @RequestParam Long operationPersonId) {
-        return ResponseEntity.ok(orderService.assignToOperation(orderId, operationPersonId));
+            @RequestParam Long operationPersonId,
+            @Parameter(description = "Version the client last read (optional); 409 if the order changed since") @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(orderService.assignToOperation(orderId, operationPersonId, version));
     }
 
     @PostMapping("/{orderId}/assign-fleet")
     public ResponseEntity<OrderResponseDTO> assignToFleet(
             @PathVariable Long orderId,
-            @RequestParam Long fleetPersonId) {
-        return ResponseEntity.ok(orderService.assignToFleet(orderId, fleetPersonId));
+            @RequestParam Long fleetPersonId,
+            @Parameter(description = "Version the client last read (optional); 409 if the order changed since") @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(orderService.assignToFleet(orderId, fleetPersonId, version));
     }
 
     @PostMapping("/{orderId}/approve-quote")
     public ResponseEntity<OrderResponseDTO> approveQuote(
             @PathVariable Long orderId,
-            @RequestParam Long approverUserId) {
-        return ResponseEntity.ok(orderService.approveQuote(orderId, approverUserId));
+            @RequestParam Long approverUserId,
+            @Parameter(description = "Version the client last read (optional); 409 if the order changed since") @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(orderService.approveQuote(orderId, approverUserId, version));
     }
 
     @PostMapping("/{orderId}/cancel-quote")
     public ResponseEntity<OrderResponseDTO> cancelQuote(
             @PathVariable Long orderId,
-            @RequestParam Long cancelerUserId) {
-        return ResponseEntity.ok(orderService.cancelQuote(orderId, cancelerUserId));
+            @RequestParam Long cancelerUserId,
+            @Parameter(description = "Version the client last read (optional); 409 if the order changed since") @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(orderService.cancelQuote(orderId, cancelerUserId, version));
     }
 
     @PostMapping("/{orderId}/reassign-operation")
     public ResponseEntity<OrderResponseDTO> reassignOperation(
             @PathVariable Long orderId,
             @RequestParam Long newOperationPersonId,
-            @RequestParam Long currentOperationPersonId) {
-        return ResponseEntity
-                .ok(orderService.assignToOperationByOperation(orderId, newOperationPersonId, currentOperationPersonId));
+            @RequestParam Long currentOperationPersonId,
+            @Parameter(description = "Version the client last read (optional); 409 if the order changed since") @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(orderService.assignToOperationByOperation(orderId, newOperationPersonId,
+                currentOperationPersonId, version));
     }
 
     @PostMapping("/{orderId}/assign-fleet-resources")
@@ -112,8 +242,37 @@ public class OrderController {
             @Parameter(description = "Order ID") @PathVariable Long orderId,
             @Parameter(description = "Vehicle ID (optional)") @RequestParam(required = false) Long vehicleId,
             @Parameter(description = "Trailer ID (optional)") @RequestParam(required = false) Long trailerId,
-            @Parameter(description = "Driver ID (optional)") @RequestParam(required = false) Long driverId) {
-        return ResponseEntity.ok(orderService.assignFleet(orderId, vehicleId, trailerId, driverId));
+            @Parameter(description = "Driver ID (optional)") @RequestParam(required = false) Long driverId,
+            @Parameter(description = "Version the client last read (optional); 409 if the order changed since") @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(orderService.assignFleet(orderId, vehicleId, trailerId, driverId, version));
+    }
+
+    @GetMapping("/{orderId}/trailer-matches")
+    @Operation(summary = "Suggest trailers for an order", description = "Active trailers that can carry the order's cargo (weight, footprint in either orientation, height) and are free on its dates, ranked by leftover capacity (tightest fit first)")
+    public ResponseEntity<TrailerMatchDTO> matchTrailers(
+            @Parameter(description = "Order ID") @PathVariable Long orderId,
+            @Parameter(description = "Only this trailer type (optional)") @RequestParam(required = false) String trailerType,
+            @Parameter(description = "Maximum number of trailers (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trailerMatchingService.matchTrailers(List.of(orderId), trailerType, limit).get(0));
+    }
+
+    @GetMapping("/trailer-matches")
+    @Operation(summary = "Suggest trailers for several orders", description = "Same as the single order variant for up to 200 orders; each order is matched independently")
+    public ResponseEntity<List<TrailerMatchDTO>> matchTrailers(
+            @Parameter(description = "Order IDs") @RequestParam List<Long> orderIds,
+            @Parameter(description = "Only this trailer type (optional)") @RequestParam(required = false) String trailerType,
+            @Parameter(description = "Maximum number of trailers per order (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trailerMatchingService.matchTrailers(orderIds, trailerType, limit));
+    }
+
+    @GetMapping("/consolidation-plan")
+    @Operation(summary = "Propose load consolidation", description = "Groups transferable orders that have not left yet and have no trailer by departure city, arrival city and cargo type, splits them into loading date windows and packs each window into as few trailers as possible (weight and loading meters). Only loads combining several orders are listed.")
+    public ResponseEntity<ConsolidationPlanDTO> planConsolidation(
+            @Parameter(description = "Earliest loading date (yyyy-MM-dd, optional)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Latest loading date (yyyy-MM-dd, optional)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Maximum days between loading dates of orders sharing a trailer (0-30)") @RequestParam(defaultValue = "2") int windowDays,
+            @Parameter(description = "Plan with the largest trailer of this type (optional)") @RequestParam(required = false) String trailerType) {
+        return ResponseEntity.ok(loadConsolidationService.planConsolidation(from, to, windowDays, trailerType));
     }
 
     @GetMapping("/operation-person/{operationPersonId}")
@@ -157,4 +316,50 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping(value = "/driver-information-documents", produces = "application/zip")
+    @Operation(summary = "Bulk export driver information documents", description = "Streams the driver information forms of the given orders (or of the orders matching the search filters) as a single ZIP file")
+    public void exportDriverInformationDocuments(@RequestBody DriverDocumentExportRequestDTO request,
+            HttpServletResponse response) throws IOException {
+        // Hatalar (bulunamayan sipariş, geçersiz filtre) yanıt başlamadan fırlatılır
+        List<Long> orderIds = driverDocumentExportService.resolveOrderIds(request);
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"driver_information_documents.zip\"");
+        OutputStream out = response.getOutputStream();
+        driverDocumentExportService.writeZip(orderIds, out);
+        out.flush();
+    }
+
+    private static OrderSearchCriteria searchCriteria(Long customerId, Long salesPersonId, Long fleetPersonId,
+            Long operationPersonId, String tripStatus, String departureCity, String arrivalCity,
+            LocalDate loadingDateFrom, LocalDate loadingDateTo, LocalDate createdFrom, LocalDate createdTo) {
+        TripStatus tripStatusEnum = null;
+        if (tripStatus != null && !tripStatus.trim().isEmpty()) {
+            try {
+                tripStatusEnum = TripStatus.valueOf(tripStatus.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid trip status: " + tripStatus);
+            }
+        }
+
+        return OrderSearchCriteria.builder()
+                .customerId(customerId)
+                .salesPersonId(salesPersonId)
+                .fleetPersonId(fleetPersonId)
+                .operationPersonId(operationPersonId)
+                .tripStatus(tripStatusEnum)
+                .departureCity(departureCity)
+                .arrivalCity(arrivalCity)
+                .loadingDateFrom(loadingDateFrom)
+                .loadingDateTo(loadingDateTo)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .build();
+    }
+
+    private static Sort sort(String sortBy, String sortDir) {
+        return sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+    }
+}
@@ -0,0 +1,42 @@
+package com.baem.logisticapp.controller;
+
+import com.baem.logisticapp.dto.SearchHitDTO;
+import com.baem.logisticapp.service.GlobalSearchIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Global search across customers, suppliers, orders and drivers")
+public class SearchController {
+
+    private final GlobalSearchIndex globalSearchIndex;
+
+    @GetMapping
+    @Operation(summary = "Fuzzy global search", description = "Typo-tolerant trigram search over customer names/tax numbers, supplier names, order numbers/cities and driver names/license numbers. Results are ranked by similarity (0-1).")
+    public ResponseEntity<List<SearchHitDTO>> search(
+            @Parameter(description = "Search text (2-100 characters)") @RequestParam String q,
+            @Parameter(description = "Restrict to types: customer, supplier, order, driver (default all)") @RequestParam(required = false) List<String> types,
+            @Parameter(description = "Maximum number of hits (1-50)") @RequestParam(defaultValue = "20") int limit) {
+        Set<GlobalSearchIndex.EntityType> entityTypes = EnumSet.noneOf(GlobalSearchIndex.EntityType.class);
+        if (types != null) {
+            types.stream()
+                    .filter(type -> !type.isBlank())
+                    .map(GlobalSearchIndex.EntityType::from)
+                    .forEach(entityTypes::add);
+        }
+        return ResponseEntity.ok(globalSearchIndex.search(q, entityTypes, limit));
+    }
+}
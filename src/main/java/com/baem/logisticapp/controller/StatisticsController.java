@@ -53,8 +53,10 @@ public class StatisticsController {
             @Parameter(description = "Activity type filter")
             @RequestParam(required = false) String type,
             @Parameter(description = "User ID")
-            @RequestParam(required = false) Long userId) {
-        return ResponseEntity.ok(statisticsService.getRecentActivities(limit, type, userId));
+            @RequestParam(required = false) Long userId,
+            @Parameter(description = "Return activities older than this activity ID (id of the last item of the previous page)")
+            @RequestParam(required = false) Long beforeId) {
+        return ResponseEntity.ok(statisticsService.getRecentActivities(limit, type, userId, beforeId));
     }
 
     @GetMapping("/notifications/dashboard")
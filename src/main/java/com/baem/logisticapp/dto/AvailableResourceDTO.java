@@ -0,0 +1,16 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableResourceDTO {
+    private String type; // truck, trailer, driver
+    private Long id;
+    private String label; // Plaka, dorse numarası veya şoför adı
+}
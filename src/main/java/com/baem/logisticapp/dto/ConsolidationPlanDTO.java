@@ -0,0 +1,74 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsolidationPlanDTO {
+    private ReferenceTrailer trailer; // Planlamada kapasitesi kullanılan dorse
+    private int ordersConsidered; // Aday siparişler (planlanamayanlar dahil)
+    private int trailersBefore; // Planlanan siparişler tek başına taşınsaydı gereken dorse
+    private int trailersAfter; // Önerilen gruplamayla gereken dorse
+    private boolean complete; // false ise süre doldu, bazı gruplarda daha iyi çözüm olabilir
+    private List<Group> groups; // Yalnızca birden fazla siparişi birleştiren yükleri olan gruplar
+    private List<Unplanned> unplanned;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReferenceTrailer {
+        private Long trailerId;
+        private String trailerNo;
+        private String trailerType;
+        private Double capacity; // Ton
+        private Double length; // Metre
+        private Double width;
+        private Double height;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+        private String departureCity;
+        private String arrivalCity;
+        private String cargoType;
+        private LocalDate loadingFrom; // Gruptaki en erken yükleme tarihi
+        private LocalDate loadingTo; // Gruptaki en geç yükleme tarihi
+        private int orderCount;
+        private List<Load> loads; // Birden fazla sipariş içeren yükler
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Load {
+        private List<Long> orderIds;
+        private List<String> orderNumbers;
+        private double totalWeightKg;
+        private double loadingMeters; // Dorse tabanında kaplanan uzunluk
+        private double weightUtilization; // 0-1
+        private double lengthUtilization; // 0-1
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Unplanned {
+        private Long orderId;
+        private String orderNumber;
+        private String reason;
+    }
+}
@@ -0,0 +1,22 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverDocumentExpiryDTO {
+    private Long driverId;
+    private String driverName;
+    private String document; // PASSPORT, VISA, RESIDENCE_PERMIT
+    private String documentName;
+    private LocalDate expiryDate;
+    private long daysLeft; // Süresi geçmişse negatif
+    private String priority; // high, medium, low
+}
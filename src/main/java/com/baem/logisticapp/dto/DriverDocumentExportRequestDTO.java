@@ -0,0 +1,29 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverDocumentExportRequestDTO {
+
+    // Dolu ise yalnızca bu siparişler dışa aktarılır, filtreler dikkate alınmaz
+    private List<Long> orderIds;
+
+    // Sipariş arama filtreleri (orderIds boşsa kullanılır)
+    private Long customerId;
+
+    private Long salesPersonId;
+
+    private Long fleetPersonId;
+
+    private Long operationPersonId;
+
+    private String tripStatus;
+}
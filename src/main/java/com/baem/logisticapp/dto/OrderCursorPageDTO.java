@@ -0,0 +1,24 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCursorPageDTO {
+
+    private List<OrderResponseDTO> content;
+
+    private Integer size;
+
+    // Sonraki sayfa için (createdAt, id) anahtarı; son sayfada null
+    private String nextCursor;
+
+    private Boolean hasNext;
+}
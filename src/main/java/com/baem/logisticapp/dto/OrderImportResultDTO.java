@@ -0,0 +1,27 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderImportResultDTO {
+    private Integer importedCount;
+    private List<ImportedOrder> orders; // Girdi sırasıyla
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ImportedOrder {
+        private Integer row; // 1'den başlayan satır numarası (CSV'de başlık hariç)
+        private Long id;
+        private String orderNumber;
+        private String tripNumber;
+    }
+}
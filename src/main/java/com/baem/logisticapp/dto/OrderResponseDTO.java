@@ -98,4 +98,5 @@ public class OrderResponseDTO {
     // Sistem bilgileri
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
+    private Long version; // Optimistic locking: değişiklik isteklerinde geri gönderilir
 }
\ No newline at end of file
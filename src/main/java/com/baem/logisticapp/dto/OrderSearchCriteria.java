@@ -0,0 +1,41 @@
+package com.baem.logisticapp.dto;
+
+import com.baem.logisticapp.entity.TripStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSearchCriteria {
+
+    // Tüm alanlar opsiyonel; yalnızca dolu olanlar sorguya eklenir
+    private Long customerId;
+
+    private Long salesPersonId;
+
+    private Long fleetPersonId;
+
+    private Long operationPersonId;
+
+    private TripStatus tripStatus;
+
+    // Şehir filtreleri büyük/küçük harf duyarsız, baştan eşleşir (ör. "ist" -> İstanbul)
+    private String departureCity;
+
+    private String arrivalCity;
+
+    // Tarih aralıkları (her iki uç dahil)
+    private LocalDate loadingDateFrom;
+
+    private LocalDate loadingDateTo;
+
+    private LocalDate createdFrom;
+
+    private LocalDate createdTo;
+}
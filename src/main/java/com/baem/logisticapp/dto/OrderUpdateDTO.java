@@ -65,4 +65,7 @@ public class OrderUpdateDTO {
 
     // Sefer durumu
     private TripStatus tripStatus;
+
+    // İstemcinin okuduğu version (opsiyonel); sipariş bu arada değiştiyse 409 döner
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceBookingDTO {
+    private Long orderId;
+    private String orderNumber;
+    private LocalDate from; // Yükleme tarihi
+    private LocalDate to; // Tahmini varış (yoksa termin) tarihi, dahil
+}
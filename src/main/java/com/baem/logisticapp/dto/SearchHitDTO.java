@@ -0,0 +1,18 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDTO {
+    private String type; // customer, supplier, order, driver
+    private Long id;
+    private String title; // Ana gösterim metni (isim, sipariş numarası)
+    private String subtitle; // Yardımcı bilgi (vergi no, güzergah, ehliyet no)
+    private double score; // 0-1 arası trigram benzerliği
+}
@@ -0,0 +1,34 @@
+package com.baem.logisticapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrailerMatchDTO {
+    private Long orderId;
+    private List<Candidate> trailers; // En uygundan başlayarak
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Candidate {
+        private Long trailerId;
+        private String trailerNo;
+        private String trailerType;
+        private Double capacity; // Ton
+        private Double length; // Metre
+        private Double width;
+        private Double height;
+        private Double leftoverWeightKg; // Yükten sonra kalan taşıma kapasitesi
+        private Double leftoverVolume; // Yükten sonra kalan hacim (m³)
+        private double score; // Boş kalan kapasite oranı (0 = tam dolu); küçük olan daha uygun
+    }
+}
@@ -0,0 +1,50 @@
+package com.baem.logisticapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "activity_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActivityLogEntry implements Persistable<Long> {
+
+    // Uygulamada üretilir (snowflake), zamanla monoton artar
+    @Id
+    @Column(name = "activity_id")
+    private Long id;
+
+    @Column(name = "type", nullable = false, length = 32)
+    private String type;
+
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "status", nullable = false, length = 16)
+    private String status;
+
+    // İşlemi yapan kullanıcı; oturum yoksa null
+    @Column(name = "username")
+    private String username;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    // Kayıtlar yalnızca eklenir: id atanmış olsa da save() merge için SELECT atmadan INSERT yapar
+    @Override
+    @Transient
+    public boolean isNew() {
+        return true;
+    }
+}
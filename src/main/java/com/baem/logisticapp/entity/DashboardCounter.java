@@ -0,0 +1,48 @@
+package com.baem.logisticapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "dashboard_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(DashboardCounter.Key.class)
+public class DashboardCounter {
+
+    // Sayaç anahtarı (örn: orders.status.TEKLIF_ASAMASI, orders.created.2026-10-18)
+    @Id
+    @Column(name = "counter_key", length = 64)
+    private String counterKey;
+
+    // Aynı sayacın şerit numarası; sayaç değeri tüm şeritlerin toplamıdır
+    @Id
+    @Column(name = "stripe")
+    private Short stripe;
+
+    // Günlük sayaçlar için gün, genel sayaçlar için null
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    @Builder.Default
+    @Column(name = "counter_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal counterValue = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String counterKey;
+        private Short stripe;
+    }
+}
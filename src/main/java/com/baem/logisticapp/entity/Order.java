@@ -8,15 +8,31 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 
 @Entity
+// Index'ler veritabanı migration'larında tanımlı (db/migration)
 @Table(name = "orders")
+@NamedEntityGraph(name = Order.WITH_ASSOCIATIONS, attributeNodes = {
+        @NamedAttributeNode("customer"),
+        @NamedAttributeNode("salesPerson"),
+        @NamedAttributeNode("operationPerson"),
+        @NamedAttributeNode("fleetPerson"),
+        @NamedAttributeNode("assignedTruck"),
+        @NamedAttributeNode("assignedTrailer"),
+        @NamedAttributeNode("assignedDriver"),
+        @NamedAttributeNode("customsPerson")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Order {
 
+    // Listeleme sorgularında DTO dönüşümü için gereken tüm ilişkileri tek sorguda getiren fetch plan
+    public static final String WITH_ASSOCIATIONS = "Order.withAssociations";
+
+    // Sequence (IDENTITY değil): Hibernate tek nextval ile 50 id ayırır ve INSERT'leri JDBC batch olarak gönderebilir
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "order_id")
     private Long id;
 
@@ -165,9 +181,14 @@ public class Order {
 
     // Sistem bilgileri
     @Builder.Default
-    @Column(name = "created_at")
+    @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt = OffsetDateTime.now();
 
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
+
+    // Optimistic locking: eşzamanlı güncellemelerde sonradan gelen yazım 409 ile reddedilir
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.baem.logisticapp.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "order_number_sequences")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderNumberSequence {
+
+    // Sipariş numarası öneki: gün + ülke kodu (YYMMDDCC)
+    @Id
+    @Column(name = "prefix", length = 8)
+    private String prefix;
+
+    // Bu önek için dağıtılmış en yüksek sıra numarası (blok sonu)
+    @Column(name = "high_water_mark", nullable = false)
+    private Long highWaterMark;
+}
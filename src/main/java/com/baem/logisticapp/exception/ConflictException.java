@@ -0,0 +1,14 @@
+package com.baem.logisticapp.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Kayıt okunduktan sonra başka bir kullanıcı tarafından değiştirildi (optimistic locking)
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.baem.logisticapp.exception;
+
+import java.util.Map;
+
+/**
+ * Toplu içe aktarmada geçersiz satırlar; hiçbir kayıt yazılmaz. Anahtar "row N" biçimindedir.
+ */
+public class ImportValidationException extends RuntimeException {
+
+    private final Map<String, String> errors;
+
+    public ImportValidationException(String message, Map<String, String> errors) {
+        super(message);
+        this.errors = errors;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
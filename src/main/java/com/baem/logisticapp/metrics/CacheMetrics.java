@@ -0,0 +1,49 @@
+package com.baem.logisticapp.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+
+import javax.cache.CacheManager;
+
+/**
+ * Hibernate ikinci seviye önbellek region'larının isabet/ıska istatistikleri
+ */
+@Component
+public class CacheMetrics {
+
+    private final CacheManager hibernateCacheManager;
+
+    public CacheMetrics(CacheManager hibernateCacheManager) {
+        this.hibernateCacheManager = hibernateCacheManager;
+    }
+
+    /**
+     * Metrikleri Prometheus metin formatında ekler
+     */
+    public void scrape(StringBuilder out) {
+        StringBuilder hits = new StringBuilder();
+        StringBuilder misses = new StringBuilder();
+        StringBuilder evictions = new StringBuilder();
+        StringBuilder size = new StringBuilder();
+        for (String cacheName : hibernateCacheManager.getCacheNames()) {
+            Cache<?, ?> cache = hibernateCacheManager.getCache(cacheName).unwrap(Cache.class);
+            CacheStats stats = cache.stats();
+            String label = "{region=\"" + cacheName + "\"} ";
+            hits.append("cache_hits_total").append(label).append(stats.hitCount()).append('\n');
+            misses.append("cache_misses_total").append(label).append(stats.missCount()).append('\n');
+            evictions.append("cache_evictions_total").append(label).append(stats.evictionCount()).append('\n');
+            size.append("cache_entries").append(label).append(cache.estimatedSize()).append('\n');
+        }
+        append(out, "cache_hits_total", "counter", "Second-level cache lookups served from memory", hits);
+        append(out, "cache_misses_total", "counter", "Second-level cache lookups that went to the database", misses);
+        append(out, "cache_evictions_total", "counter", "Entries evicted for size or expiry", evictions);
+        append(out, "cache_entries", "gauge", "Entries currently in the region", size);
+    }
+
+    private static void append(StringBuilder out, String name, String type, String help, StringBuilder lines) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append(lines);
+    }
+}
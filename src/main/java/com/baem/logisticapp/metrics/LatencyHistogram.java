@@ -0,0 +1,96 @@
+package com.baem.logisticapp.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HDR tarzı log-lineer gecikme histogramı (mikrosaniye). Her ikinin kuvveti
+ * 8 alt kovaya bölünür; yüzdelik hatası en fazla %12.5'tir. Kayıt işlemi kilitsiz
+ * ve nesne üretmeden yapılır.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^40 µs (~12 gün) üzerindeki değerler son kovaya yazılır
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sumMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumMicros() {
+        return sumMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Verilen yüzdeliklerin (0-1) değerlerini mikrosaniye olarak döner; tek geçişte hesaplanır
+     */
+    public long[] quantilesMicros(double... quantiles) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+
+        long[] result = new long[quantiles.length];
+        if (total == 0) {
+            return result;
+        }
+        long max = getMaxMicros();
+        for (int q = 0; q < quantiles.length; q++) {
+            long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    result[q] = Math.min(bucketUpperBound(i), max);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (subBucket + 1) * width - 1;
+    }
+}
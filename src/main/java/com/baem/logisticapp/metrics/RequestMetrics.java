@@ -0,0 +1,130 @@
+package com.baem.logisticapp.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Endpoint bazında istek metrikleri: gecikme histogramı, durum kodu sınıfı sayaçları,
+ * anlık işlenen istek sayısı ve exception tipine göre hata sayıları.
+ * Rota ve exception başına kayıtlar ilk seferde oluşturulur; sonraki kayıtlar nesne üretmez.
+ */
+@Component
+public class RequestMetrics {
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.95", "0.99"};
+
+    // route -> method -> metrikler (anahtar birleştirme ile String üretmemek için iki seviye)
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, RouteMetrics>> routes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicLong inFlight = new AtomicLong();
+
+    public void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    public void requestFinished(String method, String route, int status, long durationNanos) {
+        inFlight.decrementAndGet();
+        ConcurrentHashMap<String, RouteMetrics> byMethod = routes.get(route);
+        if (byMethod == null) {
+            byMethod = routes.computeIfAbsent(route, key -> new ConcurrentHashMap<>());
+        }
+        RouteMetrics metrics = byMethod.get(method);
+        if (metrics == null) {
+            metrics = byMethod.computeIfAbsent(method, key -> new RouteMetrics());
+        }
+        metrics.latency.record(durationNanos / 1_000);
+        int statusClass = status / 100;
+        metrics.statusCounts[statusClass >= 1 && statusClass <= 5 ? statusClass - 1 : 4].increment();
+    }
+
+    /**
+     * Exception tipine göre hata sayacını artırır
+     */
+    public void recordError(Throwable error) {
+        LongAdder counter = errors.get(error.getClass());
+        if (counter == null) {
+            counter = errors.computeIfAbsent(error.getClass(), key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Metrikleri Prometheus metin formatında yazar
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("# HELP http_server_requests_in_flight Requests currently being processed\n");
+        out.append("# TYPE http_server_requests_in_flight gauge\n");
+        out.append("http_server_requests_in_flight ").append(inFlight.get()).append('\n');
+
+        out.append("# HELP http_server_request_duration_seconds Request latency by route\n");
+        out.append("# TYPE http_server_request_duration_seconds summary\n");
+        StringBuilder statusLines = new StringBuilder(1024);
+        StringBuilder maxLines = new StringBuilder(1024);
+        for (Map.Entry<String, ConcurrentHashMap<String, RouteMetrics>> routeEntry : routes.entrySet()) {
+            for (Map.Entry<String, RouteMetrics> methodEntry : routeEntry.getValue().entrySet()) {
+                String labels = "method=\"" + methodEntry.getKey() + "\",route=\"" + escape(routeEntry.getKey()) + "\"";
+                LatencyHistogram latency = methodEntry.getValue().latency;
+                long[] quantiles = latency.quantilesMicros(QUANTILES);
+                for (int i = 0; i < QUANTILES.length; i++) {
+                    out.append("http_server_request_duration_seconds{").append(labels)
+                            .append(",quantile=\"").append(QUANTILE_LABELS[i]).append("\"} ")
+                            .append(seconds(quantiles[i])).append('\n');
+                }
+                out.append("http_server_request_duration_seconds_count{").append(labels).append("} ")
+                        .append(latency.getCount()).append('\n');
+                out.append("http_server_request_duration_seconds_sum{").append(labels).append("} ")
+                        .append(seconds(latency.getSumMicros())).append('\n');
+                maxLines.append("http_server_request_duration_seconds_max{").append(labels).append("} ")
+                        .append(seconds(latency.getMaxMicros())).append('\n');
+
+                LongAdder[] statusCounts = methodEntry.getValue().statusCounts;
+                for (int i = 0; i < statusCounts.length; i++) {
+                    long value = statusCounts[i].sum();
+                    if (value > 0) {
+                        statusLines.append("http_server_requests_total{").append(labels)
+                                .append(",status=\"").append(i + 1).append("xx\"} ").append(value).append('\n');
+                    }
+                }
+            }
+        }
+
+        out.append("# HELP http_server_request_duration_seconds_max Slowest request by route\n");
+        out.append("# TYPE http_server_request_duration_seconds_max gauge\n");
+        out.append(maxLines);
+        out.append("# HELP http_server_requests_total Completed requests by route and status class\n");
+        out.append("# TYPE http_server_requests_total counter\n");
+        out.append(statusLines);
+
+        out.append("# HELP http_server_errors_total Handled errors by exception type\n");
+        out.append("# TYPE http_server_errors_total counter\n");
+        for (Map.Entry<Class<?>, LongAdder> entry : errors.entrySet()) {
+            out.append("http_server_errors_total{exception=\"").append(entry.getKey().getSimpleName())
+                    .append("\"} ").append(entry.getValue().sum()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String seconds(long micros) {
+        return Double.toString(micros / 1_000_000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static final class RouteMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder[] statusCounts = {
+                new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+    }
+}
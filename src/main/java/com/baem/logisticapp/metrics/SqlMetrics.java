@@ -0,0 +1,77 @@
+package com.baem.logisticapp.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Controller metodu bazında toplanan SQL metrikleri (statement sayısı, JDBC süresi,
+ * en yavaş statement ve bütçe aşımları)
+ */
+@Component
+public class SqlMetrics {
+
+    private final ConcurrentHashMap<String, EndpointSqlMetrics> endpoints = new ConcurrentHashMap<>();
+
+    public void record(SqlProfiler.Profile profile, boolean overBudget) {
+        EndpointSqlMetrics metrics = endpoints.get(profile.getEndpoint());
+        if (metrics == null) {
+            metrics = endpoints.computeIfAbsent(profile.getEndpoint(), key -> new EndpointSqlMetrics());
+        }
+        metrics.requests.increment();
+        metrics.statements.add(profile.getStatementCount());
+        metrics.maxStatements.accumulate(profile.getStatementCount());
+        metrics.jdbcNanos.add(profile.getTotalNanos());
+        metrics.slowestStatementNanos.accumulate(profile.getSlowestNanos());
+        if (overBudget) {
+            metrics.overBudget.increment();
+        }
+    }
+
+    /**
+     * Metrikleri Prometheus metin formatında ekler
+     */
+    public void scrape(StringBuilder out) {
+        StringBuilder requests = new StringBuilder();
+        StringBuilder statements = new StringBuilder();
+        StringBuilder maxStatements = new StringBuilder();
+        StringBuilder jdbcTime = new StringBuilder();
+        StringBuilder slowest = new StringBuilder();
+        StringBuilder overBudget = new StringBuilder();
+        for (Map.Entry<String, EndpointSqlMetrics> entry : endpoints.entrySet()) {
+            String label = "{endpoint=\"" + entry.getKey() + "\"} ";
+            EndpointSqlMetrics metrics = entry.getValue();
+            requests.append("sql_profiled_requests_total").append(label).append(metrics.requests.sum()).append('\n');
+            statements.append("sql_statements_total").append(label).append(metrics.statements.sum()).append('\n');
+            maxStatements.append("sql_statements_per_request_max").append(label).append(metrics.maxStatements.get()).append('\n');
+            jdbcTime.append("sql_jdbc_seconds_total").append(label).append(metrics.jdbcNanos.sum() / 1e9).append('\n');
+            slowest.append("sql_slowest_statement_seconds_max").append(label)
+                    .append(metrics.slowestStatementNanos.get() / 1e9).append('\n');
+            overBudget.append("sql_statement_budget_exceeded_total").append(label).append(metrics.overBudget.sum()).append('\n');
+        }
+        append(out, "sql_profiled_requests_total", "counter", "Requests profiled by controller method", requests);
+        append(out, "sql_statements_total", "counter", "JDBC statements executed by controller method", statements);
+        append(out, "sql_statements_per_request_max", "gauge", "Most statements executed by a single request", maxStatements);
+        append(out, "sql_jdbc_seconds_total", "counter", "Time spent executing JDBC statements", jdbcTime);
+        append(out, "sql_slowest_statement_seconds_max", "gauge", "Slowest single statement", slowest);
+        append(out, "sql_statement_budget_exceeded_total", "counter", "Requests over the statement budget", overBudget);
+    }
+
+    private static void append(StringBuilder out, String name, String type, String help, StringBuilder lines) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        out.append(lines);
+    }
+
+    private static final class EndpointSqlMetrics {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder jdbcNanos = new LongAdder();
+        private final LongAccumulator slowestStatementNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder overBudget = new LongAdder();
+    }
+}
@@ -0,0 +1,111 @@
+package com.baem.logisticapp.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * İstek başına SQL profili. Hibernate StatementInspector olarak çalıştırılan SQL'i,
+ * SqlProfilingSessionListener üzerinden de JDBC çalıştırma sürelerini yakalar.
+ * Profil thread'e bağlıdır ve her istekte yeniden kullanılır (nesne üretmez).
+ */
+public class SqlProfiler implements StatementInspector {
+
+    private static final ThreadLocal<Profile> CURRENT = ThreadLocal.withInitial(Profile::new);
+
+    /**
+     * Mevcut thread için yeni profil başlatır
+     */
+    public static Profile start(String endpoint) {
+        Profile profile = CURRENT.get();
+        profile.reset(endpoint);
+        return profile;
+    }
+
+    /**
+     * Aktif profil, yoksa null
+     */
+    public static Profile current() {
+        Profile profile = CURRENT.get();
+        return profile.active ? profile : null;
+    }
+
+    /**
+     * Profili sonlandırır ve son halini döner (bir sonraki start'a kadar geçerlidir)
+     */
+    public static Profile stop() {
+        Profile profile = CURRENT.get();
+        profile.active = false;
+        return profile;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Profile profile = CURRENT.get();
+        if (profile.active) {
+            profile.currentSql = sql;
+        }
+        return sql;
+    }
+
+    static void executionStarted() {
+        Profile profile = CURRENT.get();
+        if (profile.active) {
+            profile.executionStartNanos = System.nanoTime();
+        }
+    }
+
+    static void executionFinished() {
+        Profile profile = CURRENT.get();
+        if (profile.active && profile.executionStartNanos != 0) {
+            long duration = System.nanoTime() - profile.executionStartNanos;
+            profile.executionStartNanos = 0;
+            profile.statementCount++;
+            profile.totalNanos += duration;
+            if (duration > profile.slowestNanos) {
+                profile.slowestNanos = duration;
+                profile.slowestSql = profile.currentSql;
+            }
+        }
+    }
+
+    public static final class Profile {
+        private boolean active;
+        private String endpoint;
+        private int statementCount;
+        private long totalNanos;
+        private long slowestNanos;
+        private String slowestSql;
+        private String currentSql;
+        private long executionStartNanos;
+
+        private void reset(String endpoint) {
+            this.active = true;
+            this.endpoint = endpoint;
+            this.statementCount = 0;
+            this.totalNanos = 0;
+            this.slowestNanos = 0;
+            this.slowestSql = null;
+            this.currentSql = null;
+            this.executionStartNanos = 0;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getSlowestNanos() {
+            return slowestNanos;
+        }
+
+        public String getSlowestSql() {
+            return slowestSql;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.baem.logisticapp.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * JDBC statement/batch çalıştırma sürelerini SqlProfiler'a bildirir.
+ * Hibernate her session için bu sınıftan bir örnek oluşturur (hibernate.session.events.auto).
+ */
+public class SqlProfilingSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        SqlProfiler.executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlProfiler.executionFinished();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        SqlProfiler.executionStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlProfiler.executionFinished();
+    }
+}
@@ -0,0 +1,39 @@
+package com.baem.logisticapp.repository;
+
+import com.baem.logisticapp.entity.ActivityLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ActivityLogRepository extends JpaRepository<ActivityLogEntry, Long> {
+
+    // Keyset sayfalama: beforeId'den eski kayıtlar, en yeniden eskiye
+    @Query("SELECT a FROM ActivityLogEntry a WHERE a.id < :beforeId ORDER BY a.id DESC")
+    List<ActivityLogEntry> findPageBefore(@Param("beforeId") long beforeId, Pageable pageable);
+
+    // Yalnızca verilen türdeki kayıtlar için aynı sorgu
+    @Query("SELECT a FROM ActivityLogEntry a WHERE a.id < :beforeId AND a.type = :type ORDER BY a.id DESC")
+    List<ActivityLogEntry> findTypePageBefore(@Param("beforeId") long beforeId,
+            @Param("type") String type,
+            Pageable pageable);
+
+    // Kullanıcının yaptığı işlemler için aynı sorgu
+    @Query("SELECT a FROM ActivityLogEntry a WHERE a.id < :beforeId AND a.username = :username " +
+            "ORDER BY a.id DESC")
+    List<ActivityLogEntry> findUserPageBefore(@Param("beforeId") long beforeId,
+            @Param("username") String username,
+            Pageable pageable);
+
+    // Kullanıcının verilen türdeki işlemleri
+    @Query("SELECT a FROM ActivityLogEntry a WHERE a.id < :beforeId AND a.username = :username " +
+            "AND a.type = :type ORDER BY a.id DESC")
+    List<ActivityLogEntry> findUserTypePageBefore(@Param("beforeId") long beforeId,
+            @Param("username") String username,
+            @Param("type") String type,
+            Pageable pageable);
+}
@@ -1,8 +1,11 @@
 package com.baem.logisticapp.repository;
 
 import com.baem.logisticapp.entity.CountryCode;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,7 +15,13 @@ import java.util.Optional;
 @Repository
 public interface CountryCodeRepository extends JpaRepository<CountryCode, Long> {
 
+    // Liste sorguları sorgu önbelleğinden döner; tablo değişince Hibernate sonuçları geçersiz sayar
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CountryCode> findAll();
+
     // Aktif ülkeleri alfabetik sıraya göre getir
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<CountryCode> findByIsActiveTrueOrderByCountryNameAsc();
 
     // İngilizce ülke ismine göre arama
@@ -28,6 +37,7 @@ public interface CountryCodeRepository extends JpaRepository<CountryCode, Long>
     Optional<CountryCode> findByCountryCodeNumericAndIsActiveTrue(String countryCodeNumeric);
 
     // Ülke ismi (herhangi bir dilde) ile arama
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT cc FROM CountryCode cc WHERE cc.isActive = true AND " +
            "(UPPER(cc.countryName) = UPPER(:countryName) OR " +
            "UPPER(cc.countryNameTr) = UPPER(:countryName) OR " +
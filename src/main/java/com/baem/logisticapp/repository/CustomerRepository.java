@@ -35,6 +35,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
         return taxNo != null && !taxNo.trim().isEmpty() && existsByTaxNo(taxNo);
     }
 
+    // Arama indeksi için yalnızca aranan alanlar: id, name, taxNo, contactName
+    @Query("SELECT c.id, c.name, c.taxNo, c.contactName FROM Customer c")
+    List<Object[]> findSearchIndexRows();
+
     // Consolidated search method with multiple filters
     @Query("SELECT c FROM Customer c WHERE " +
            "(:name IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
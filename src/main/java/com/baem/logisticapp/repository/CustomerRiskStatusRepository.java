@@ -1,14 +1,23 @@
 package com.baem.logisticapp.repository;
 
 import com.baem.logisticapp.entity.CustomerRiskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRiskStatusRepository extends JpaRepository<CustomerRiskStatus, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<CustomerRiskStatus> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CustomerRiskStatus> findByStatusName(String statusName);
 
     boolean existsByStatusName(String statusName);
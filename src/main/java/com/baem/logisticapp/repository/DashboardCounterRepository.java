@@ -0,0 +1,43 @@
+package com.baem.logisticapp.repository;
+
+import com.baem.logisticapp.entity.DashboardCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DashboardCounterRepository extends JpaRepository<DashboardCounter, DashboardCounter.Key> {
+
+    // Sayacın verilen şeridini atomik olarak artırır, yoksa oluşturur
+    @Modifying
+    @Query(value = "INSERT INTO dashboard_counters (counter_key, stripe, bucket_date, counter_value, updated_at) " +
+            "VALUES (:counterKey, :stripe, :bucketDate, :delta, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (counter_key, stripe) DO UPDATE SET " +
+            "counter_value = dashboard_counters.counter_value + EXCLUDED.counter_value, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void increment(@Param("counterKey") String counterKey,
+            @Param("stripe") short stripe,
+            @Param("bucketDate") LocalDate bucketDate,
+            @Param("delta") BigDecimal delta);
+
+    // Verilen sayaçların şerit toplamları: [counterKey, value]
+    @Query("SELECT c.counterKey, SUM(c.counterValue) FROM DashboardCounter c " +
+            "WHERE c.counterKey IN :counterKeys GROUP BY c.counterKey")
+    List<Object[]> sumByCounterKeys(@Param("counterKeys") Collection<String> counterKeys);
+
+    // Tüm sayaçların şerit toplamları: [counterKey, value]
+    @Query("SELECT c.counterKey, SUM(c.counterValue) FROM DashboardCounter c GROUP BY c.counterKey")
+    List<Object[]> sumAll();
+
+    // Saklama süresi dolmuş günlük sayaçları siler
+    @Modifying
+    @Query("DELETE FROM DashboardCounter c WHERE c.bucketDate < :cutoff")
+    int deleteByBucketDateBefore(@Param("cutoff") LocalDate cutoff);
+}
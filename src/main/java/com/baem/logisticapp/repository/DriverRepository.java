@@ -34,6 +34,10 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
 
     Optional<Driver> findByPhoneNumber(String phoneNumber);
 
+    // Arama indeksi için yalnızca aranan alanlar: id, firstName, lastName, licenseNo
+    @Query("SELECT d.id, d.firstName, d.lastName, d.licenseNo FROM Driver d")
+    List<Object[]> findSearchIndexRows();
+
     // Consolidated search method with multiple filters
     @Query("SELECT d FROM Driver d WHERE " +
            "(:licenseNo IS NULL OR d.licenseNo = :licenseNo) AND " +
@@ -41,13 +45,18 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
     List<Driver> findDriversWithFilters(@Param("licenseNo") String licenseNo,
                                        @Param("active") Boolean active);
 
-    // Statistics methods
-    @Query("SELECT COUNT(d) FROM Driver d")
-    Integer countAll();
-
-    @Query("SELECT COUNT(d) FROM Driver d WHERE d.isActive = true")
-    Integer countByStatus(@Param("status") String status);
-
-    @Query("SELECT COUNT(d) FROM Driver d WHERE d.isActive = true")
-    Integer countByActiveTrue();
-}
\ No newline at end of file
+    // Statistics: toplam ve aktif sayısı tek sorguda
+    @Query("SELECT COUNT(d) AS total, COUNT(d) FILTER (WHERE d.isActive = true) AS active FROM Driver d")
+    ResourceCounts countTotalAndActive();
+
+    // Uygunluk indeksi için aktif şoförler: id, ad, soyad
+    @Query("SELECT d.id, d.firstName, d.lastName FROM Driver d WHERE d.isActive = true")
+    List<Object[]> findAvailabilityIndexRows();
+
+    // Belge takvimi: verilen tarihe kadar (dahil) pasaport, vize veya ikamet izni süresi dolan aktif şoförler
+    // (V5 kısmi index'leri): id, ad, soyad, pasaport, vize, ikamet izni bitişi
+    @Query("SELECT d.id, d.firstName, d.lastName, d.passportExpiry, d.visaExpiry, d.residencePermitExpiry " +
+           "FROM Driver d WHERE d.isActive = true AND (d.passportExpiry <= :until OR d.visaExpiry <= :until " +
+           "OR d.residencePermitExpiry <= :until)")
+    List<Object[]> findDocumentExpiryRows(@Param("until") LocalDate until);
+}
@@ -0,0 +1,37 @@
+package com.baem.logisticapp.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Dashboard istatistikleri için sipariş sayaçları
+ */
+public interface OrderDashboardCounts {
+
+    Long getTotal();
+
+    Long getPending();
+
+    Long getApproved();
+
+    Long getRejected();
+
+    Long getInTransit();
+
+    Long getCompleted();
+
+    Long getApprovedWithoutOperator();
+
+    Long getCreatedThisMonth();
+
+    Long getCreatedLastMonth();
+
+    Long getCompletedToday();
+
+    Long getUpdatedToday();
+
+    Long getDelayed();
+
+    BigDecimal getTotalValue();
+
+    BigDecimal getMonthlyValue();
+}
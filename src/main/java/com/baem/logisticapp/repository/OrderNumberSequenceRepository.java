@@ -0,0 +1,25 @@
+package com.baem.logisticapp.repository;
+
+import com.baem.logisticapp.entity.OrderNumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OrderNumberSequenceRepository extends JpaRepository<OrderNumberSequence, String> {
+
+    // Önek için yeni bir numara bloğu ayırır ve bloğun son numarasını döner.
+    // İlk kullanımda mevcut siparişlerin en yüksek sıra numarasından başlar.
+    // Satır kilidi sipariş transaction'ını beklemesin diye ayrı transaction'da çalışır.
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = "INSERT INTO order_number_sequences (prefix, high_water_mark) " +
+            "VALUES (:prefix, (SELECT COALESCE(MAX(CAST(SUBSTRING(o.order_number FROM 9) AS BIGINT)), 0) " +
+            "FROM orders o WHERE o.order_number LIKE CONCAT(:prefix, '%')) + :blockSize) " +
+            "ON CONFLICT (prefix) DO UPDATE SET " +
+            "high_water_mark = order_number_sequences.high_water_mark + :blockSize " +
+            "RETURNING high_water_mark", nativeQuery = true)
+    Long allocateBlock(@Param("prefix") String prefix, @Param("blockSize") long blockSize);
+}
@@ -1,17 +1,67 @@
 package com.baem.logisticapp.repository;
 
+import com.baem.logisticapp.entity.Driver;
 import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.Trailer;
 import com.baem.logisticapp.entity.TripStatus;
+import com.baem.logisticapp.entity.User;
+import com.baem.logisticapp.entity.Vehicle;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+
+    // Tüm siparişler ilişkileriyle birlikte (N+1 önlemek için tek sorgu)
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
+    @Query("SELECT o FROM Order o")
+    List<Order> findAllWithAssociations();
+
+    // Keyset pagination: ilk sayfa (createdAt, id) azalan sırada
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findFirstPage(Pageable pageable);
+
+    // Keyset pagination: verilen (createdAt, id) anahtarından sonraki sayfa
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
+    @Query("SELECT o FROM Order o WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageAfter(@Param("createdAt") OffsetDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // Tüm siparişleri sunucu taraflı cursor ile akış olarak okur (aktif transaction gerektirir)
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    Stream<Order> streamAllWithAssociations();
+
+    // Tek sipariş ilişkileriyle birlikte
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithAssociationsById(@Param("id") Long id);
 
     // Müşteriye göre siparişler
     List<Order> findByCustomerId(Long customerId);
@@ -23,6 +73,7 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findBySalesPersonId(Long salesPersonId);
 
     // Operasyoncuya göre siparişler
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
     List<Order> findByOperationPersonId(Long operationPersonId);
 
     // Filocuya göre siparişler
@@ -52,55 +103,126 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     // Çıkış şehrine göre siparişler
     List<Order> findByDepartureCityContainingIgnoreCase(String city);
 
-    // Consolidated search method with multiple filters
-    @Query("SELECT o FROM Order o WHERE " +
-            "(:customerId IS NULL OR o.customer.id = :customerId) AND " +
-            "(:salesPersonId IS NULL OR o.salesPerson.id = :salesPersonId) AND " +
-            "(:fleetPersonId IS NULL OR o.fleetPerson.id = :fleetPersonId) AND " +
-            "(:operationPersonId IS NULL OR o.operationPerson.id = :operationPersonId) AND " +
-            "(:tripStatus IS NULL OR o.tripStatus = :tripStatus)")
-    List<Order> findOrdersWithFilters(@Param("customerId") Long customerId,
-            @Param("salesPersonId") Long salesPersonId,
-            @Param("fleetPersonId") Long fleetPersonId,
-            @Param("operationPersonId") Long operationPersonId,
-            @Param("tripStatus") TripStatus tripStatus);
-
-    // Order number pattern'ına göre sayım (sequence number için)
-    Long countByOrderNumberLike(String pattern);
+    // Dinamik arama (OrderSpecifications) - DTO dönüşümü için ilişkilerle birlikte
+    @Override
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
+    List<Order> findAll(Specification<Order> spec, Sort sort);
+
+    @Override
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
+    Page<Order> findAll(Specification<Order> spec, Pageable pageable);
+
+    // Verilen id'lerden var olanlar
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Verilen id'lerdeki siparişler ilişkileriyle birlikte
+    @EntityGraph(value = Order.WITH_ASSOCIATIONS)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findAllWithAssociationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Arama indeksi için aranan alanlar: id, orderNumber, departureCity, arrivalCity, müşteri adı
+    @Query("SELECT o.id, o.orderNumber, o.departureCity, o.arrivalCity, c.name FROM Order o LEFT JOIN o.customer c")
+    List<Object[]> findSearchIndexRows();
+
+    // Durum/atama değişikliklerinden önce version ile birlikte okunan alanlar (join yok)
+    @Query("SELECT o.id AS id, o.version AS version, o.orderNumber AS orderNumber, o.tripStatus AS tripStatus, " +
+            "o.quotePrice AS quotePrice, o.createdAt AS createdAt, o.updatedAt AS updatedAt, " +
+            "o.loadingDate AS loadingDate, o.deadlineDate AS deadlineDate, " +
+            "o.estimatedArrivalDate AS estimatedArrivalDate, o.operationPerson.id AS operationPersonId, " +
+            "o.fleetPerson.id AS fleetPersonId, o.assignedTruck.id AS assignedTruckId, " +
+            "o.assignedTrailer.id AS assignedTrailerId, o.assignedDriver.id AS assignedDriverId " +
+            "FROM Order o WHERE o.id = :id")
+    Optional<OrderState> findStateById(@Param("id") Long id);
+
+    // Koşullu güncellemeler: yalnızca okunan version hâlâ geçerliyse uygulanır, 0 dönerse sipariş
+    // bu arada başka bir işlemle değişmiştir
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.tripStatus = :tripStatus, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.version = :version")
+    int updateTripStatus(@Param("id") Long id, @Param("version") Long version,
+            @Param("tripStatus") TripStatus tripStatus, @Param("now") OffsetDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.operationPerson = :person, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.version = :version")
+    int updateOperationPerson(@Param("id") Long id, @Param("version") Long version,
+            @Param("person") User person, @Param("now") OffsetDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.fleetPerson = :person, o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id = :id AND o.version = :version")
+    int updateFleetPerson(@Param("id") Long id, @Param("version") Long version,
+            @Param("person") User person, @Param("now") OffsetDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.assignedTruck = :truck, o.assignedTrailer = :trailer, o.assignedDriver = :driver, " +
+            "o.updatedAt = :now, o.version = o.version + 1 WHERE o.id = :id AND o.version = :version")
+    int updateFleetResources(@Param("id") Long id, @Param("version") Long version, @Param("truck") Vehicle truck,
+            @Param("trailer") Trailer trailer, @Param("driver") Driver driver, @Param("now") OffsetDateTime now);
+
+    // Uygunluk indeksi: kaynak atanmış, yükleme tarihi belli ve kaynaklarını bırakmamış siparişler
+    @Query("SELECT o.id, o.orderNumber, o.loadingDate, o.deadlineDate, o.estimatedArrivalDate, " +
+            "o.assignedTruck.id, o.assignedTrailer.id, o.assignedDriver.id FROM Order o " +
+            "WHERE o.loadingDate IS NOT NULL AND (o.tripStatus IS NULL OR o.tripStatus NOT IN :released) " +
+            "AND (o.assignedTruck IS NOT NULL OR o.assignedTrailer IS NOT NULL OR o.assignedDriver IS NOT NULL)")
+    List<Object[]> findBookingRows(@Param("released") Collection<TripStatus> released);
+
+    // Verilen kaynaklardan birini [from, to] aralığında kullanan siparişler (çift rezervasyon kontrolü):
+    // id, orderNumber, loadingDate, deadlineDate, estimatedArrivalDate, kamyon, dorse, şoför
+    @Query("SELECT o.id, o.orderNumber, o.loadingDate, o.deadlineDate, o.estimatedArrivalDate, " +
+            "o.assignedTruck.id, o.assignedTrailer.id, o.assignedDriver.id FROM Order o " +
+            "WHERE o.loadingDate <= :to " +
+            "AND COALESCE(o.estimatedArrivalDate, o.deadlineDate, o.loadingDate) >= :from " +
+            "AND (o.tripStatus IS NULL OR o.tripStatus NOT IN :released) " +
+            "AND (o.assignedTruck.id = :truckId OR o.assignedTrailer.id = :trailerId OR o.assignedDriver.id = :driverId) " +
+            "ORDER BY o.loadingDate, o.id")
+    List<Object[]> findOverlappingBookings(@Param("from") LocalDate from, @Param("to") LocalDate to,
+            @Param("released") Collection<TripStatus> released,
+            @Param("truckId") Long truckId, @Param("trailerId") Long trailerId, @Param("driverId") Long driverId);
+
+    // findOverlappingBookings ile aynı, güncellenen siparişin kendisi hariç
+    @Query("SELECT o.id, o.orderNumber, o.loadingDate, o.deadlineDate, o.estimatedArrivalDate, " +
+            "o.assignedTruck.id, o.assignedTrailer.id, o.assignedDriver.id FROM Order o " +
+            "WHERE o.id <> :orderId AND o.loadingDate <= :to " +
+            "AND COALESCE(o.estimatedArrivalDate, o.deadlineDate, o.loadingDate) >= :from " +
+            "AND (o.tripStatus IS NULL OR o.tripStatus NOT IN :released) " +
+            "AND (o.assignedTruck.id = :truckId OR o.assignedTrailer.id = :trailerId OR o.assignedDriver.id = :driverId) " +
+            "ORDER BY o.loadingDate, o.id")
+    List<Object[]> findOverlappingBookingsExcluding(@Param("orderId") Long orderId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to, @Param("released") Collection<TripStatus> released,
+            @Param("truckId") Long truckId, @Param("trailerId") Long trailerId, @Param("driverId") Long driverId);
+
+    // Dorse eşleştirme için yük ölçüleri ve tarihler:
+    // id, cargoWeightKg, cargoLength, cargoWidth, cargoHeight, loadingDate, deadlineDate, estimatedArrivalDate
+    @Query("SELECT o.id, o.cargoWeightKg, o.cargoLength, o.cargoWidth, o.cargoHeight, o.loadingDate, " +
+            "o.deadlineDate, o.estimatedArrivalDate FROM Order o WHERE o.id IN :ids")
+    List<Object[]> findCargoRowsByIdIn(@Param("ids") Collection<Long> ids);
 
     // Order number ile sipariş bulma (benzersizlik kontrolü için)
     Optional<Order> findByOrderNumber(String orderNumber);
 
-    // Statistics methods
-    @Query("SELECT COUNT(o) FROM Order o")
-    Integer countAll();
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE CAST(o.tripStatus AS string) = :status")
-    Integer countByStatus(@Param("status") String status);
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.createdAt >= :startDate AND o.createdAt < :endDate")
-    Integer countByCreatedDateBetween(@Param("startDate") java.time.OffsetDateTime startDate, 
-                                     @Param("endDate") java.time.OffsetDateTime endDate);
-
-    @Query("SELECT COALESCE(SUM(o.quotePrice), 0) FROM Order o")
-    Double sumTotalAmount();
-
-    @Query("SELECT COALESCE(SUM(o.quotePrice), 0) FROM Order o WHERE o.createdAt >= :startDate AND o.createdAt < :endDate")
-    Double sumTotalAmountByCreatedDateBetween(@Param("startDate") java.time.OffsetDateTime startDate, 
-                                            @Param("endDate") java.time.OffsetDateTime endDate);
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE CAST(o.tripStatus AS string) = :status AND o.operationPerson IS NULL")
-    Integer countByStatusAndAssignedOperatorIsNull(@Param("status") String status);
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.updatedAt >= :startDate AND o.updatedAt < :endDate AND CAST(o.tripStatus AS string) = :status")
-    Integer countByStatusAndCompletedDateBetween(@Param("status") String status, 
-                                               @Param("startDate") java.time.OffsetDateTime startDate, 
-                                               @Param("endDate") java.time.OffsetDateTime endDate);
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.estimatedArrivalDate < CURRENT_DATE AND o.tripStatus != 'COMPLETED'")
-    Integer countDelayed();
-
-    @Query("SELECT COUNT(o) FROM Order o WHERE o.updatedAt >= :startDate AND o.updatedAt < :endDate")
-    Integer countByAssignedDateBetween(@Param("startDate") java.time.OffsetDateTime startDate, 
-                                     @Param("endDate") java.time.OffsetDateTime endDate);
+    // Dashboard sayaç mutabakatı: durum bazında adet ve teklif toplamı
+    @Query("SELECT o.tripStatus, COUNT(o), COALESCE(SUM(o.quotePrice), 0) FROM Order o GROUP BY o.tripStatus")
+    List<Object[]> countAndSumQuotePriceByTripStatus();
+
+    // Operasyoncu atanmamış siparişler (duruma göre)
+    long countByTripStatusAndOperationPersonIsNull(TripStatus tripStatus);
+
+    // Dashboard sayaç mutabakatı: oluşturulma gününe göre adet ve teklif toplamı
+    @Query("SELECT CAST(o.createdAt AS LocalDate), COUNT(o), COALESCE(SUM(o.quotePrice), 0) FROM Order o " +
+            "WHERE o.createdAt >= :from GROUP BY CAST(o.createdAt AS LocalDate)")
+    List<Object[]> countAndSumQuotePriceByCreatedDay(@Param("from") OffsetDateTime from);
+
+    // Dashboard sayaç mutabakatı: güncellenme gününe göre güncellenen ve teslim edilen adetleri
+    @Query("SELECT CAST(o.updatedAt AS LocalDate), COUNT(o), " +
+            "COUNT(o) FILTER (WHERE o.tripStatus = com.baem.logisticapp.entity.TripStatus.TESLIM_EDILDI) " +
+            "FROM Order o WHERE o.updatedAt >= :from GROUP BY CAST(o.updatedAt AS LocalDate)")
+    List<Object[]> countUpdatedAndCompletedByUpdatedDay(@Param("from") OffsetDateTime from);
+
+    // Tahmini varış tarihi geçmiş, henüz teslim edilmemiş siparişler
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.estimatedArrivalDate < CURRENT_DATE AND o.tripStatus IN (" +
+            "com.baem.logisticapp.entity.TripStatus.ONAYLANAN_TEKLIF, " +
+            "com.baem.logisticapp.entity.TripStatus.YOLA_CIKTI)")
+    long countDelayed();
 }
\ No newline at end of file
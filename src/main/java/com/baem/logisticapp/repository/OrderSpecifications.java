@@ -0,0 +1,137 @@
+package com.baem.logisticapp.repository;
+
+import com.baem.logisticapp.dto.OrderSearchCriteria;
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.TripStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sipariş araması için dinamik sorgu. "(:x IS NULL OR o.x = :x)" kalıbının aksine
+ * yalnızca verilen filtreler için predicate üretir; böylece PostgreSQL ilgili
+ * bileşik index'leri kullanabilir.
+ */
+public final class OrderSpecifications {
+
+    // Aramada sıralamaya izin verilen alanlar
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "createdAt", "loadingDate", "deadlineDate", "estimatedArrivalDate", "orderNumber", "quotePrice", "id");
+
+    private OrderSpecifications() {
+    }
+
+    /**
+     * İstenen sıralamayı doğrular; sayfalar ve dışa aktarım arasında kararlı sıra için id ile eşitlik bozar
+     */
+    public static Sort searchSort(Sort requested) {
+        for (Sort.Order order : requested) {
+            if (!SORTABLE_FIELDS.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort field: " + order.getProperty());
+            }
+        }
+        Sort sort = requested.isSorted() ? requested : Sort.by(Sort.Direction.DESC, "createdAt");
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(Sort.Direction.DESC, "id"));
+        }
+        return sort;
+    }
+
+    public static Specification<Order> matching(OrderSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (criteria.getCustomerId() != null) {
+                predicates.add(cb.equal(root.get("customer").get("id"), criteria.getCustomerId()));
+            }
+            if (criteria.getSalesPersonId() != null) {
+                predicates.add(cb.equal(root.get("salesPerson").get("id"), criteria.getSalesPersonId()));
+            }
+            if (criteria.getFleetPersonId() != null) {
+                predicates.add(cb.equal(root.get("fleetPerson").get("id"), criteria.getFleetPersonId()));
+            }
+            if (criteria.getOperationPersonId() != null) {
+                predicates.add(cb.equal(root.get("operationPerson").get("id"), criteria.getOperationPersonId()));
+            }
+            if (criteria.getTripStatus() != null) {
+                predicates.add(cb.equal(root.get("tripStatus"), criteria.getTripStatus()));
+            }
+            if (hasText(criteria.getDepartureCity())) {
+                predicates.add(cityStartsWith(cb, root.get("departureCity"), criteria.getDepartureCity()));
+            }
+            if (hasText(criteria.getArrivalCity())) {
+                predicates.add(cityStartsWith(cb, root.get("arrivalCity"), criteria.getArrivalCity()));
+            }
+            if (criteria.getLoadingDateFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("loadingDate"), criteria.getLoadingDateFrom()));
+            }
+            if (criteria.getLoadingDateTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("loadingDate"), criteria.getLoadingDateTo()));
+            }
+            if (criteria.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), startOfDay(criteria.getCreatedFrom())));
+            }
+            if (criteria.getCreatedTo() != null) {
+                // Bitiş günü dahil: ertesi günün başından önce
+                predicates.add(cb.lessThan(root.get("createdAt"), startOfDay(criteria.getCreatedTo().plusDays(1))));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Yük konsolidasyonu adayları: aktarmaya uygun, henüz dorse atanmamış, verilen durumlardaki siparişler;
+     * yükleme tarihi aralıkta olanlar ve planlanamadığı raporlansın diye yükleme tarihi olmayanlar.
+     * Tarih sınırları yalnızca verilmişse eklenir.
+     */
+    public static Specification<Order> consolidationCandidates(Collection<TripStatus> statuses, LocalDate from,
+            LocalDate to) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("canTransfer")));
+            predicates.add(cb.isNull(root.get("assignedTrailer")));
+            predicates.add(root.get("tripStatus").in(statuses));
+
+            List<Predicate> dateRange = new ArrayList<>();
+            if (from != null) {
+                dateRange.add(cb.greaterThanOrEqualTo(root.get("loadingDate"), from));
+            }
+            if (to != null) {
+                dateRange.add(cb.lessThanOrEqualTo(root.get("loadingDate"), to));
+            }
+            if (!dateRange.isEmpty()) {
+                predicates.add(cb.or(cb.isNull(root.get("loadingDate")), cb.and(dateRange.toArray(new Predicate[0]))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Önek veritabanında kolonla aynı lower() ile küçültülür; Java'nın küçük harf dönüşümü
+    // PostgreSQL'inkinden farklı olabilir (örn: "İ" Java'da "i̇" olur)
+    private static Predicate cityStartsWith(CriteriaBuilder cb, Path<String> city, String prefix) {
+        String escaped = prefix.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return cb.like(cb.lower(city), cb.concat(cb.lower(cb.literal(escaped)), "%"), '\\');
+    }
+
+    private static OffsetDateTime startOfDay(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
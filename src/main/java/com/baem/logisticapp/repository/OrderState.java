@@ -0,0 +1,43 @@
+package com.baem.logisticapp.repository;
+
+import com.baem.logisticapp.entity.TripStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Durum ve atama değişiklikleri için entity ve ilişkileri yüklenmeden okunan sipariş alanları
+ */
+public interface OrderState {
+
+    Long getId();
+
+    Long getVersion();
+
+    String getOrderNumber();
+
+    TripStatus getTripStatus();
+
+    BigDecimal getQuotePrice();
+
+    OffsetDateTime getCreatedAt();
+
+    OffsetDateTime getUpdatedAt();
+
+    LocalDate getLoadingDate();
+
+    LocalDate getDeadlineDate();
+
+    LocalDate getEstimatedArrivalDate();
+
+    Long getOperationPersonId();
+
+    Long getFleetPersonId();
+
+    Long getAssignedTruckId();
+
+    Long getAssignedTrailerId();
+
+    Long getAssignedDriverId();
+}
@@ -0,0 +1,11 @@
+package com.baem.logisticapp.repository;
+
+/**
+ * Araç, sürücü ve dorse tabloları için toplam/aktif sayaçları
+ */
+public interface ResourceCounts {
+
+    Long getTotal();
+
+    Long getActive();
+}
@@ -27,6 +27,10 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
     // Ülkeye göre tedarikçiler
     List<Supplier> findByCountryContainingIgnoreCaseAndIsActiveTrue(String country);
 
+    // Arama indeksi için aktif tedarikçilerin aranan alanları: id, companyName, taxNumber, city
+    @Query("SELECT s.id, s.companyName, s.taxNumber, s.city FROM Supplier s WHERE s.isActive = true")
+    List<Object[]> findSearchIndexRows();
+
     // Vergi numarası benzersizlik kontrolü (güncelleme için)
     @Query("SELECT s FROM Supplier s WHERE s.taxNumber = :taxNumber AND s.id != :id")
     Optional<Supplier> findByTaxNumberAndNotId(@Param("taxNumber") String taxNumber, @Param("id") Long id);
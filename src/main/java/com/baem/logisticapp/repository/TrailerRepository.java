@@ -44,13 +44,16 @@ public interface TrailerRepository extends JpaRepository<Trailer, Long> {
                                         @Param("active") Boolean active,
                                         @Param("purchasedAfter") LocalDate purchasedAfter);
 
-    // Statistics methods
-    @Query("SELECT COUNT(t) FROM Trailer t")
-    Integer countAll();
-
-    @Query("SELECT COUNT(t) FROM Trailer t WHERE t.isActive = true")
-    Integer countByStatus(@Param("status") String status);
-
-    @Query("SELECT COUNT(t) FROM Trailer t WHERE t.isActive = true")
-    Integer countByActiveTrue();
-}
\ No newline at end of file
+    // Statistics: toplam ve aktif sayısı tek sorguda
+    @Query("SELECT COUNT(t) AS total, COUNT(t) FILTER (WHERE t.isActive = true) AS active FROM Trailer t")
+    ResourceCounts countTotalAndActive();
+
+    // Uygunluk indeksi için aktif dorseler: id, dorse numarası
+    @Query("SELECT t.id, t.trailerNo FROM Trailer t WHERE t.isActive = true")
+    List<Object[]> findAvailabilityIndexRows();
+
+    // Kapasite indeksi için aktif dorseler: id, dorse numarası, tür, kapasite (ton), uzunluk, genişlik, yükseklik
+    @Query("SELECT t.id, t.trailerNo, t.trailerType, t.capacity, t.length, t.width, t.height FROM Trailer t " +
+           "WHERE t.isActive = true")
+    List<Object[]> findCapacityIndexRows();
+}
@@ -1,12 +1,16 @@
 package com.baem.logisticapp.repository;
 
 import com.baem.logisticapp.entity.VehicleOwnershipType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface VehicleOwnershipTypeRepository extends JpaRepository<VehicleOwnershipType, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<VehicleOwnershipType> findByOwnershipName(String ownershipName);
 }
\ No newline at end of file
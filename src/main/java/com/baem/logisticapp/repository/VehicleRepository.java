@@ -44,13 +44,11 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
                                         @Param("active") Boolean active,
                                         @Param("purchasedAfter") LocalDate purchasedAfter);
 
-    // Statistics methods
-    @Query("SELECT COUNT(v) FROM Vehicle v")
-    Integer countAll();
-
-    @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.isActive = true")
-    Integer countByStatus(@Param("status") String status);
-
-    @Query("SELECT COUNT(v) FROM Vehicle v WHERE v.isActive = true")
-    Integer countByActiveTrue();
-}
\ No newline at end of file
+    // Statistics: toplam ve aktif sayısı tek sorguda
+    @Query("SELECT COUNT(v) AS total, COUNT(v) FILTER (WHERE v.isActive = true) AS active FROM Vehicle v")
+    ResourceCounts countTotalAndActive();
+
+    // Uygunluk indeksi için aktif araçlar: id, plaka
+    @Query("SELECT v.id, v.plateNo FROM Vehicle v WHERE v.isActive = true")
+    List<Object[]> findAvailabilityIndexRows();
+}
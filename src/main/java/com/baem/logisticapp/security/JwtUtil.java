@@ -54,12 +54,16 @@ public class JwtUtil {
                 .getBody();
     }
 
-    public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+    /**
+     * Token'ı tek seferde parse edip imzasını doğrular; süresi dolmuş veya geçersiz
+     * token için JwtException fırlatır.
+     */
+    public Claims parseVerifiedClaims(String token) {
+        return extractAllClaims(token);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, String username) {
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.baem.logisticapp.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * İmzası doğrulanmış JWT'lerin önbelleği. Anahtar token'ın SHA-256 özetidir,
+ * kayıtlar token'ın kendi son geçerlilik zamanında düşer; böylece aynı token
+ * için imza kontrolü yalnızca bir kez yapılır.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              @Value("${security.token-cache.max-entries:10000}") int maxEntries) {
+        this.jwtUtil = jwtUtil;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Token geçerliyse kullanıcı bilgilerini döner; geçersiz veya süresi dolmuşsa boş döner
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = tokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return Optional.of(cached);
+            }
+            tokens.remove(key, cached);
+            return Optional.empty();
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = jwtUtil.parseVerifiedClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            verified = new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            // Geçersiz token'lar önbelleğe alınmaz
+            return Optional.empty();
+        }
+
+        if (verified.expiresAtMillis() <= now) {
+            return Optional.empty();
+        }
+        if (tokens.size() >= maxEntries) {
+            purgeExpired();
+        }
+        if (tokens.size() < maxEntries) {
+            tokens.put(key, verified);
+        }
+        return Optional.of(verified);
+    }
+
+    /**
+     * Süresi dolmuş token kayıtlarını temizler
+     */
+    @Scheduled(fixedDelayString = "${security.token-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(token -> token.expiresAtMillis() <= now);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record VerifiedToken(String username, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,392 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.entity.ActivityLogEntry;
+import com.baem.logisticapp.entity.User;
+import com.baem.logisticapp.exception.ResourceNotFoundException;
+import com.baem.logisticapp.repository.ActivityLogRepository;
+import com.baem.logisticapp.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sipariş, araç, şoför ve müşteri değişikliklerinden oluşan aktivite akışı.
+ *
+ * Kayıt commit sonrası sınırlı bir halka tampona eklenir; veritabanına gitmediği için değişikliği yapan
+ * isteği bekletmez. Arka plandaki tek yazıcı thread tampondaki kayıtları toplu olarak activity_log
+ * tablosuna ekler. Son kayıtlar (genel ve kullanıcı bazında) bellekten, daha eskileri id üzerinden keyset
+ * sayfalama ile tablodan okunur. Veritabanı yazımı geride kalıp tampon dolarsa henüz yazılmamış en eski
+ * kayıtlar atılır.
+ */
+@Component
+@Slf4j
+public class ActivityLog {
+
+    public enum ActivityType {
+        ORDER("order"),
+        VEHICLE("truck"),
+        DRIVER("driver"),
+        CUSTOMER("customer");
+
+        // API'de ve tabloda kullanılan anahtar (dashboard araçlar için "truck" bekler)
+        private final String key;
+
+        ActivityType(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public static ActivityType fromKey(String key) {
+            return Arrays.stream(values())
+                    .filter(type -> type.key.equals(key.toLowerCase(Locale.ROOT)))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown activity type: " + key));
+        }
+    }
+
+    public enum Status {
+        INFO, SUCCESS, WARNING;
+
+        public String getKey() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public record Activity(long id, ActivityType type, Long entityId, String title, String message, Status status,
+            String username, OffsetDateTime createdAt) {
+    }
+
+    // Kullanıcı bazında kuyruk tutulan en fazla kullanıcı; en uzun süre aktivitesi olmayan düşer
+    private static final int MAX_TRACKED_USERS = 1024;
+
+    private final ActivityLogRepository activityLogRepository;
+    private final UserRepository userRepository;
+    private final TripNumberGenerator idGenerator;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final int userTailSize;
+    private final int maxAttempts;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    // Aşağıdaki alanlar lock ile korunur. ring[n % length]: n. kayıt; [flushed, head) henüz yazılmamış
+    private final Activity[] ring;
+    private long head;
+    private long flushed;
+    private long dropped;
+    // Kullanıcı adı -> en yeniden eskiye son kayıtları
+    private final Map<String, Deque<Activity>> userTails = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Deque<Activity>> eldest) {
+            return size() > MAX_TRACKED_USERS;
+        }
+    };
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ActivityLog(ActivityLogRepository activityLogRepository,
+                       UserRepository userRepository,
+                       TripNumberGenerator idGenerator,
+                       @Value("${activity.log.buffer-size:4096}") int bufferSize,
+                       @Value("${activity.log.batch-size:200}") int batchSize,
+                       @Value("${activity.log.flush-interval-ms:500}") long flushIntervalMs,
+                       @Value("${activity.log.user-tail-size:50}") int userTailSize,
+                       @Value("${activity.log.max-attempts:5}") int maxAttempts) {
+        if (batchSize < 1 || bufferSize < batchSize || flushIntervalMs < 1 || userTailSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException(
+                    "activity.log sizes must be positive and buffer-size must not be smaller than batch-size");
+        }
+        this.activityLogRepository = activityLogRepository;
+        this.userRepository = userRepository;
+        this.idGenerator = idGenerator;
+        this.ring = new Activity[bufferSize];
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.userTailSize = userTailSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "activity-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Yazıcı durdurulmadan önce tamponda kalan kayıtlar yazılır
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        lock.lock();
+        try {
+            batchReady.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Aktiviteyi işlemi yapan kullanıcıyla birlikte commit sonrası akışa ekler; geri alınan
+     * değişiklikler akışa girmez
+     */
+    public void record(ActivityType type, Long entityId, Status status, String title, String message) {
+        String username = currentUsername();
+        Runnable append = () -> append(type, entityId, status, title, message, username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append.run();
+                }
+            });
+        } else {
+            append.run();
+        }
+    }
+
+    /**
+     * En yeniden eskiye aktiviteler. Önce bellekteki kuyruk okunur, eksik kalan kısım tablodan tamamlanır.
+     *
+     * @param type     null ise tüm türler
+     * @param userId   verilirse yalnızca bu kullanıcının yaptığı işlemler
+     * @param beforeId verilirse bu id'den eski kayıtlar (bir önceki sayfanın son id'si)
+     */
+    public List<Activity> findRecent(int limit, ActivityType type, Long userId, Long beforeId) {
+        String username = null;
+        if (userId != null) {
+            username = userRepository.findById(userId)
+                    .map(User::getUsername)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+        }
+        long before = beforeId != null ? beforeId : Long.MAX_VALUE;
+
+        List<Activity> result = new ArrayList<>(limit);
+        // Bellekteki en eski kayıt; ondan yeni olanların hepsi bellekte olduğundan tablo bu id'nin altından okunur
+        long tailOldestId = Long.MAX_VALUE;
+        lock.lock();
+        try {
+            if (username != null) {
+                Deque<Activity> tail = userTails.get(username);
+                boolean full = false;
+                if (tail != null) {
+                    for (Activity activity : tail) {
+                        tailOldestId = activity.id();
+                        if (full = collect(result, activity, type, before, limit)) {
+                            break;
+                        }
+                    }
+                }
+                // Kullanıcı kuyruğundan taşmış ama henüz tabloya yazılmamış kayıtlar tampondan tamamlanır
+                for (long n = head - 1; !full && n >= flushed; n--) {
+                    Activity activity = ring[(int) (n % ring.length)];
+                    if (activity.id() < tailOldestId && username.equals(activity.username())) {
+                        full = collect(result, activity, type, before, limit);
+                    }
+                }
+                if (!full && flushed < head) {
+                    tailOldestId = Math.min(tailOldestId, ring[(int) (flushed % ring.length)].id());
+                }
+            } else {
+                for (long n = head - 1; n >= Math.max(0, head - ring.length); n--) {
+                    Activity activity = ring[(int) (n % ring.length)];
+                    tailOldestId = activity.id();
+                    if (collect(result, activity, type, before, limit)) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (result.size() < limit) {
+            long historyBefore = Math.min(before, tailOldestId);
+            PageRequest page = PageRequest.of(0, limit - result.size());
+            // Tür filtresi yalnızca verildiğinde sorguya girer; böylece (type, id) index'i kullanılabilir
+            List<ActivityLogEntry> history;
+            if (username != null) {
+                history = type != null
+                        ? activityLogRepository.findUserTypePageBefore(historyBefore, username, type.getKey(), page)
+                        : activityLogRepository.findUserPageBefore(historyBefore, username, page);
+            } else {
+                history = type != null
+                        ? activityLogRepository.findTypePageBefore(historyBefore, type.getKey(), page)
+                        : activityLogRepository.findPageBefore(historyBefore, page);
+            }
+            history.forEach(entry -> result.add(toActivity(entry)));
+        }
+        return result;
+    }
+
+    // Filtreye uyan kaydı ekler; limit dolduysa true
+    private static boolean collect(List<Activity> result, Activity activity, ActivityType type, long before,
+            int limit) {
+        if (activity.id() < before && (type == null || activity.type() == type)) {
+            result.add(activity);
+        }
+        return result.size() == limit;
+    }
+
+    private void append(ActivityType type, Long entityId, Status status, String title, String message,
+            String username) {
+        lock.lock();
+        try {
+            // Id kilit altında alınır: tampondaki sıra id sırasıyla aynı kalır
+            Activity activity = new Activity(idGenerator.nextId(), type, entityId, title, message, status,
+                    username, OffsetDateTime.now());
+            if (head - flushed == ring.length) {
+                flushed++;
+                if (dropped++ % 1000 == 0) {
+                    log.warn("Activity log buffer full, {} unwritten activities dropped so far", dropped);
+                }
+            }
+            ring[(int) (head % ring.length)] = activity;
+            head++;
+            if (username != null) {
+                Deque<Activity> tail = userTails.computeIfAbsent(username, key -> new ArrayDeque<>());
+                tail.addFirst(activity);
+                if (tail.size() > userTailSize) {
+                    tail.removeLast();
+                }
+            }
+            if (head - flushed >= batchSize) {
+                batchReady.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runWriter() {
+        // Aynı batch'in (flushed'tan başlayan) art arda başarısız yazım sayısı
+        long failedBatchStart = -1;
+        int failedAttempts = 0;
+        while (true) {
+            List<Activity> batch;
+            long batchStart;
+            long batchEnd;
+            lock.lock();
+            try {
+                // Batch dolana ya da flush aralığı geçene kadar bekle
+                long remaining = flushIntervalNanos;
+                while (running && head - flushed < batchSize && remaining > 0) {
+                    remaining = batchReady.awaitNanos(remaining);
+                }
+                batchStart = flushed;
+                batchEnd = Math.min(head, flushed + batchSize);
+                batch = new ArrayList<>((int) (batchEnd - flushed));
+                for (long n = flushed; n < batchEnd; n++) {
+                    batch.add(ring[(int) (n % ring.length)]);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            if (batch.isEmpty()) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                activityLogRepository.saveAll(batch.stream().map(ActivityLog::toEntry).toList());
+                lock.lock();
+                try {
+                    // Yazım sürerken tampon taştıysa flushed zaten ilerlemiş olabilir
+                    flushed = Math.max(flushed, batchEnd);
+                } finally {
+                    lock.unlock();
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.error("Could not write {} activities during shutdown, discarding", batch.size(), e);
+                    return;
+                }
+                failedAttempts = batchStart == failedBatchStart ? failedAttempts + 1 : 1;
+                failedBatchStart = batchStart;
+                if (failedAttempts >= maxAttempts) {
+                    // Yazılamayan batch atlanır; aksi halde sonraki tüm kayıtlar da sonsuza kadar bekler
+                    log.error("Could not write activities {}..{} after {} attempts, discarding", batch.get(0).id(),
+                            batch.get(batch.size() - 1).id(), failedAttempts, e);
+                    lock.lock();
+                    try {
+                        flushed = Math.max(flushed, batchEnd);
+                    } finally {
+                        lock.unlock();
+                    }
+                    continue;
+                }
+                log.warn("Could not write {} activities (attempt {} of {}), retrying", batch.size(), failedAttempts,
+                        maxAttempts, e);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static ActivityLogEntry toEntry(Activity activity) {
+        return ActivityLogEntry.builder()
+                .id(activity.id())
+                .type(activity.type().getKey())
+                .entityId(activity.entityId())
+                .title(activity.title())
+                .message(activity.message())
+                .status(activity.status().getKey())
+                .username(activity.username())
+                .createdAt(activity.createdAt())
+                .build();
+    }
+
+    private static Activity toActivity(ActivityLogEntry entry) {
+        return new Activity(entry.getId(), ActivityType.fromKey(entry.getType()), entry.getEntityId(),
+                entry.getTitle(), entry.getMessage(), Status.valueOf(entry.getStatus().toUpperCase(Locale.ROOT)),
+                entry.getUsername(), entry.getCreatedAt());
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,265 @@
+package com.baem.logisticapp.service;
+
+import org.apache.poi.xwpf.usermodel.IBodyElement;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFHeaderFooter;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.apache.poi.xwpf.usermodel.XWPFTableCell;
+import org.apache.poi.xwpf.usermodel.XWPFTableRow;
+import org.openxmlformats.schemas.wordprocessingml.x2006.main.CTRPr;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Bir kez derlenmiş Word (.docx) şablonu. Derleme sırasında POI ile bölünmüş
+ * {{KEY}} placeholder'ları tek run'a toplanır, ardından paket parçaları bellekte
+ * tutulur ve placeholder içeren XML parçaları sabit metin/placeholder
+ * segmentlerine ayrılır. Her belge üretimi POI açmadan yalnızca bu segmentleri
+ * birleştirip yeni bir zip yazar.
+ */
+public final class CompiledDocxTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{([^{}<>]+)}}");
+    private static final Pattern TEMPLATED_PART = Pattern.compile("word/(document|header\\d*|footer\\d*)\\.xml");
+    private static final Pattern STORED_PART = Pattern.compile("(?i).*\\.(png|jpe?g|gif|emf|wmf)");
+
+    private final List<Part> parts;
+    private final Set<String> placeholderKeys;
+
+    private CompiledDocxTemplate(List<Part> parts, Set<String> placeholderKeys) {
+        this.parts = parts;
+        this.placeholderKeys = placeholderKeys;
+    }
+
+    /**
+     * Şablonu derler
+     */
+    public static CompiledDocxTemplate compile(InputStream templateStream) throws IOException {
+        byte[] normalized;
+        try (XWPFDocument document = new XWPFDocument(templateStream);
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            for (XWPFParagraph paragraph : collectParagraphs(document)) {
+                mergeSplitPlaceholders(paragraph);
+            }
+            document.write(outputStream);
+            normalized = outputStream.toByteArray();
+        }
+
+        List<Part> parts = new ArrayList<>();
+        Set<String> keys = new LinkedHashSet<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(normalized))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                byte[] content = zip.readAllBytes();
+                String name = entry.getName();
+                if (TEMPLATED_PART.matcher(name).matches()) {
+                    parts.add(compilePart(name, new String(content, StandardCharsets.UTF_8), keys));
+                } else {
+                    parts.add(Part.raw(name, content, STORED_PART.matcher(name).matches()));
+                }
+            }
+        }
+        return new CompiledDocxTemplate(List.copyOf(parts), Collections.unmodifiableSet(keys));
+    }
+
+    /**
+     * Şablondaki placeholder anahtarları (süslü parantezler ve boşluklar olmadan)
+     */
+    public Set<String> getPlaceholderKeys() {
+        return placeholderKeys;
+    }
+
+    /**
+     * Placeholder'ları verilen değerlerle doldurup yeni bir .docx üretir.
+     * Haritada olmayan placeholder'lar olduğu gibi bırakılır.
+     */
+    public byte[] render(Map<String, String> replacements) {
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream(64 * 1024);
+             ZipOutputStream zip = new ZipOutputStream(outputStream)) {
+            zip.setLevel(Deflater.BEST_SPEED);
+            for (Part part : parts) {
+                zip.putNextEntry(part.newEntry());
+                if (part.segments == null) {
+                    zip.write(part.content);
+                } else {
+                    zip.write(part.render(replacements));
+                }
+                zip.closeEntry();
+            }
+            zip.finish();
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Part compilePart(String name, String xml, Set<String> keys) {
+        List<String> literals = new ArrayList<>();
+        List<String> partKeys = new ArrayList<>();
+        List<String> originals = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(xml);
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(xml.substring(last, matcher.start()));
+            String key = matcher.group(1).trim();
+            partKeys.add(key);
+            originals.add(matcher.group());
+            keys.add(key);
+            last = matcher.end();
+        }
+        if (partKeys.isEmpty()) {
+            return Part.raw(name, xml.getBytes(StandardCharsets.UTF_8), false);
+        }
+        literals.add(xml.substring(last));
+
+        List<byte[]> segments = new ArrayList<>(literals.size());
+        for (String literal : literals) {
+            segments.add(literal.getBytes(StandardCharsets.UTF_8));
+        }
+        return new Part(name, null, false, 0, segments, List.copyOf(partKeys), List.copyOf(originals));
+    }
+
+    /**
+     * Birden fazla run'a bölünmüş placeholder'ları ilk run'ın biçimini koruyarak tek run'a toplar
+     */
+    private static void mergeSplitPlaceholders(XWPFParagraph paragraph) {
+        String paragraphText = paragraph.getText();
+        int expected = countPlaceholders(paragraphText);
+        if (expected == 0) {
+            return;
+        }
+        List<XWPFRun> runs = paragraph.getRuns();
+        int inRuns = 0;
+        for (XWPFRun run : runs) {
+            inRuns += countPlaceholders(run.text());
+        }
+        if (inRuns == expected) {
+            return;
+        }
+
+        CTRPr firstRunProperties = runs.isEmpty() ? null : runs.get(0).getCTR().getRPr();
+        CTRPr properties = firstRunProperties != null ? (CTRPr) firstRunProperties.copy() : null;
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            paragraph.removeRun(i);
+        }
+        XWPFRun run = paragraph.createRun();
+        if (properties != null) {
+            run.getCTR().setRPr(properties);
+        }
+        run.setText(paragraphText);
+    }
+
+    private static int countPlaceholders(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int count = 0;
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static List<XWPFParagraph> collectParagraphs(XWPFDocument document) {
+        List<XWPFParagraph> paragraphs = new ArrayList<>();
+        collectParagraphs(document.getBodyElements(), paragraphs);
+        for (XWPFHeaderFooter header : document.getHeaderList()) {
+            collectParagraphs(header.getBodyElements(), paragraphs);
+        }
+        for (XWPFHeaderFooter footer : document.getFooterList()) {
+            collectParagraphs(footer.getBodyElements(), paragraphs);
+        }
+        return paragraphs;
+    }
+
+    private static void collectParagraphs(List<IBodyElement> elements, List<XWPFParagraph> paragraphs) {
+        for (IBodyElement element : elements) {
+            if (element instanceof XWPFParagraph paragraph) {
+                paragraphs.add(paragraph);
+            } else if (element instanceof XWPFTable table) {
+                for (XWPFTableRow row : table.getRows()) {
+                    for (XWPFTableCell cell : row.getTableCells()) {
+                        collectParagraphs(cell.getBodyElements(), paragraphs);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String escapeXml(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Paket parçası: ya sabit içerik ya da sabit segmentler arasına yerleştirilen placeholder'lar
+     */
+    private record Part(String name, byte[] content, boolean stored, long crc,
+                        List<byte[]> segments, List<String> keys, List<String> originals) {
+
+        static Part raw(String name, byte[] content, boolean stored) {
+            long crc = 0;
+            if (stored) {
+                // Zaten sıkıştırılmış medya tekrar deflate edilmez
+                CRC32 crc32 = new CRC32();
+                crc32.update(content);
+                crc = crc32.getValue();
+            }
+            return new Part(name, content, stored, crc, null, null, null);
+        }
+
+        ZipEntry newEntry() {
+            ZipEntry entry = new ZipEntry(name);
+            if (stored) {
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(content.length);
+                entry.setCompressedSize(content.length);
+                entry.setCrc(crc);
+            }
+            return entry;
+        }
+
+        byte[] render(Map<String, String> replacements) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(segments.get(0).length * 2);
+            for (int i = 0; i < keys.size(); i++) {
+                outputStream.writeBytes(segments.get(i));
+                String value = replacements.get(keys.get(i));
+                String text = value != null ? escapeXml(value) : originals.get(i);
+                outputStream.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+            }
+            outputStream.writeBytes(segments.get(keys.size()));
+            return outputStream.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.entity.CountryCode;
+import com.baem.logisticapp.repository.CountryCodeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Aktif ülke kodlarının bellekte tutulan, değiştirilemez arama indeksi.
+ * İngilizce isim, Türkçe isim ve ISO kodu normalize edilerek numerik koda eşlenir;
+ * sipariş oluştururken ülke kodu için veritabanına gidilmez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CountryCodeIndex {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr");
+
+    private final CountryCodeRepository countryCodeRepository;
+
+    // Her yeniden oluşturmada tamamen değiştirilir (atomik referans değişimi)
+    private volatile Map<String, String> numericCodesByName;
+
+    // Üst üste binen yeniden oluşturmalar sıraya girer; önce okunan eski veri sonradan yayınlanamaz
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<String, String> index = new HashMap<>();
+        for (CountryCode countryCode : countryCodeRepository.findAll(Sort.by("id"))) {
+            if (!Boolean.TRUE.equals(countryCode.getIsActive())) {
+                continue;
+            }
+            String numericCode = countryCode.getCountryCodeNumeric();
+            putIfPresent(index, countryCode.getCountryName(), numericCode);
+            putIfPresent(index, countryCode.getCountryNameTr(), numericCode);
+            putIfPresent(index, countryCode.getCountryCodeIso(), numericCode);
+        }
+        numericCodesByName = Map.copyOf(index);
+        log.info("Country code index rebuilt with {} names", index.size());
+    }
+
+    /**
+     * Mevcut transaction commit edildikten sonra indeksi yeniden oluşturur
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Ülke ismi (İngilizce/Türkçe) veya ISO koduna göre numerik ülke kodunu bulur
+     */
+    public Optional<String> findNumericCode(String countryName) {
+        if (countryName == null) {
+            return Optional.empty();
+        }
+        Map<String, String> index = numericCodesByName;
+        if (index == null) {
+            rebuild();
+            index = numericCodesByName;
+        }
+        return Optional.ofNullable(index.get(normalize(countryName)));
+    }
+
+    private static void putIfPresent(Map<String, String> index, String name, String numericCode) {
+        if (name != null && !name.isBlank()) {
+            index.putIfAbsent(normalize(name), numericCode);
+        }
+    }
+
+    /**
+     * Türkçe büyük harfe çevirir ve Türkçe'ye özgü harfleri ASCII karşılıklarına indirger;
+     * böylece "İtalya", "italya", "ITALYA" ve "Turkiye"/"TÜRKİYE" aynı anahtara düşer.
+     */
+    static String normalize(String name) {
+        String upper = name.trim().replaceAll("\\s+", " ").toUpperCase(TURKISH);
+        StringBuilder normalized = new StringBuilder(upper.length());
+        for (int i = 0; i < upper.length(); i++) {
+            char c = upper.charAt(i);
+            normalized.append(switch (c) {
+                case 'İ' -> 'I';
+                case 'Ç' -> 'C';
+                case 'Ğ' -> 'G';
+                case 'Ö' -> 'O';
+                case 'Ş' -> 'S';
+                case 'Ü' -> 'U';
+                default -> c;
+            });
+        }
+        return normalized.toString();
+    }
+}
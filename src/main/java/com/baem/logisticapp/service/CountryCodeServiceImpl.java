@@ -17,9 +17,11 @@ import java.util.stream.Collectors;
 public class CountryCodeServiceImpl implements CountryCodeService {
 
     private final CountryCodeRepository countryCodeRepository;
+    private final CountryCodeIndex countryCodeIndex;
 
-    public CountryCodeServiceImpl(CountryCodeRepository countryCodeRepository) {
+    public CountryCodeServiceImpl(CountryCodeRepository countryCodeRepository, CountryCodeIndex countryCodeIndex) {
         this.countryCodeRepository = countryCodeRepository;
+        this.countryCodeIndex = countryCodeIndex;
     }
 
     @Override
@@ -44,6 +46,7 @@ public class CountryCodeServiceImpl implements CountryCodeService {
                 .build();
 
         CountryCode savedCountryCode = countryCodeRepository.save(countryCode);
+        countryCodeIndex.rebuildAfterCommit();
         return convertToResponseDTO(savedCountryCode);
     }
 
@@ -108,6 +111,7 @@ public class CountryCodeServiceImpl implements CountryCodeService {
         }
 
         CountryCode updatedCountryCode = countryCodeRepository.save(countryCode);
+        countryCodeIndex.rebuildAfterCommit();
         return convertToResponseDTO(updatedCountryCode);
     }
 
@@ -119,6 +123,7 @@ public class CountryCodeServiceImpl implements CountryCodeService {
         // Soft delete - sadece isActive false yap
         countryCode.setIsActive(false);
         countryCodeRepository.save(countryCode);
+        countryCodeIndex.rebuildAfterCommit();
     }
 
     @Override
@@ -2,28 +2,76 @@ package com.baem.logisticapp.service;
 
 import com.baem.logisticapp.entity.User;
 import com.baem.logisticapp.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final long ttlNanos;
+
+    // Kısa ömürlü kullanıcı önbelleği; kimlik doğrulanan her istekte DB'ye gitmemek için
+    private final ConcurrentHashMap<String, CachedUser> users = new ConcurrentHashMap<>();
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${security.user-details-cache.ttl-ms:60000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        long now = System.nanoTime();
+        CachedUser cached = users.get(username);
+        if (cached == null || now - cached.loadedAtNanos() >= ttlNanos) {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+            cached = new CachedUser(
+                    user.getUsername(),
+                    user.getPassword(),
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())),
+                    now);
+            users.put(username, cached);
+        }
+        // Her çağrıda yeni nesne: kimlik doğrulama sonrası şifre silinse de önbellek etkilenmez
         return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+                cached.username(),
+                cached.password(),
+                cached.authorities());
+    }
+
+    /**
+     * Kullanıcıyı önbellekten, mevcut transaction commit edildikten sonra çıkarır
+     */
+    public void evictAfterCommit(String username) {
+        if (username == null) {
+            return;
+        }
+        users.remove(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.remove(username);
+                }
+            });
+        }
+    }
+
+    private record CachedUser(String username, String password, List<GrantedAuthority> authorities,
+                              long loadedAtNanos) {
     }
-}
\ No newline at end of file
+}
@@ -19,13 +19,19 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final CustomerRiskStatusRepository customerRiskStatusRepository;
     private final CustomerValidator customerValidator;
+    private final GlobalSearchIndex globalSearchIndex;
+    private final ActivityLog activityLog;
     
     public CustomerServiceImpl(CustomerRepository customerRepository, 
                                CustomerRiskStatusRepository customerRiskStatusRepository,
-                               CustomerValidator customerValidator) {
+                               CustomerValidator customerValidator,
+                               GlobalSearchIndex globalSearchIndex,
+                               ActivityLog activityLog) {
         this.customerRepository = customerRepository;
         this.customerRiskStatusRepository = customerRiskStatusRepository;
         this.customerValidator = customerValidator;
+        this.globalSearchIndex = globalSearchIndex;
+        this.activityLog = activityLog;
     }
 
     @Override
@@ -49,7 +55,11 @@ public class CustomerServiceImpl implements CustomerService {
                 .creditLimit(createDTO.getCreditLimit())
                 .build();
 
-        return convertToDTO(customerRepository.save(customer));
+        Customer savedCustomer = customerRepository.save(customer);
+        globalSearchIndex.customerSaved(savedCustomer);
+        activityLog.record(ActivityLog.ActivityType.CUSTOMER, savedCustomer.getId(), ActivityLog.Status.SUCCESS,
+                "Yeni Müşteri", savedCustomer.getName() + " müşteri olarak eklendi");
+        return convertToDTO(savedCustomer);
     }
 
     @Override
@@ -88,7 +98,11 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setIsInLawsuit(updateDTO.getIsInLawsuit() != null ? updateDTO.getIsInLawsuit() : false);
         customer.setCreditLimit(updateDTO.getCreditLimit());
 
-        return convertToDTO(customerRepository.save(customer));
+        Customer savedCustomer = customerRepository.save(customer);
+        globalSearchIndex.customerSaved(savedCustomer);
+        activityLog.record(ActivityLog.ActivityType.CUSTOMER, savedCustomer.getId(), ActivityLog.Status.INFO,
+                "Müşteri Güncellendi", savedCustomer.getName() + " müşteri bilgileri güncellendi");
+        return convertToDTO(savedCustomer);
     }
 
     @Override
@@ -97,6 +111,9 @@ public class CustomerServiceImpl implements CustomerService {
             throw new ResourceNotFoundException("Customer not found");
         }
         customerRepository.deleteById(id);
+        globalSearchIndex.removed(GlobalSearchIndex.EntityType.CUSTOMER, id);
+        activityLog.record(ActivityLog.ActivityType.CUSTOMER, id, ActivityLog.Status.WARNING,
+                "Müşteri Silindi", "#" + id + " numaralı müşteri silindi");
     }
 
     @Override
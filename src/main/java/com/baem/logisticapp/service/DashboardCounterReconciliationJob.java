@@ -0,0 +1,34 @@
+package com.baem.logisticapp.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dashboard sayaçlarını açılışta ve periyodik olarak kaynak tablolarla karşılaştırıp düzeltir
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounterReconciliationJob {
+
+    private final DashboardCounterService dashboardCounterService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${statistics.counters.reconcile-interval-ms:900000}",
+            initialDelayString = "${statistics.counters.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        try {
+            dashboardCounterService.reconcile();
+        } catch (Exception e) {
+            log.error("Dashboard counter reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+}
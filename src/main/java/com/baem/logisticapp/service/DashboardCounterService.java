@@ -0,0 +1,344 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.TripStatus;
+import com.baem.logisticapp.repository.DashboardCounterRepository;
+import com.baem.logisticapp.repository.OrderDashboardCounts;
+import com.baem.logisticapp.repository.OrderRepository;
+import com.baem.logisticapp.repository.OrderState;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Dashboard istatistikleri için artımlı olarak güncellenen sayaç deposu.
+ * Sipariş değişiklikleri aynı transaction içinde sayaçlara yansıtılır,
+ * dashboard okumaları orders tablosunu taramadan sayaçlardan yapılır.
+ * Her sayaç {@link #STRIPES} şeride bölünür: yazan thread kendi şeridini artırır, okuma şeritleri toplar;
+ * böylece eşzamanlı sipariş yazımları aynı sayaç satırının kilidinde sıraya girmez.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardCounterService {
+
+    static final String TOTAL = "orders.total";
+    static final String VALUE_TOTAL = "orders.value.total";
+    static final String APPROVED_WITHOUT_OPERATOR = "orders.approvedWithoutOperator";
+    static final String STATUS_PREFIX = "orders.status.";
+    static final String CREATED_PREFIX = "orders.created.";
+    static final String CREATED_VALUE_PREFIX = "orders.createdValue.";
+    static final String UPDATED_PREFIX = "orders.updated.";
+    static final String COMPLETED_PREFIX = "orders.completed.";
+
+    static final int STRIPES = 16;
+
+    private final DashboardCounterRepository dashboardCounterRepository;
+    private final OrderRepository orderRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Günlük sayaçların saklanacağı gün sayısı (bu ay + geçen ay için yeterli olmalı)
+    @Value("${statistics.counters.retention-days:70}")
+    private int retentionDays;
+
+    /**
+     * Bir siparişin değişiklik öncesi ve sonrası halini karşılaştırıp sayaç farklarını uygular.
+     * Oluşturmada before, silmede after null verilir. Çağıran transaction'a katılır.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderChange(OrderSnapshot before, OrderSnapshot after) {
+        Map<CounterKey, BigDecimal> deltas = new TreeMap<>(Comparator.comparing(CounterKey::key));
+        contributions(after).forEach((key, value) -> deltas.merge(key, value, BigDecimal::add));
+        contributions(before).forEach((key, value) -> deltas.merge(key, value.negate(), BigDecimal::add));
+        applyDeltas(deltas);
+    }
+
+    /**
+     * Toplu oluşturulan siparişlerin katkılarını toplayıp her sayacı tek sorguyla artırır.
+     * Çağıran transaction'a katılır.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrdersCreated(Collection<OrderSnapshot> created) {
+        Map<CounterKey, BigDecimal> deltas = new TreeMap<>(Comparator.comparing(CounterKey::key));
+        for (OrderSnapshot snapshot : created) {
+            contributions(snapshot).forEach((key, value) -> deltas.merge(key, value, BigDecimal::add));
+        }
+        applyDeltas(deltas);
+    }
+
+    private void applyDeltas(Map<CounterKey, BigDecimal> deltas) {
+        // Aynı thread hep aynı şeridi kullanır; şerit içinde anahtar sırasıyla güncelleyerek
+        // eşzamanlı transaction'lar arasında deadlock'u önle
+        short stripe = (short) (Thread.currentThread().getId() % STRIPES);
+        deltas.forEach((key, delta) -> {
+            if (delta.signum() != 0) {
+                dashboardCounterRepository.increment(key.key(), stripe, key.bucketDate(), delta);
+            }
+        });
+    }
+
+    /**
+     * Dashboard sayaçlarını şerit toplamlarıyla tek sorguda okur
+     */
+    @Transactional(readOnly = true)
+    public OrderDashboardCounts readOrderCounts() {
+        LocalDate today = LocalDate.now();
+        LocalDate startOfThisMonth = today.withDayOfMonth(1);
+        LocalDate startOfLastMonth = startOfThisMonth.minusMonths(1);
+
+        List<String> keys = new ArrayList<>(List.of(TOTAL, VALUE_TOTAL, APPROVED_WITHOUT_OPERATOR,
+                UPDATED_PREFIX + today, COMPLETED_PREFIX + today));
+        for (TripStatus status : TripStatus.values()) {
+            keys.add(STATUS_PREFIX + status.name());
+        }
+        for (LocalDate day = startOfLastMonth; !day.isAfter(today); day = day.plusDays(1)) {
+            keys.add(CREATED_PREFIX + day);
+            keys.add(CREATED_VALUE_PREFIX + day);
+        }
+
+        Map<String, BigDecimal> values = toValueMap(dashboardCounterRepository.sumByCounterKeys(keys));
+        Function<String, Long> count = key -> values.getOrDefault(key, BigDecimal.ZERO).longValue();
+
+        long createdThisMonth = 0;
+        long createdLastMonth = 0;
+        BigDecimal monthlyValue = BigDecimal.ZERO;
+        for (LocalDate day = startOfLastMonth; !day.isAfter(today); day = day.plusDays(1)) {
+            if (day.isBefore(startOfThisMonth)) {
+                createdLastMonth += count.apply(CREATED_PREFIX + day);
+            } else {
+                createdThisMonth += count.apply(CREATED_PREFIX + day);
+                monthlyValue = monthlyValue.add(values.getOrDefault(CREATED_VALUE_PREFIX + day, BigDecimal.ZERO));
+            }
+        }
+
+        return CounterOrderDashboardCounts.builder()
+                .total(count.apply(TOTAL))
+                .pending(count.apply(STATUS_PREFIX + TripStatus.TEKLIF_ASAMASI.name()))
+                .approved(count.apply(STATUS_PREFIX + TripStatus.ONAYLANAN_TEKLIF.name()))
+                .rejected(count.apply(STATUS_PREFIX + TripStatus.REDDEDILDI.name()))
+                .inTransit(count.apply(STATUS_PREFIX + TripStatus.YOLA_CIKTI.name()))
+                .completed(count.apply(STATUS_PREFIX + TripStatus.TESLIM_EDILDI.name()))
+                .approvedWithoutOperator(count.apply(APPROVED_WITHOUT_OPERATOR))
+                .createdThisMonth(createdThisMonth)
+                .createdLastMonth(createdLastMonth)
+                .completedToday(count.apply(COMPLETED_PREFIX + today))
+                .updatedToday(count.apply(UPDATED_PREFIX + today))
+                // Gecikme bugünün tarihine bağlı olduğu için sayaçla tutulamaz
+                .delayed(orderRepository.countDelayed())
+                .totalValue(values.getOrDefault(VALUE_TOTAL, BigDecimal.ZERO))
+                .monthlyValue(monthlyValue)
+                .build();
+    }
+
+    /**
+     * Sayaçları kaynak tablolardan yeniden hesaplar, sapma varsa fark kadar düzeltme ekler.
+     * Sipariş ve sayaç toplamları kilit alınmadan aynı snapshot'tan okunur; düzeltmeler ayrı,
+     * kısa bir transaction'da artış olarak uygulandığı için arada gelen sipariş yazımları kaybolmaz.
+     *
+     * @return düzeltilen sayaç sayısı
+     */
+    public int reconcile() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        TransactionTemplate writeTransaction = new TransactionTemplate(transactionManager);
+        Integer pruned = writeTransaction.execute(status -> dashboardCounterRepository.deleteByBucketDateBefore(cutoff));
+
+        TransactionTemplate snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setReadOnly(true);
+        Map<CounterKey, BigDecimal> corrections = snapshotTransaction.execute(status -> computeCorrections(cutoff));
+
+        writeTransaction.executeWithoutResult(status -> applyDeltas(corrections));
+        log.info("Dashboard counters reconciled: {} repaired, {} expired buckets pruned", corrections.size(), pruned);
+        return corrections.size();
+    }
+
+    private Map<CounterKey, BigDecimal> computeCorrections(LocalDate cutoff) {
+        Map<String, BigDecimal> stored = toValueMap(dashboardCounterRepository.sumAll());
+        Map<CounterKey, BigDecimal> corrections = new TreeMap<>(Comparator.comparing(CounterKey::key));
+        computeExpected(cutoff).forEach((key, value) -> {
+            // Eksik sayaç sıfır olarak okunur; sıfır değilse sapma sayılır
+            BigDecimal current = Objects.requireNonNullElse(stored.remove(key.key()), BigDecimal.ZERO);
+            if (current.compareTo(value) != 0) {
+                log.warn("Dashboard counter drift on {}: stored={}, actual={}", key.key(), current, value);
+                corrections.put(key, value.subtract(current));
+            }
+        });
+
+        // Kaynakta karşılığı olmayan sayaçlar sıfırlanır
+        stored.forEach((key, value) -> {
+            if (value.signum() != 0) {
+                log.warn("Dashboard counter drift on {}: stored={}, actual=0", key, value);
+                corrections.put(new CounterKey(key, bucketDateOf(key)), value.negate());
+            }
+        });
+        return corrections;
+    }
+
+    private Map<CounterKey, BigDecimal> computeExpected(LocalDate cutoff) {
+        Map<CounterKey, BigDecimal> expected = new HashMap<>();
+        expected.put(new CounterKey(TOTAL, null), BigDecimal.ZERO);
+        expected.put(new CounterKey(VALUE_TOTAL, null), BigDecimal.ZERO);
+        for (TripStatus status : TripStatus.values()) {
+            expected.put(new CounterKey(STATUS_PREFIX + status.name(), null), BigDecimal.ZERO);
+        }
+
+        for (Object[] row : orderRepository.countAndSumQuotePriceByTripStatus()) {
+            BigDecimal count = toBigDecimal(row[1]);
+            expected.merge(new CounterKey(TOTAL, null), count, BigDecimal::add);
+            expected.merge(new CounterKey(VALUE_TOTAL, null), toBigDecimal(row[2]), BigDecimal::add);
+            if (row[0] != null) {
+                expected.put(new CounterKey(STATUS_PREFIX + ((TripStatus) row[0]).name(), null), count);
+            }
+        }
+        expected.put(new CounterKey(APPROVED_WITHOUT_OPERATOR, null), BigDecimal.valueOf(
+                orderRepository.countByTripStatusAndOperationPersonIsNull(TripStatus.ONAYLANAN_TEKLIF)));
+
+        OffsetDateTime from = cutoff.atStartOfDay(ZoneId.systemDefault()).toOffsetDateTime();
+        for (Object[] row : orderRepository.countAndSumQuotePriceByCreatedDay(from)) {
+            LocalDate day = (LocalDate) row[0];
+            expected.put(new CounterKey(CREATED_PREFIX + day, day), toBigDecimal(row[1]));
+            expected.put(new CounterKey(CREATED_VALUE_PREFIX + day, day), toBigDecimal(row[2]));
+        }
+        for (Object[] row : orderRepository.countUpdatedAndCompletedByUpdatedDay(from)) {
+            LocalDate day = (LocalDate) row[0];
+            expected.put(new CounterKey(UPDATED_PREFIX + day, day), toBigDecimal(row[1]));
+            expected.put(new CounterKey(COMPLETED_PREFIX + day, day), toBigDecimal(row[2]));
+        }
+        return expected;
+    }
+
+    // Bir sipariş durumunun sayaçlara katkısı
+    private static Map<CounterKey, BigDecimal> contributions(OrderSnapshot snapshot) {
+        Map<CounterKey, BigDecimal> result = new HashMap<>();
+        if (snapshot == null) {
+            return result;
+        }
+
+        BigDecimal price = snapshot.quotePrice() != null ? snapshot.quotePrice() : BigDecimal.ZERO;
+        result.put(new CounterKey(TOTAL, null), BigDecimal.ONE);
+        result.put(new CounterKey(VALUE_TOTAL, null), price);
+
+        if (snapshot.tripStatus() != null) {
+            result.put(new CounterKey(STATUS_PREFIX + snapshot.tripStatus().name(), null), BigDecimal.ONE);
+        }
+        if (snapshot.tripStatus() == TripStatus.ONAYLANAN_TEKLIF && !snapshot.operationAssigned()) {
+            result.put(new CounterKey(APPROVED_WITHOUT_OPERATOR, null), BigDecimal.ONE);
+        }
+
+        LocalDate createdDay = snapshot.createdDay();
+        if (createdDay != null) {
+            result.put(new CounterKey(CREATED_PREFIX + createdDay, createdDay), BigDecimal.ONE);
+            result.put(new CounterKey(CREATED_VALUE_PREFIX + createdDay, createdDay), price);
+        }
+
+        LocalDate updatedDay = snapshot.updatedDay();
+        if (updatedDay != null) {
+            result.put(new CounterKey(UPDATED_PREFIX + updatedDay, updatedDay), BigDecimal.ONE);
+            if (snapshot.tripStatus() == TripStatus.TESLIM_EDILDI) {
+                result.put(new CounterKey(COMPLETED_PREFIX + updatedDay, updatedDay), BigDecimal.ONE);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, BigDecimal> toValueMap(List<Object[]> rows) {
+        Map<String, BigDecimal> values = new HashMap<>();
+        for (Object[] row : rows) {
+            values.put((String) row[0], toBigDecimal(row[1]));
+        }
+        return values;
+    }
+
+    // Günlük sayaç anahtarları gün ile biter (örn: orders.created.2026-10-18)
+    private static LocalDate bucketDateOf(String key) {
+        for (String prefix : List.of(CREATED_PREFIX, CREATED_VALUE_PREFIX, UPDATED_PREFIX, COMPLETED_PREFIX)) {
+            if (key.startsWith(prefix)) {
+                return LocalDate.parse(key.substring(prefix.length()));
+            }
+        }
+        return null;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static LocalDate toLocalDay(OffsetDateTime dateTime) {
+        return dateTime != null ? dateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDate() : null;
+    }
+
+    /**
+     * Sayaçları etkileyen sipariş alanlarının anlık görüntüsü
+     */
+    public record OrderSnapshot(TripStatus tripStatus, boolean operationAssigned, BigDecimal quotePrice,
+            LocalDate createdDay, LocalDate updatedDay) {
+
+        public static OrderSnapshot of(Order order) {
+            return new OrderSnapshot(
+                    order.getTripStatus(),
+                    order.getOperationPerson() != null,
+                    order.getQuotePrice(),
+                    toLocalDay(order.getCreatedAt()),
+                    toLocalDay(order.getUpdatedAt()));
+        }
+
+        public static OrderSnapshot of(OrderState state) {
+            return new OrderSnapshot(
+                    state.getTripStatus(),
+                    state.getOperationPersonId() != null,
+                    state.getQuotePrice(),
+                    toLocalDay(state.getCreatedAt()),
+                    toLocalDay(state.getUpdatedAt()));
+        }
+
+        /**
+         * Koşullu UPDATE sonrası durumu: entity yeniden okunmadan değişen alanlarla türetilir
+         */
+        public OrderSnapshot updated(TripStatus newTripStatus, boolean newOperationAssigned, OffsetDateTime updatedAt) {
+            return new OrderSnapshot(newTripStatus, newOperationAssigned, quotePrice, createdDay, toLocalDay(updatedAt));
+        }
+    }
+
+    private record CounterKey(String key, LocalDate bucketDate) {
+    }
+
+    @Getter
+    @Builder
+    private static class CounterOrderDashboardCounts implements OrderDashboardCounts {
+        private final Long total;
+        private final Long pending;
+        private final Long approved;
+        private final Long rejected;
+        private final Long inTransit;
+        private final Long completed;
+        private final Long approvedWithoutOperator;
+        private final Long createdThisMonth;
+        private final Long createdLastMonth;
+        private final Long completedToday;
+        private final Long updatedToday;
+        private final Long delayed;
+        private final BigDecimal totalValue;
+        private final BigDecimal monthlyValue;
+    }
+}
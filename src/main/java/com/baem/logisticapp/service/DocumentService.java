@@ -1,18 +1,17 @@
 package com.baem.logisticapp.service;
 
 import com.baem.logisticapp.entity.Order;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
-import org.apache.poi.xwpf.usermodel.XWPFRun;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -20,6 +19,22 @@ import java.util.Map;
 public class DocumentService {
 
     private static final String TEMPLATE_PATH = "templates/driver_information_form.docx";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    // Uygulama açılışında bir kez derlenir
+    private volatile CompiledDocxTemplate driverInformationTemplate;
+
+    @PostConstruct
+    public void compileTemplates() {
+        try {
+            driverInformationTemplate = compileTemplate(TEMPLATE_PATH);
+            log.info("Template derlendi: {}, placeholder'lar: {}", TEMPLATE_PATH,
+                    driverInformationTemplate.getPlaceholderKeys());
+        } catch (Exception e) {
+            // Açılışı engelleme; belge istendiğinde hata dönülür
+            log.error("Template derlenemedi: {}", TEMPLATE_PATH, e);
+        }
+    }
 
     /**
      * Order bilgilerini kullanarak Word template'ini doldurur
@@ -28,39 +43,25 @@ public class DocumentService {
      * @return Doldurulmuş Word dosyasının byte array'i
      */
     public byte[] generateDriverInformationDocument(Order order) {
-        try {
-            log.info("Starting document generation for order: {}", order.getId());
-
-            // Template dosyasını yükle
-            Resource templateResource = new ClassPathResource(TEMPLATE_PATH);
-            log.info("Template path: {}", TEMPLATE_PATH);
-
-            if (!templateResource.exists()) {
-                log.error("Template dosyası bulunamadı: {}", TEMPLATE_PATH);
-                throw new RuntimeException("Template dosyası bulunamadı: " + TEMPLATE_PATH);
-            }
-
-            log.info("Template dosyası bulundu, boyut: {} bytes", templateResource.contentLength());
-
-            // Word document'i aç
-            try (InputStream templateStream = templateResource.getInputStream();
-                    XWPFDocument document = new XWPFDocument(templateStream)) {
-
-                log.info("Word document açıldı, paragraf sayısı: {}", document.getParagraphs().size());
-
-                // Placeholder'ları değiştir
-                replacePlaceholders(document, order);
-                log.info("Placeholder'lar değiştirildi");
-
-                // Byte array'e çevir
-                try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                    document.write(outputStream);
-                    byte[] result = outputStream.toByteArray();
-                    log.info("Document başarıyla oluşturuldu, boyut: {} bytes", result.length);
-                    return result;
-                }
-            }
+        log.info("Starting document generation for order: {}", order.getId());
+        return generateDriverInformationDocument(buildDriverInformationReplacements(order));
+    }
 
+    /**
+     * Sürücü bilgi formunu verilen placeholder değerleriyle doldurur
+     *
+     * @param replacements Placeholder anahtarı (ör. "SURUCU") - değer eşlemesi
+     * @return Doldurulmuş Word dosyasının byte array'i
+     */
+    public byte[] generateDriverInformationDocument(Map<String, String> replacements) {
+        CompiledDocxTemplate template = driverInformationTemplate;
+        if (template == null) {
+            throw new RuntimeException("Template dosyası yüklenemedi: " + TEMPLATE_PATH);
+        }
+        try {
+            byte[] result = template.render(replacements);
+            log.debug("Document başarıyla oluşturuldu, boyut: {} bytes", result.length);
+            return result;
         } catch (Exception e) {
             log.error("Word document oluşturulurken hata oluştu: {}", e.getMessage(), e);
             throw new RuntimeException("Word document oluşturulamadı: " + e.getMessage(), e);
@@ -68,43 +69,28 @@ public class DocumentService {
     }
 
     /**
-     * Document'teki placeholder'ları gerçek değerlerle değiştirir
+     * Sipariş bilgilerinden template placeholder değerlerini oluşturur
      */
-    private void replacePlaceholders(XWPFDocument document, Order order) {
-        // Tüm paragrafları işle
-        List<XWPFParagraph> paragraphs = document.getParagraphs();
-        for (XWPFParagraph paragraph : paragraphs) {
-            replacePlaceholdersInParagraph(paragraph, order);
-        }
-
-        // Tablolardaki paragrafları da işle
-        document.getTables().forEach(table -> table.getRows().forEach(row -> row.getTableCells().forEach(
-                cell -> cell.getParagraphs().forEach(paragraph -> replacePlaceholdersInParagraph(paragraph, order)))));
+    public Map<String, String> buildDriverInformationReplacements(Order order) {
+        Map<String, String> replacements = new HashMap<>();
+        replacements.put("SURUCU", getDriverName(order));
+        replacements.put("PLAKA", order.getAssignedTruck() != null ? nullToEmpty(order.getAssignedTruck().getPlateNo()) : "");
+        replacements.put("GUZERGAH", nullToEmpty(order.getDepartureCity()) + " - " + nullToEmpty(order.getArrivalCity()));
+        replacements.put("KALKIS_YERI", nullToEmpty(order.getDepartureCity()));
+        replacements.put("KALKIS_TARIHI", order.getLoadingDate() != null ? order.getLoadingDate().format(DATE_FORMAT) : "");
+        replacements.put("TARIH", LocalDate.now().format(DATE_FORMAT));
+        replacements.put("BOŞALTMA ADRESI", nullToEmpty(order.getArrivalAddress()));
+        replacements.put("MAL_DETAYI", nullToEmpty(order.getCargoType()));
+        return replacements;
     }
 
-    /**
-     * Bir paragraftaki placeholder'ları değiştirir
-     */
-    private void replacePlaceholdersInParagraph(XWPFParagraph paragraph, Order order) {
-        String paragraphText = paragraph.getText();
-
-        if (paragraphText.contains("{{SURUCU}}")) {
-            // Sürücü ismini al
-            String driverName = getDriverName(order);
-
-            // Placeholder'ı değiştir
-            String newText = paragraphText.replace("{{SURUCU}}", driverName);
-
-            // Mevcut runs'ları kaldır ve yeni metni ekle
-            // getRuns() unmodifiable olduğu için önce listeye çevir
-            int runCount = paragraph.getRuns().size();
-            for (int i = runCount - 1; i >= 0; i--) {
-                paragraph.removeRun(i);
-            }
-
-            // Yeni run oluştur ve metni ekle
-            XWPFRun run = paragraph.createRun();
-            run.setText(newText);
+    private CompiledDocxTemplate compileTemplate(String path) throws IOException {
+        Resource templateResource = new ClassPathResource(path);
+        if (!templateResource.exists()) {
+            throw new IOException("Template dosyası bulunamadı: " + path);
+        }
+        try (InputStream templateStream = templateResource.getInputStream()) {
+            return CompiledDocxTemplate.compile(templateStream);
         }
     }
 
@@ -118,30 +104,7 @@ public class DocumentService {
         return "Sürücü Atanmamış";
     }
 
-    /**
-     * Gelecekte kullanım için: Birden fazla placeholder'ı aynı anda değiştirmek
-     */
-    private void replaceMultiplePlaceholders(XWPFDocument document, Map<String, String> replacements) {
-        List<XWPFParagraph> paragraphs = document.getParagraphs();
-        for (XWPFParagraph paragraph : paragraphs) {
-            String paragraphText = paragraph.getText();
-            String newText = paragraphText;
-
-            for (Map.Entry<String, String> entry : replacements.entrySet()) {
-                newText = newText.replace(entry.getKey(), entry.getValue());
-            }
-
-            if (!newText.equals(paragraphText)) {
-                // Mevcut runs'ları kaldır ve yeni metni ekle
-                int runCount = paragraph.getRuns().size();
-                for (int i = runCount - 1; i >= 0; i--) {
-                    paragraph.removeRun(i);
-                }
-
-                // Yeni run oluştur ve metni ekle
-                XWPFRun run = paragraph.createRun();
-                run.setText(newText);
-            }
-        }
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
     }
 }
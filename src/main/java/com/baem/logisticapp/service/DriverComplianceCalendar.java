@@ -0,0 +1,225 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.entity.Driver;
+import com.baem.logisticapp.repository.DriverRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aktif şoförlerin pasaport, vize ve ikamet izni bitiş tarihlerinden oluşan bellek içi takvim.
+ * Periyodik taramada en uzun ufka kadar dolan belgeler tek sorguda okunur; şoför kaydedildikçe
+ * ilgili kayıtlar commit sonrası güncellenir. Dashboard bildirimleri ve takvim sorguları
+ * şoför tablosuna gitmeden bu takvimden okunur.
+ */
+@Component
+@Slf4j
+public class DriverComplianceCalendar {
+
+    public enum DocumentType {
+        PASSPORT("Pasaport", "pasaportunun"),
+        VISA("Vize", "vizesinin"),
+        RESIDENCE_PERMIT("İkamet İzni", "ikamet izninin");
+
+        private final String displayName;
+        // Bildirim metinlerinde kullanılan tamlayan hali ("... adlı şoförün pasaportunun süresi")
+        private final String genitive;
+
+        DocumentType(String displayName, String genitive) {
+            this.displayName = displayName;
+            this.genitive = genitive;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public String getGenitive() {
+            return genitive;
+        }
+    }
+
+    /**
+     * @param detectedAt belgenin takvime ilk girdiği an (sonraki taramalarda korunur)
+     */
+    public record ExpiryEntry(long driverId, String driverName, DocumentType document, LocalDate expiryDate,
+            OffsetDateTime detectedAt) {
+
+        public long daysLeft(LocalDate today) {
+            return ChronoUnit.DAYS.between(today, expiryDate);
+        }
+    }
+
+    private static final Comparator<ExpiryEntry> BY_EXPIRY = Comparator.comparing(ExpiryEntry::expiryDate)
+            .thenComparingLong(ExpiryEntry::driverId)
+            .thenComparing(ExpiryEntry::document);
+
+    private final DriverRepository driverRepository;
+    // Artan sırada, gün cinsinden; ilk ufuk "high", ikincisi "medium", sonrakiler "low" öncelik
+    private final int[] horizonDays;
+
+    // Bitiş tarihine göre sıralı, değiştirilemez liste; her değişiklikte tamamen değiştirilir
+    private volatile List<ExpiryEntry> entries = List.of();
+    private volatile boolean scanned;
+
+    public DriverComplianceCalendar(DriverRepository driverRepository,
+                                    @Value("${drivers.compliance.horizon-days:7,30,60}") int[] horizonDays) {
+        if (horizonDays.length == 0 || Arrays.stream(horizonDays).anyMatch(days -> days < 0)) {
+            throw new IllegalArgumentException("drivers.compliance.horizon-days must list non-negative day counts");
+        }
+        this.driverRepository = driverRepository;
+        this.horizonDays = Arrays.stream(horizonDays).sorted().distinct().toArray();
+    }
+
+    /**
+     * Takvimi veritabanından baştan oluşturur. Tarihler her gün kaydığından periyodik çalışır.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${drivers.compliance.scan-interval-ms:3600000}",
+            fixedDelayString = "${drivers.compliance.scan-interval-ms:3600000}")
+    public synchronized void scan() {
+        long start = System.nanoTime();
+        LocalDate until = LocalDate.now().plusDays(maxHorizonDays());
+        Map<String, OffsetDateTime> detected = new HashMap<>();
+        for (ExpiryEntry entry : entries) {
+            detected.put(key(entry.driverId(), entry.document(), entry.expiryDate()), entry.detectedAt());
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        List<ExpiryEntry> scannedEntries = new ArrayList<>();
+        for (Object[] row : driverRepository.findDocumentExpiryRows(until)) {
+            addEntries(scannedEntries, (Long) row[0], row[1] + " " + row[2], until, now, detected,
+                    (LocalDate) row[3], (LocalDate) row[4], (LocalDate) row[5]);
+        }
+        scannedEntries.sort(BY_EXPIRY);
+        entries = List.copyOf(scannedEntries);
+        scanned = true;
+        log.info("Driver compliance calendar scanned until {}: {} expiring documents in {} ms", until,
+                scannedEntries.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Kaydedilen şoförün belgeleri commit sonrası takvimde güncellenir; pasif şoför takvimden çıkar
+     */
+    public void driverSaved(Driver driver) {
+        long driverId = driver.getId();
+        String driverName = driver.getFullName();
+        boolean active = Boolean.TRUE.equals(driver.getIsActive());
+        LocalDate passportExpiry = driver.getPassportExpiry();
+        LocalDate visaExpiry = driver.getVisaExpiry();
+        LocalDate residencePermitExpiry = driver.getResidencePermitExpiry();
+        afterCommit(() -> replaceDriver(driverId, active ? driverName : null,
+                passportExpiry, visaExpiry, residencePermitExpiry));
+    }
+
+    public void driverRemoved(Long driverId) {
+        afterCommit(() -> replaceDriver(driverId, null, null, null, null));
+    }
+
+    /**
+     * Bugünden itibaren withinDays gün içinde süresi dolacak ve süresi geçmiş belgeler, bitiş tarihine göre
+     *
+     * @param withinDays null ise en uzun ufuk
+     */
+    public List<ExpiryEntry> findExpiring(Integer withinDays) {
+        ensureScanned();
+        int days = withinDays != null ? withinDays : maxHorizonDays();
+        if (days < 0 || days > maxHorizonDays()) {
+            throw new IllegalArgumentException("Within days must be between 0 and " + maxHorizonDays());
+        }
+        LocalDate until = LocalDate.now().plusDays(days);
+        List<ExpiryEntry> current = entries;
+        List<ExpiryEntry> expiring = new ArrayList<>();
+        for (ExpiryEntry entry : current) {
+            if (entry.expiryDate().isAfter(until)) {
+                break;
+            }
+            expiring.add(entry);
+        }
+        return expiring;
+    }
+
+    /**
+     * Süresi geçmiş ya da ilk ufuk içinde "high", ikinci ufuk içinde "medium", sonrası "low"
+     */
+    public String priority(ExpiryEntry entry, LocalDate today) {
+        long daysLeft = entry.daysLeft(today);
+        if (daysLeft <= horizonDays[0]) {
+            return "high";
+        }
+        return horizonDays.length > 1 && daysLeft <= horizonDays[1] ? "medium" : "low";
+    }
+
+    public int maxHorizonDays() {
+        return horizonDays[horizonDays.length - 1];
+    }
+
+    private synchronized void replaceDriver(long driverId, String driverName, LocalDate passportExpiry,
+            LocalDate visaExpiry, LocalDate residencePermitExpiry) {
+        Map<String, OffsetDateTime> detected = new HashMap<>();
+        List<ExpiryEntry> updated = new ArrayList<>(entries.size() + DocumentType.values().length);
+        for (ExpiryEntry entry : entries) {
+            if (entry.driverId() == driverId) {
+                detected.put(key(driverId, entry.document(), entry.expiryDate()), entry.detectedAt());
+            } else {
+                updated.add(entry);
+            }
+        }
+        if (driverName != null) {
+            addEntries(updated, driverId, driverName, LocalDate.now().plusDays(maxHorizonDays()),
+                    OffsetDateTime.now(), detected, passportExpiry, visaExpiry, residencePermitExpiry);
+        }
+        updated.sort(BY_EXPIRY);
+        entries = List.copyOf(updated);
+    }
+
+    private static void addEntries(List<ExpiryEntry> target, long driverId, String driverName, LocalDate until,
+            OffsetDateTime now, Map<String, OffsetDateTime> detected, LocalDate... expiries) {
+        DocumentType[] documents = DocumentType.values();
+        for (int i = 0; i < documents.length; i++) {
+            LocalDate expiry = expiries[i];
+            if (expiry != null && !expiry.isAfter(until)) {
+                target.add(new ExpiryEntry(driverId, driverName, documents[i], expiry,
+                        detected.getOrDefault(key(driverId, documents[i], expiry), now)));
+            }
+        }
+    }
+
+    private static String key(long driverId, DocumentType document, LocalDate expiry) {
+        return driverId + ":" + document + ":" + expiry;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void ensureScanned() {
+        if (!scanned) {
+            scan();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.dto.DriverDocumentExportRequestDTO;
+import com.baem.logisticapp.dto.OrderSearchCriteria;
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.TripStatus;
+import com.baem.logisticapp.exception.ResourceNotFoundException;
+import com.baem.logisticapp.repository.OrderRepository;
+import com.baem.logisticapp.repository.OrderSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Sürücü bilgi formlarını toplu olarak tek bir ZIP halinde dışa aktarır.
+ * Siparişler parça parça okunur, belgeler sınırlı bir havuzda paralel üretilir
+ * ve sırayla doğrudan çıkış akışına yazılır; bellekte aynı anda yalnızca
+ * birkaç belge bulunur. Her parça kendi kısa transaction'ında okunur; yanıt
+ * akarken veritabanı bağlantısı tutulmaz.
+ */
+@Service
+@Slf4j
+public class DriverDocumentExportService {
+
+    private static final int CHUNK_SIZE = 50;
+
+    private final OrderRepository orderRepository;
+    private final DocumentService documentService;
+    private final EntityManager entityManager;
+    private final ExecutorService documentRenderExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxInFlight;
+    private final int maxOrders;
+
+    public DriverDocumentExportService(OrderRepository orderRepository,
+                                       DocumentService documentService,
+                                       EntityManager entityManager,
+                                       @Qualifier("documentRenderExecutor") ExecutorService documentRenderExecutor,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${documents.export.threads:4}") int threads,
+                                       @Value("${documents.export.max-orders:1000}") int maxOrders) {
+        this.orderRepository = orderRepository;
+        this.documentService = documentService;
+        this.entityManager = entityManager;
+        this.documentRenderExecutor = documentRenderExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxInFlight = threads * 2;
+        this.maxOrders = maxOrders;
+    }
+
+    /**
+     * Dışa aktarılacak sipariş id'lerini belirler. Yanıt yazılmaya başlamadan
+     * çağrılır; böylece hatalar normal hata yanıtı olarak dönebilir.
+     * En az bir sipariş id'si veya filtre gerekir, sonuç en fazla max-orders sipariş olabilir.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> resolveOrderIds(DriverDocumentExportRequestDTO request) {
+        List<Long> orderIds = findOrderIds(request);
+        if (orderIds.size() > maxOrders) {
+            throw new IllegalArgumentException("Too many orders to export: " + orderIds.size()
+                    + " (max " + maxOrders + "), narrow the filters");
+        }
+        return orderIds;
+    }
+
+    private List<Long> findOrderIds(DriverDocumentExportRequestDTO request) {
+        if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+            Set<Long> requested = new LinkedHashSet<>(request.getOrderIds());
+            requested.remove(null);
+            Set<Long> existing = new HashSet<>(orderRepository.findExistingIds(requested));
+            List<Long> missing = requested.stream().filter(id -> !existing.contains(id)).toList();
+            if (!missing.isEmpty()) {
+                throw new ResourceNotFoundException("Orders not found: " + missing);
+            }
+            return new ArrayList<>(requested);
+        }
+
+        TripStatus tripStatus = null;
+        if (request.getTripStatus() != null && !request.getTripStatus().trim().isEmpty()) {
+            try {
+                tripStatus = TripStatus.valueOf(request.getTripStatus().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid trip status: " + request.getTripStatus());
+            }
+        }
+        if (request.getCustomerId() == null && request.getSalesPersonId() == null && request.getFleetPersonId() == null
+                && request.getOperationPersonId() == null && tripStatus == null) {
+            throw new IllegalArgumentException("At least one order id or filter is required for export");
+        }
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .customerId(request.getCustomerId())
+                .salesPersonId(request.getSalesPersonId())
+                .fleetPersonId(request.getFleetPersonId())
+                .operationPersonId(request.getOperationPersonId())
+                .tripStatus(tripStatus)
+                .build();
+
+        // Yalnızca id'ler okunur; siparişler yazım sırasında parça parça yüklenir
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> root = query.from(Order.class);
+        query.select(root.get("id"))
+                .where(OrderSpecifications.matching(criteria).toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Verilen siparişlerin belgelerini ZIP olarak çıkış akışına yazar (akışı kapatmaz)
+     */
+    public void writeZip(List<Long> orderIds, OutputStream outputStream) throws IOException {
+        Deque<Future<RenderedDocument>> inFlight = new ArrayDeque<>();
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        // .docx zaten sıkıştırılmış; tekrar deflate etmek CPU israfı
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        try {
+            for (int from = 0; from < orderIds.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = orderIds.subList(from, Math.min(from + CHUNK_SIZE, orderIds.size()));
+                // Bağlantı yalnızca parça okunurken tutulur; belge üretimi ve yazım transaction dışında
+                List<PreparedDocument> documents = readOnlyTransaction.execute(status -> prepareChunk(chunk));
+
+                for (PreparedDocument document : documents) {
+                    inFlight.add(documentRenderExecutor.submit(() -> new RenderedDocument(document.fileName(),
+                            documentService.generateDriverInformationDocument(document.replacements()))));
+                    if (inFlight.size() >= maxInFlight) {
+                        writeNext(zip, inFlight);
+                    }
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeNext(zip, inFlight);
+            }
+            zip.finish();
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        log.info("Driver information documents exported: {}", orderIds.size());
+    }
+
+    private List<PreparedDocument> prepareChunk(List<Long> chunk) {
+        Map<Long, Order> orders = orderRepository.findAllWithAssociationsByIdIn(chunk).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<PreparedDocument> documents = new ArrayList<>(chunk.size());
+        for (Long orderId : chunk) {
+            Order order = orders.get(orderId);
+            if (order == null) {
+                // Bu arada silinmiş sipariş
+                continue;
+            }
+            String fileName = "driver_information_"
+                    + (order.getOrderNumber() != null ? order.getOrderNumber() : order.getId()) + ".docx";
+            documents.add(new PreparedDocument(fileName, documentService.buildDriverInformationReplacements(order)));
+        }
+        entityManager.clear();
+        return documents;
+    }
+
+    private void writeNext(ZipOutputStream zip, Deque<Future<RenderedDocument>> inFlight) throws IOException {
+        RenderedDocument document;
+        try {
+            document = inFlight.removeFirst().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Document export interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Document generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        zip.putNextEntry(new ZipEntry(document.fileName()));
+        zip.write(document.content());
+        zip.closeEntry();
+    }
+
+    private record PreparedDocument(String fileName, Map<String, String> replacements) {
+    }
+
+    private record RenderedDocument(String fileName, byte[] content) {
+    }
+}
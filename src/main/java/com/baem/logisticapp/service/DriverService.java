@@ -1,6 +1,7 @@
 package com.baem.logisticapp.service;
 
 import com.baem.logisticapp.dto.DriverCreateDTO;
+import com.baem.logisticapp.dto.DriverDocumentExpiryDTO;
 import com.baem.logisticapp.dto.DriverResponseDTO;
 import com.baem.logisticapp.dto.DriverUpdateDTO;
 
@@ -14,5 +15,6 @@ public interface DriverService {
     DriverResponseDTO updateDriver(Long id, DriverUpdateDTO updateDTO);
     void deleteDriver(Long id);
     List<DriverResponseDTO> searchDrivers(String licenseNo, Boolean active);
+    List<DriverDocumentExpiryDTO> getDocumentExpiries(Integer withinDays);
 
 }
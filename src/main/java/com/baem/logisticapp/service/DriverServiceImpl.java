@@ -1,6 +1,7 @@
 package com.baem.logisticapp.service;
 
 import com.baem.logisticapp.dto.DriverCreateDTO;
+import com.baem.logisticapp.dto.DriverDocumentExpiryDTO;
 import com.baem.logisticapp.dto.DriverResponseDTO;
 import com.baem.logisticapp.dto.DriverUpdateDTO;
 import com.baem.logisticapp.entity.Driver;
@@ -10,6 +11,7 @@ import com.baem.logisticapp.validator.DriverValidator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,10 +21,20 @@ public class DriverServiceImpl implements DriverService {
 
     private final DriverRepository driverRepository;
     private final DriverValidator driverValidator;
+    private final GlobalSearchIndex globalSearchIndex;
+    private final ResourceAvailabilityIndex resourceAvailabilityIndex;
+    private final DriverComplianceCalendar driverComplianceCalendar;
+    private final ActivityLog activityLog;
     
-    public DriverServiceImpl(DriverRepository driverRepository, DriverValidator driverValidator) {
+    public DriverServiceImpl(DriverRepository driverRepository, DriverValidator driverValidator,
+                             GlobalSearchIndex globalSearchIndex, ResourceAvailabilityIndex resourceAvailabilityIndex,
+                             DriverComplianceCalendar driverComplianceCalendar, ActivityLog activityLog) {
         this.driverRepository = driverRepository;
         this.driverValidator = driverValidator;
+        this.globalSearchIndex = globalSearchIndex;
+        this.resourceAvailabilityIndex = resourceAvailabilityIndex;
+        this.driverComplianceCalendar = driverComplianceCalendar;
+        this.activityLog = activityLog;
     }
 
     @Override
@@ -43,7 +55,14 @@ public class DriverServiceImpl implements DriverService {
                 .isActive(true)
                 .build();
 
-        return convertToDTO(driverRepository.save(driver));
+        Driver savedDriver = driverRepository.save(driver);
+        globalSearchIndex.driverSaved(savedDriver);
+        resourceAvailabilityIndex.resourceSaved(ResourceAvailabilityIndex.ResourceType.DRIVER, savedDriver.getId(),
+                savedDriver.getFullName(), savedDriver.getIsActive());
+        driverComplianceCalendar.driverSaved(savedDriver);
+        activityLog.record(ActivityLog.ActivityType.DRIVER, savedDriver.getId(), ActivityLog.Status.SUCCESS,
+                "Yeni Şoför", savedDriver.getFullName() + " şoför olarak eklendi");
+        return convertToDTO(savedDriver);
     }
 
     @Override
@@ -81,7 +100,14 @@ public class DriverServiceImpl implements DriverService {
             driver.setIsActive(updateDTO.getIsActive());
         }
 
-        return convertToDTO(driverRepository.save(driver));
+        Driver savedDriver = driverRepository.save(driver);
+        globalSearchIndex.driverSaved(savedDriver);
+        resourceAvailabilityIndex.resourceSaved(ResourceAvailabilityIndex.ResourceType.DRIVER, savedDriver.getId(),
+                savedDriver.getFullName(), savedDriver.getIsActive());
+        driverComplianceCalendar.driverSaved(savedDriver);
+        activityLog.record(ActivityLog.ActivityType.DRIVER, savedDriver.getId(), ActivityLog.Status.INFO,
+                "Şoför Güncellendi", savedDriver.getFullName() + " adlı şoförün bilgileri güncellendi");
+        return convertToDTO(savedDriver);
     }
 
     @Override
@@ -90,6 +116,11 @@ public class DriverServiceImpl implements DriverService {
             throw new ResourceNotFoundException("Driver not found");
         }
         driverRepository.deleteById(id);
+        globalSearchIndex.removed(GlobalSearchIndex.EntityType.DRIVER, id);
+        resourceAvailabilityIndex.resourceRemoved(ResourceAvailabilityIndex.ResourceType.DRIVER, id);
+        driverComplianceCalendar.driverRemoved(id);
+        activityLog.record(ActivityLog.ActivityType.DRIVER, id, ActivityLog.Status.WARNING,
+                "Şoför Silindi", "#" + id + " numaralı şoför silindi");
     }
 
     @Override
@@ -99,6 +130,23 @@ public class DriverServiceImpl implements DriverService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<DriverDocumentExpiryDTO> getDocumentExpiries(Integer withinDays) {
+        LocalDate today = LocalDate.now();
+        return driverComplianceCalendar.findExpiring(withinDays).stream()
+                .map(entry -> DriverDocumentExpiryDTO.builder()
+                        .driverId(entry.driverId())
+                        .driverName(entry.driverName())
+                        .document(entry.document().name())
+                        .documentName(entry.document().getDisplayName())
+                        .expiryDate(entry.expiryDate())
+                        .daysLeft(entry.daysLeft(today))
+                        .priority(driverComplianceCalendar.priority(entry, today))
+                        .build())
+                .toList();
+    }
+
     private DriverResponseDTO convertToDTO(Driver driver) {
         return DriverResponseDTO.builder()
                 .id(driver.getId())
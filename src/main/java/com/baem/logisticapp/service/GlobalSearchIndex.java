@@ -0,0 +1,487 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.dto.SearchHitDTO;
+import com.baem.logisticapp.entity.Customer;
+import com.baem.logisticapp.entity.Driver;
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.Supplier;
+import com.baem.logisticapp.repository.CustomerRepository;
+import com.baem.logisticapp.repository.DriverRepository;
+import com.baem.logisticapp.repository.OrderRepository;
+import com.baem.logisticapp.repository.SupplierRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Müşteri, tedarikçi, sipariş ve sürücüler için bellekte tutulan trigram indeksi.
+ * Metinler {@link CountryCodeIndex} ile aynı şekilde normalize edilip pg_trgm gibi
+ * kelime bazında trigram'lara ayrılır. Arama, sorgu trigram'larını en çok paylaşan
+ * sınırlı sayıda adayı benzerliğe göre puanlar; tablo taraması yapılmaz.
+ * Açılışta ve periyodik olarak yeniden oluşturulur, aradaki değişiklikler commit
+ * sonrası artımlı olarak uygulanır.
+ */
+@Component
+@Slf4j
+public class GlobalSearchIndex {
+
+    public enum EntityType {
+        CUSTOMER, SUPPLIER, ORDER, DRIVER;
+
+        public static EntityType from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid search type: " + value);
+            }
+        }
+    }
+
+    // pg_trgm'in varsayılan similarity_threshold değeri
+    static final double MIN_SCORE = 0.3;
+    static final int MIN_QUERY_LENGTH = 2;
+    static final int MAX_QUERY_LENGTH = 100;
+    static final int MAX_LIMIT = 50;
+    // Sorgu başına puanlanan en fazla aday (gecikmeyi sınırlar)
+    private static final int MAX_CANDIDATES = 500;
+
+    private final CustomerRepository customerRepository;
+    private final SupplierRepository supplierRepository;
+    private final OrderRepository orderRepository;
+    private final DriverRepository driverRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // lock ile korunur
+    private IndexData data = new IndexData();
+    // Yeniden oluşturma sürerken gelen değişiklikler; yeni indekse de uygulanır (lock ile korunur)
+    private List<Consumer<IndexData>> pendingDuringRebuild;
+    private volatile boolean built;
+
+    public GlobalSearchIndex(CustomerRepository customerRepository,
+                             SupplierRepository supplierRepository,
+                             OrderRepository orderRepository,
+                             DriverRepository driverRepository) {
+        this.customerRepository = customerRepository;
+        this.supplierRepository = supplierRepository;
+        this.orderRepository = orderRepository;
+        this.driverRepository = driverRepository;
+    }
+
+    /**
+     * İndeksi veritabanından baştan oluşturur. Periyodik çalışma, commit sonrası
+     * güncellemelerin kaçırdığı değişiklikleri (ör. müşteri adı değişince siparişler) düzeltir.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${search.index.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${search.index.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        withWriteLock(() -> pendingDuringRebuild = new ArrayList<>());
+        IndexData rebuilt = new IndexData();
+        try {
+            for (Object[] row : customerRepository.findSearchIndexRows()) {
+                rebuilt.put(customerDocument((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+            }
+            for (Object[] row : supplierRepository.findSearchIndexRows()) {
+                rebuilt.put(supplierDocument((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+            }
+            for (Object[] row : orderRepository.findSearchIndexRows()) {
+                rebuilt.put(orderDocument((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+            }
+            for (Object[] row : driverRepository.findSearchIndexRows()) {
+                rebuilt.put(driverDocument((Long) row[0], (String) row[1], (String) row[2], (String) row[3]));
+            }
+        } catch (RuntimeException e) {
+            withWriteLock(() -> pendingDuringRebuild = null);
+            throw e;
+        }
+        withWriteLock(() -> {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            data = rebuilt;
+        });
+        built = true;
+        log.info("Search index rebuilt with {} documents in {} ms", rebuilt.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void customerSaved(Customer customer) {
+        Document document = customerDocument(customer.getId(), customer.getName(), customer.getTaxNo(),
+                customer.getContactName());
+        applyAfterCommit(index -> index.put(document));
+    }
+
+    public void supplierSaved(Supplier supplier) {
+        // Pasif (soft delete edilmiş) tedarikçiler aranmaz
+        if (!Boolean.TRUE.equals(supplier.getIsActive())) {
+            removed(EntityType.SUPPLIER, supplier.getId());
+            return;
+        }
+        Document document = supplierDocument(supplier.getId(), supplier.getCompanyName(), supplier.getTaxNumber(),
+                supplier.getCity());
+        applyAfterCommit(index -> index.put(document));
+    }
+
+    public void orderSaved(Order order) {
+        Document document = orderDocument(order.getId(), order.getOrderNumber(), order.getDepartureCity(),
+                order.getArrivalCity(), order.getCustomer() != null ? order.getCustomer().getName() : null);
+        applyAfterCommit(index -> index.put(document));
+    }
+
+    /**
+     * Toplu oluşturulan siparişleri tek seferde (tek kilitle) indeksler
+     */
+    public void ordersSaved(Collection<Order> orders) {
+        List<Document> documents = orders.stream()
+                .map(order -> orderDocument(order.getId(), order.getOrderNumber(), order.getDepartureCity(),
+                        order.getArrivalCity(), order.getCustomer() != null ? order.getCustomer().getName() : null))
+                .toList();
+        applyAfterCommit(index -> documents.forEach(index::put));
+    }
+
+    public void driverSaved(Driver driver) {
+        Document document = driverDocument(driver.getId(), driver.getFirstName(), driver.getLastName(),
+                driver.getLicenseNo());
+        applyAfterCommit(index -> index.put(document));
+    }
+
+    public void removed(EntityType type, Long id) {
+        DocumentKey key = new DocumentKey(type, id);
+        applyAfterCommit(index -> index.remove(key));
+    }
+
+    /**
+     * Yazım hatalarına toleranslı arama. Sonuçlar benzerliğe göre azalan sıradadır.
+     *
+     * @param types boş veya null ise tüm türlerde arar
+     */
+    public List<SearchHitDTO> search(String query, Set<EntityType> types, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        String normalized = CountryCodeIndex.normalize(query);
+        if (normalized.length() < MIN_QUERY_LENGTH || normalized.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be between " + MIN_QUERY_LENGTH
+                    + " and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        Set<EntityType> searchedTypes = types == null || types.isEmpty() ? EnumSet.allOf(EntityType.class) : types;
+        long[] queryTrigrams = trigrams(normalized);
+        if (queryTrigrams.length == 0) {
+            return List.of();
+        }
+        if (!built) {
+            rebuild();
+        }
+
+        lock.readLock().lock();
+        try {
+            return data.search(normalized, queryTrigrams, searchedTypes, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyAfterCommit(Consumer<IndexData> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<IndexData> change) {
+        withWriteLock(() -> {
+            change.accept(data);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Document customerDocument(Long id, String name, String taxNo, String contactName) {
+        return new Document(EntityType.CUSTOMER, id, name, join(" · ", contactName, taxNo),
+                normalizeFields(name, taxNo, contactName));
+    }
+
+    private static Document supplierDocument(Long id, String companyName, String taxNumber, String city) {
+        return new Document(EntityType.SUPPLIER, id, companyName, join(" · ", city, taxNumber),
+                normalizeFields(companyName, taxNumber, city));
+    }
+
+    private static Document orderDocument(Long id, String orderNumber, String departureCity, String arrivalCity,
+                                          String customerName) {
+        String title = orderNumber != null ? orderNumber : "#" + id;
+        return new Document(EntityType.ORDER, id, title,
+                join(" · ", join(" → ", departureCity, arrivalCity), customerName),
+                normalizeFields(orderNumber, departureCity, arrivalCity, customerName));
+    }
+
+    private static Document driverDocument(Long id, String firstName, String lastName, String licenseNo) {
+        String fullName = join(" ", firstName, lastName);
+        return new Document(EntityType.DRIVER, id, fullName, licenseNo, normalizeFields(fullName, licenseNo));
+    }
+
+    private static String join(String separator, String first, String second) {
+        boolean hasFirst = first != null && !first.isBlank();
+        boolean hasSecond = second != null && !second.isBlank();
+        if (hasFirst && hasSecond) {
+            return first + separator + second;
+        }
+        return hasFirst ? first : (hasSecond ? second : null);
+    }
+
+    private static String[] normalizeFields(String... values) {
+        return Arrays.stream(values)
+                .filter(value -> value != null && !value.isBlank())
+                .map(CountryCodeIndex::normalize)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * pg_trgm ile aynı şekilde: her kelime başına iki, sonuna bir boşluk eklenerek
+     * üçlü karakter grupları çıkarılır. Sonuç sıralı ve tekrarsızdır.
+     */
+    static long[] trigrams(String normalized) {
+        long[] result = new long[normalized.length() * 2 + 4];
+        int count = 0;
+        int length = normalized.length();
+        int wordStart = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean wordChar = i < length && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && wordStart < 0) {
+                wordStart = i;
+            } else if (!wordChar && wordStart >= 0) {
+                String padded = "  " + normalized.substring(wordStart, i) + " ";
+                for (int j = 0; j + 3 <= padded.length(); j++) {
+                    if (count == result.length) {
+                        result = Arrays.copyOf(result, count * 2);
+                    }
+                    result[count++] = ((long) padded.charAt(j) << 32)
+                            | ((long) padded.charAt(j + 1) << 16)
+                            | padded.charAt(j + 2);
+                }
+                wordStart = -1;
+            }
+        }
+        Arrays.sort(result, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || result[distinct - 1] != result[i]) {
+                result[distinct++] = result[i];
+            }
+        }
+        return Arrays.copyOf(result, distinct);
+    }
+
+    private static int countShared(long[] sortedA, long[] sortedB) {
+        int shared = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sortedA.length && j < sortedB.length) {
+            if (sortedA[i] == sortedB[j]) {
+                shared++;
+                i++;
+                j++;
+            } else if (sortedA[i] < sortedB[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    private record DocumentKey(EntityType type, Long id) {
+    }
+
+    private record Document(EntityType type, Long id, String title, String subtitle, String[] fields) {
+
+        DocumentKey key() {
+            return new DocumentKey(type, id);
+        }
+
+        long[] trigrams() {
+            return GlobalSearchIndex.trigrams(String.join(" ", fields));
+        }
+
+        /**
+         * Alan bazında en iyi puan: trigram benzerliği (pg_trgm similarity) veya sorgunun
+         * alan içinde geçme oranı (word_similarity benzeri, tam eşleşmenin gerisinde kalır)
+         */
+        double score(String query, long[] queryTrigrams) {
+            double best = 0;
+            for (String field : fields) {
+                if (field.equals(query)) {
+                    return 1.0;
+                }
+                long[] fieldTrigrams = GlobalSearchIndex.trigrams(field);
+                int shared = countShared(queryTrigrams, fieldTrigrams);
+                if (shared == 0) {
+                    continue;
+                }
+                double similarity = (double) shared / (queryTrigrams.length + fieldTrigrams.length - shared);
+                double containment = 0.9 * shared / queryTrigrams.length;
+                best = Math.max(best, Math.max(similarity, containment));
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Trigram → belge slot listesi. Silinen belgelerin slotları boşaltılır ve
+     * aramada atlanır; boş slotlar çoğalınca indeks sıkıştırılır.
+     */
+    private static final class IndexData {
+
+        private final Map<DocumentKey, Integer> slotsByKey = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private Document[] documents = new Document[1024];
+        private int slotCount;
+
+        int size() {
+            return slotsByKey.size();
+        }
+
+        void put(Document document) {
+            remove(document.key());
+            if (slotCount == documents.length) {
+                documents = Arrays.copyOf(documents, slotCount * 2);
+            }
+            int slot = slotCount++;
+            documents[slot] = document;
+            slotsByKey.put(document.key(), slot);
+            for (long trigram : document.trigrams()) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+            }
+        }
+
+        void remove(DocumentKey key) {
+            Integer slot = slotsByKey.remove(key);
+            if (slot == null) {
+                return;
+            }
+            documents[slot] = null;
+            if (slotCount - slotsByKey.size() > Math.max(1024, slotsByKey.size())) {
+                compact();
+            }
+        }
+
+        private void compact() {
+            Document[] live = Arrays.stream(documents, 0, slotCount).filter(d -> d != null).toArray(Document[]::new);
+            slotsByKey.clear();
+            postings.clear();
+            documents = new Document[Math.max(1024, live.length * 2)];
+            slotCount = 0;
+            for (Document document : live) {
+                put(document);
+            }
+        }
+
+        List<SearchHitDTO> search(String query, long[] queryTrigrams, Set<EntityType> types, int limit) {
+            int[] shared = new int[slotCount];
+            for (long trigram : queryTrigrams) {
+                Postings list = postings.get(trigram);
+                if (list != null) {
+                    for (int i = 0; i < list.size; i++) {
+                        shared[list.slots[i]]++;
+                    }
+                }
+            }
+
+            // Benzerlik eşiğine ulaşabilmek için gereken en az ortak trigram sayısı
+            int minShared = Math.max(1, (int) Math.ceil(MIN_SCORE * queryTrigrams.length));
+            int[] histogram = new int[queryTrigrams.length + 1];
+            for (int slot = 0; slot < slotCount; slot++) {
+                Document document = documents[slot];
+                if (shared[slot] >= minShared && document != null && types.contains(document.type())) {
+                    histogram[shared[slot]]++;
+                }
+            }
+            // En çok trigram paylaşan seviyelerden başlayarak aday sayısını sınırla
+            int cutoff = queryTrigrams.length;
+            int selected = histogram[cutoff];
+            while (cutoff > minShared && (selected == 0 || selected + histogram[cutoff - 1] <= MAX_CANDIDATES)) {
+                cutoff--;
+                selected += histogram[cutoff];
+            }
+
+            PriorityQueue<SearchHitDTO> top = new PriorityQueue<>(Comparator.comparingDouble(SearchHitDTO::getScore));
+            int scored = 0;
+            for (int slot = 0; slot < slotCount && scored < MAX_CANDIDATES; slot++) {
+                Document document = documents[slot];
+                if (shared[slot] < cutoff || document == null || !types.contains(document.type())) {
+                    continue;
+                }
+                scored++;
+                double score = document.score(query, queryTrigrams);
+                if (score >= MIN_SCORE) {
+                    top.add(SearchHitDTO.builder()
+                            .type(document.type().name().toLowerCase(Locale.ROOT))
+                            .id(document.id())
+                            .title(document.title())
+                            .subtitle(document.subtitle())
+                            .score(Math.round(score * 1000) / 1000.0)
+                            .build());
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+
+            List<SearchHitDTO> hits = new ArrayList<>(top);
+            // Eşit puanda türe göre (müşteri, tedarikçi, sipariş, sürücü), sonra başlığa göre
+            hits.sort(Comparator.comparingDouble(SearchHitDTO::getScore).reversed()
+                    .thenComparing(hit -> EntityType.from(hit.getType()))
+                    .thenComparing(SearchHitDTO::getTitle, Comparator.nullsLast(Comparator.naturalOrder())));
+            return hits;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
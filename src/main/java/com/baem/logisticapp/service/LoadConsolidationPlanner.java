@@ -0,0 +1,257 @@
+package com.baem.logisticapp.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bir rota/tarih/yük türü grubundaki siparişleri en az sayıda dorseye yerleştirir (bin packing).
+ * Her dorsenin iki kapasitesi vardır: taşıma ağırlığı ve yükleme metresi (taban uzunluğu).
+ *
+ * Önce first-fit-decreasing ile başlangıç çözümü kurulur; ardından süre bitene ya da alt sınıra
+ * ulaşılana kadar yerel arama yapılır: en boş dorse diğerlerine dağıtılarak kapatılmaya çalışılır,
+ * olmuyorsa en boş dorsedeki bir yük başka dorsedeki daha küçük bir yükle değiştirilir. Her değişim
+ * yükü doluya doğru kaydırdığı için arama döngüye girmez.
+ *
+ * Durumsuzdur; farklı gruplar aynı anda farklı thread'lerde planlanabilir.
+ */
+public final class LoadConsolidationPlanner {
+
+    private static final double EPSILON = 1e-9;
+
+    private LoadConsolidationPlanner() {
+    }
+
+    /**
+     * @param weightKg      yük ağırlığı (kg)
+     * @param loadingMeters dorse tabanında kapladığı uzunluk (m)
+     */
+    public record Item(long orderId, double weightKg, double loadingMeters) {
+    }
+
+    /**
+     * Tek dorsenin kapasitesi
+     */
+    public record Capacity(double weightKg, double loadingMeters) {
+    }
+
+    /**
+     * @param loads    dorse başına yükler; ilk yükün sırasına göre
+     * @param complete yerel arama süre dolmadan bitti mi
+     */
+    public record Plan(List<List<Item>> loads, boolean complete) {
+    }
+
+    /**
+     * Her yükün tek başına dorseye sığdığı varsayılır (kontrol çağırana aittir).
+     *
+     * @param deadlineNanos yerel aramanın bitmesi gereken an ({@link System#nanoTime()} cinsinden)
+     */
+    public static Plan plan(List<Item> items, Capacity capacity, long deadlineNanos) {
+        Packing packing = new Packing(items, capacity);
+        packing.firstFitDecreasing();
+        boolean complete = packing.improve(deadlineNanos);
+        return new Plan(packing.loads(), complete);
+    }
+
+    private static final class Packing {
+
+        private final Item[] items;
+        private final Capacity capacity;
+        // Yükün dorse kapasitesine göre büyüklüğü: ağırlık ve metre oranlarından büyük olanı
+        private final double[] sizes;
+        private final List<Bin> bins = new ArrayList<>();
+        private final int lowerBound;
+
+        Packing(List<Item> items, Capacity capacity) {
+            this.items = items.toArray(Item[]::new);
+            this.capacity = capacity;
+            sizes = new double[this.items.length];
+            double totalWeight = 0;
+            double totalMeters = 0;
+            for (int i = 0; i < this.items.length; i++) {
+                Item item = this.items[i];
+                sizes[i] = Math.max(item.weightKg() / capacity.weightKg(),
+                        item.loadingMeters() / capacity.loadingMeters());
+                totalWeight += item.weightKg();
+                totalMeters += item.loadingMeters();
+            }
+            lowerBound = (int) Math.max(Math.ceil(totalWeight / capacity.weightKg() - EPSILON),
+                    Math.ceil(totalMeters / capacity.loadingMeters() - EPSILON));
+        }
+
+        void firstFitDecreasing() {
+            Integer[] order = new Integer[items.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> -sizes[i])
+                    .thenComparingLong(i -> items[i].orderId()));
+            for (int item : order) {
+                Bin target = null;
+                for (Bin bin : bins) {
+                    if (bin.canAdd(item)) {
+                        target = bin;
+                        break;
+                    }
+                }
+                if (target == null) {
+                    target = new Bin();
+                    bins.add(target);
+                }
+                target.add(item);
+            }
+        }
+
+        /**
+         * @return süre dolmadan iyileştirilecek bir şey kalmadıysa true
+         */
+        boolean improve(long deadlineNanos) {
+            while (bins.size() > Math.max(lowerBound, 1)) {
+                if (System.nanoTime() > deadlineNanos) {
+                    return false;
+                }
+                bins.sort(Comparator.comparingDouble(bin -> bin.size));
+                if (tryEmpty(bins.get(0))) {
+                    continue;
+                }
+                boolean moved = false;
+                for (int s = 0; s < bins.size() - 1 && !moved; s++) {
+                    for (int t = bins.size() - 1; t > s && !moved; t--) {
+                        moved = tryShift(bins.get(s), bins.get(t));
+                    }
+                    if (System.nanoTime() > deadlineNanos) {
+                        return false;
+                    }
+                }
+                if (!moved) {
+                    return true;
+                }
+            }
+            return true;
+        }
+
+        // Dorsedeki tüm yükler diğer dorselere (en dolu olana öncelik vererek) sığıyorsa dorse kapatılır
+        private boolean tryEmpty(Bin source) {
+            List<Bin> targets = new ArrayList<>(source.items.size());
+            List<Integer> moved = new ArrayList<>(source.items.size());
+            boolean emptied = true;
+            for (int item : source.items) {
+                Bin best = null;
+                for (Bin bin : bins) {
+                    if (bin != source && bin.canAdd(item) && (best == null || bin.size > best.size)) {
+                        best = bin;
+                    }
+                }
+                if (best == null) {
+                    emptied = false;
+                    break;
+                }
+                best.add(item);
+                targets.add(best);
+                moved.add(item);
+            }
+            if (!emptied) {
+                for (int k = 0; k < moved.size(); k++) {
+                    targets.get(k).remove(moved.get(k));
+                }
+                return false;
+            }
+            bins.remove(source);
+            return true;
+        }
+
+        /**
+         * Daha boş dorseden daha dolu dorseye yük kaydırır: tek yük taşıma, bire bir değişim ya da
+         * iki yükü daha küçük tek bir yükle değişim. Kaydırılan toplam büyüklük her zaman pozitiftir.
+         */
+        private boolean tryShift(Bin source, Bin target) {
+            List<Integer> sourceItems = source.items;
+            for (int i = 0; i < sourceItems.size(); i++) {
+                int x = sourceItems.get(i);
+                if (target.canAdd(x)) {
+                    source.remove(x);
+                    target.add(x);
+                    return true;
+                }
+                for (int y : target.items) {
+                    if (sizes[y] + EPSILON < sizes[x] && target.canReplace(y, x) && source.canReplace(x, y)) {
+                        exchange(source, List.of(x), target, y);
+                        return true;
+                    }
+                }
+                for (int j = i + 1; j < sourceItems.size(); j++) {
+                    int x2 = sourceItems.get(j);
+                    for (int y : target.items) {
+                        double weightDelta = items[x].weightKg() + items[x2].weightKg() - items[y].weightKg();
+                        double metersDelta = items[x].loadingMeters() + items[x2].loadingMeters()
+                                - items[y].loadingMeters();
+                        if (sizes[y] + EPSILON < sizes[x] + sizes[x2] && target.fitsAfter(weightDelta, metersDelta)
+                                && source.fitsAfter(-weightDelta, -metersDelta)) {
+                            exchange(source, List.of(x, x2), target, y);
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void exchange(Bin source, List<Integer> out, Bin target, int in) {
+            for (int item : out) {
+                source.remove(item);
+                target.add(item);
+            }
+            target.remove(in);
+            source.add(in);
+        }
+
+        // Dorseler ve içindeki yükler giriş sırasına göre
+        List<List<Item>> loads() {
+            List<List<Item>> loads = new ArrayList<>(bins.size());
+            bins.stream()
+                    .map(bin -> bin.items.stream().sorted().toList())
+                    .sorted(Comparator.comparingInt(load -> load.get(0)))
+                    .forEach(load -> loads.add(load.stream().map(item -> items[item]).toList()));
+            return loads;
+        }
+
+        private final class Bin {
+            private final List<Integer> items = new ArrayList<>();
+            private double weight;
+            private double meters;
+            private double size;
+
+            boolean canAdd(int item) {
+                return weight + Packing.this.items[item].weightKg() <= capacity.weightKg() + EPSILON
+                        && meters + Packing.this.items[item].loadingMeters() <= capacity.loadingMeters() + EPSILON;
+            }
+
+            boolean canReplace(int out, int in) {
+                Item removed = Packing.this.items[out];
+                Item added = Packing.this.items[in];
+                return fitsAfter(added.weightKg() - removed.weightKg(), added.loadingMeters() - removed.loadingMeters());
+            }
+
+            boolean fitsAfter(double weightDelta, double metersDelta) {
+                return weight + weightDelta <= capacity.weightKg() + EPSILON
+                        && meters + metersDelta <= capacity.loadingMeters() + EPSILON;
+            }
+
+            void add(int item) {
+                items.add(item);
+                weight += Packing.this.items[item].weightKg();
+                meters += Packing.this.items[item].loadingMeters();
+                size += sizes[item];
+            }
+
+            void remove(int item) {
+                items.remove(Integer.valueOf(item));
+                weight -= Packing.this.items[item].weightKg();
+                meters -= Packing.this.items[item].loadingMeters();
+                size -= sizes[item];
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.dto.ConsolidationPlanDTO;
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.TripStatus;
+import com.baem.logisticapp.exception.ResourceNotFoundException;
+import com.baem.logisticapp.repository.OrderSpecifications;
+import com.baem.logisticapp.service.LoadConsolidationPlanner.Capacity;
+import com.baem.logisticapp.service.LoadConsolidationPlanner.Item;
+import com.baem.logisticapp.service.LoadConsolidationPlanner.Plan;
+import com.baem.logisticapp.service.TrailerCapacityIndex.TrailerDimensions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aktarmaya uygun ({@code canTransfer}) ve henüz yola çıkmamış siparişlerden aynı dorseyi
+ * paylaşabilecek olanları önerir. Siparişler kalkış/varış şehri ve yük türüne göre, ardından yükleme
+ * tarihine göre pencerelere ayrılır; her pencere {@link LoadConsolidationPlanner} ile ayrı bir
+ * havuzda paralel planlanır. Kapasite olarak istenen türdeki en büyük aktif dorse kullanılır.
+ */
+@Service
+@Slf4j
+public class LoadConsolidationService {
+
+    static final int MAX_WINDOW_DAYS = 30;
+    // Teklif ve onaylanmış teklif aşamasındaki siparişler henüz yola çıkmamıştır
+    private static final Set<TripStatus> PENDING_STATUSES = EnumSet.of(TripStatus.TEKLIF_ASAMASI,
+            TripStatus.ONAYLANAN_TEKLIF);
+
+    private final EntityManager entityManager;
+    private final TrailerCapacityIndex trailerCapacityIndex;
+    private final ForkJoinPool consolidationPool;
+    private final long timeBudgetNanos;
+
+    public LoadConsolidationService(EntityManager entityManager,
+                                    TrailerCapacityIndex trailerCapacityIndex,
+                                    @Qualifier("consolidationPool") ForkJoinPool consolidationPool,
+                                    @Value("${consolidation.time-budget-ms:500}") long timeBudgetMs) {
+        this.entityManager = entityManager;
+        this.trailerCapacityIndex = trailerCapacityIndex;
+        this.consolidationPool = consolidationPool;
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+    }
+
+    /**
+     * @param from        bu tarihten önce yüklenecek siparişler alınmaz (null = sınır yok)
+     * @param to          bu tarihten sonra yüklenecek siparişler alınmaz (null = sınır yok)
+     * @param windowDays  aynı dorseye konabilecek siparişlerin yükleme tarihleri arasındaki en fazla gün farkı
+     * @param trailerType null ise tüm dorse türleri arasından en büyüğü
+     */
+    public ConsolidationPlanDTO planConsolidation(LocalDate from, LocalDate to, int windowDays, String trailerType) {
+        if (windowDays < 0 || windowDays > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Window days must be between 0 and " + MAX_WINDOW_DAYS);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        String type = trailerType != null && !trailerType.isBlank() ? trailerType.trim() : null;
+        TrailerDimensions trailer = trailerCapacityIndex.findLargest(type)
+                .orElseThrow(() -> new ResourceNotFoundException(type != null
+                        ? "No active trailer of type " + type + " with known capacity and dimensions"
+                        : "No active trailer with known capacity and dimensions"));
+        double floorLong = Math.max(trailer.length(), trailer.width());
+        double floorShort = Math.min(trailer.length(), trailer.width());
+        Capacity capacity = new Capacity(trailer.capacityTons() * 1000, floorLong);
+
+        List<Object[]> rows = findCandidateRows(from, to);
+        List<ConsolidationPlanDTO.Unplanned> unplanned = new ArrayList<>();
+        Map<Long, String> orderNumbers = new HashMap<>();
+        // Satırlar yükleme tarihine göre sıralı geldiğinden gruplar da ilk siparişin tarihine göre sıralı olur
+        Map<String, List<Candidate>> routes = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            Long orderId = (Long) row[0];
+            String orderNumber = (String) row[1];
+            orderNumbers.put(orderId, orderNumber);
+            Candidate candidate = toCandidate(row, trailer, floorShort, capacity);
+            if (candidate.skipReason() != null) {
+                unplanned.add(ConsolidationPlanDTO.Unplanned.builder()
+                        .orderId(orderId)
+                        .orderNumber(orderNumber)
+                        .reason(candidate.skipReason())
+                        .build());
+                continue;
+            }
+            routes.computeIfAbsent(candidate.routeKey(), key -> new ArrayList<>()).add(candidate);
+        }
+
+        List<List<Candidate>> windows = new ArrayList<>();
+        for (List<Candidate> route : routes.values()) {
+            windows.addAll(splitByLoadingDate(route, windowDays));
+        }
+
+        // Tek siparişlik pencereler planlanmaz; diğerleri aynı son süreyle paralel planlanır
+        long deadline = System.nanoTime() + timeBudgetNanos;
+        List<ForkJoinTask<Plan>> tasks = new ArrayList<>(windows.size());
+        for (List<Candidate> window : windows) {
+            if (window.size() > 1) {
+                List<Item> items = window.stream().map(Candidate::item).toList();
+                tasks.add(consolidationPool.submit(() -> LoadConsolidationPlanner.plan(items, capacity, deadline)));
+            } else {
+                tasks.add(null);
+            }
+        }
+
+        int planned = 0;
+        int trailersAfter = 0;
+        boolean complete = true;
+        List<ConsolidationPlanDTO.Group> groups = new ArrayList<>();
+        for (int w = 0; w < windows.size(); w++) {
+            List<Candidate> window = windows.get(w);
+            planned += window.size();
+            if (tasks.get(w) == null) {
+                trailersAfter++;
+                continue;
+            }
+            Plan plan = tasks.get(w).join();
+            trailersAfter += plan.loads().size();
+            complete &= plan.complete();
+            List<ConsolidationPlanDTO.Load> loads = plan.loads().stream()
+                    .filter(load -> load.size() > 1)
+                    .map(load -> toLoad(load, capacity, orderNumbers))
+                    .toList();
+            if (!loads.isEmpty()) {
+                Candidate first = window.get(0);
+                groups.add(ConsolidationPlanDTO.Group.builder()
+                        .departureCity(first.departureCity())
+                        .arrivalCity(first.arrivalCity())
+                        .cargoType(first.cargoType())
+                        .loadingFrom(first.loadingDate())
+                        .loadingTo(window.get(window.size() - 1).loadingDate())
+                        .orderCount(window.size())
+                        .loads(loads)
+                        .build());
+            }
+        }
+        if (!complete) {
+            log.info("Consolidation planning hit the {} ms budget for {} orders in {} windows",
+                    TimeUnit.NANOSECONDS.toMillis(timeBudgetNanos), planned, windows.size());
+        }
+
+        return ConsolidationPlanDTO.builder()
+                .trailer(ConsolidationPlanDTO.ReferenceTrailer.builder()
+                        .trailerId(trailer.trailerId())
+                        .trailerNo(trailer.trailerNo())
+                        .trailerType(trailer.trailerType())
+                        .capacity(trailer.capacityTons())
+                        .length(trailer.length())
+                        .width(trailer.width())
+                        .height(trailer.height())
+                        .build())
+                .ordersConsidered(rows.size())
+                .trailersBefore(planned)
+                .trailersAfter(trailersAfter)
+                .complete(complete)
+                .groups(groups)
+                .unplanned(unplanned)
+                .build();
+    }
+
+
+    // Aday siparişler: id, orderNumber, departureCity, arrivalCity, cargoType, loadingDate, deadlineDate,
+    // cargoWeightKg, cargoLength, cargoWidth, cargoHeight
+    private List<Object[]> findCandidateRows(LocalDate from, LocalDate to) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Order> root = query.from(Order.class);
+        query.multiselect(root.get("id"), root.get("orderNumber"), root.get("departureCity"),
+                        root.get("arrivalCity"), root.get("cargoType"), root.get("loadingDate"),
+                        root.get("deadlineDate"), root.get("cargoWeightKg"), root.get("cargoLength"),
+                        root.get("cargoWidth"), root.get("cargoHeight"))
+                .where(OrderSpecifications.consolidationCandidates(PENDING_STATUSES, from, to)
+                        .toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("loadingDate")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+    private record Candidate(String routeKey, String departureCity, String arrivalCity, String cargoType,
+            LocalDate loadingDate, LocalDate deadlineDate, Item item, String skipReason) {
+
+        static Candidate skipped(String reason) {
+            return new Candidate(null, null, null, null, null, null, null, reason);
+        }
+    }
+
+    private static Candidate toCandidate(Object[] row, TrailerDimensions trailer, double floorShort,
+            Capacity capacity) {
+        String departureCity = (String) row[2];
+        String arrivalCity = (String) row[3];
+        String cargoType = (String) row[4];
+        LocalDate loadingDate = (LocalDate) row[5];
+        if (departureCity == null || departureCity.isBlank() || arrivalCity == null || arrivalCity.isBlank()) {
+            return Candidate.skipped("Departure or arrival city missing");
+        }
+        if (loadingDate == null) {
+            return Candidate.skipped("Loading date missing");
+        }
+        if (row[7] == null || row[8] == null || row[9] == null) {
+            return Candidate.skipped("Cargo weight or dimensions missing");
+        }
+        double weightKg = ((BigDecimal) row[7]).doubleValue();
+        double length = ((BigDecimal) row[8]).doubleValue();
+        double width = ((BigDecimal) row[9]).doubleValue();
+        if (weightKg > capacity.weightKg()) {
+            return Candidate.skipped("Cargo is heavier than the trailer capacity");
+        }
+        // Yük dorse genişliğine sığacak şekilde döndürülür; kısa kenarı enine sığıyorsa uzun kenar kadar yer kaplar
+        double longSide = Math.max(length, width);
+        double shortSide = Math.min(length, width);
+        double loadingMeters = longSide <= floorShort ? shortSide : longSide;
+        if (shortSide > floorShort || loadingMeters > capacity.loadingMeters()
+                || (row[10] != null && ((BigDecimal) row[10]).doubleValue() > trailer.height())) {
+            return Candidate.skipped("Cargo does not fit the trailer");
+        }
+
+        String cargoKey = cargoType != null && !cargoType.isBlank() ? CountryCodeIndex.normalize(cargoType) : "";
+        String routeKey = CountryCodeIndex.normalize(departureCity) + "\u0000" + CountryCodeIndex.normalize(arrivalCity)
+                + "\u0000" + cargoKey;
+        return new Candidate(routeKey, departureCity.trim(), arrivalCity.trim(),
+                cargoType != null && !cargoType.isBlank() ? cargoType.trim() : null, loadingDate,
+                (LocalDate) row[6], new Item((Long) row[0], weightKg, loadingMeters), null);
+    }
+
+    /**
+     * Yükleme tarihine göre sıralı siparişleri pencerelere böler. Bir pencereye ilk siparişten en fazla
+     * windowDays gün sonra yüklenen siparişler girer; ayrıca birleşik yük en geç siparişin yükleme
+     * tarihinde çıkacağından bu tarih penceredeki hiçbir siparişin son teslim tarihini geçmemelidir.
+     */
+    private static List<List<Candidate>> splitByLoadingDate(List<Candidate> route, int windowDays) {
+        List<List<Candidate>> windows = new ArrayList<>();
+        List<Candidate> current = new ArrayList<>();
+        LocalDate windowEnd = null;
+        LocalDate earliestDeadline = null;
+        for (Candidate candidate : route) {
+            LocalDate loading = candidate.loadingDate();
+            boolean fits = windowEnd != null && !loading.isAfter(windowEnd)
+                    && (earliestDeadline == null || !loading.isAfter(earliestDeadline));
+            if (!fits) {
+                if (!current.isEmpty()) {
+                    windows.add(current);
+                }
+                current = new ArrayList<>();
+                windowEnd = loading.plusDays(windowDays);
+                earliestDeadline = null;
+            }
+            current.add(candidate);
+            if (candidate.deadlineDate() != null
+                    && (earliestDeadline == null || candidate.deadlineDate().isBefore(earliestDeadline))) {
+                earliestDeadline = candidate.deadlineDate();
+            }
+        }
+        if (!current.isEmpty()) {
+            windows.add(current);
+        }
+        return windows;
+    }
+
+    private static ConsolidationPlanDTO.Load toLoad(List<Item> load, Capacity capacity, Map<Long, String> orderNumbers) {
+        double weight = 0;
+        double meters = 0;
+        for (Item item : load) {
+            weight += item.weightKg();
+            meters += item.loadingMeters();
+        }
+        return ConsolidationPlanDTO.Load.builder()
+                .orderIds(load.stream().map(Item::orderId).toList())
+                .orderNumbers(load.stream().map(item -> orderNumbers.get(item.orderId())).toList())
+                .totalWeightKg(weight)
+                .loadingMeters(Math.round(meters * 1000) / 1000.0)
+                .weightUtilization(Math.round(weight / capacity.weightKg() * 1000) / 1000.0)
+                .lengthUtilization(Math.round(meters / capacity.loadingMeters() * 1000) / 1000.0)
+                .build();
+    }
+}
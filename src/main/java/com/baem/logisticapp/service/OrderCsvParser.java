@@ -0,0 +1,146 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.dto.OrderCreateDTO;
+import com.baem.logisticapp.exception.ImportValidationException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Toplu sipariş içe aktarma için CSV okuyucu. İlk satır {@link OrderCreateDTO} alan adlarını
+ * içeren başlıktır (ör. customerId, departureCountry, loadingDate). Ayraç virgül veya
+ * noktalı virgül olabilir (Excel'in Türkçe ayarı); tırnaklı değerler RFC 4180'e göre okunur.
+ * Hücre değerleri JSON isteğindeki ile aynı kurallarla dönüştürülür.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderCsvParser {
+
+    private static final Set<String> COLUMNS = Arrays.stream(OrderCreateDTO.class.getDeclaredFields())
+            .filter(field -> !Modifier.isStatic(field.getModifiers()))
+            .map(Field::getName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final ObjectMapper objectMapper;
+
+    public List<OrderCreateDTO> parse(InputStream inputStream) throws IOException {
+        String content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        if (content.startsWith("﻿")) { // Excel'in eklediği UTF-8 BOM
+            content = content.substring(1);
+        }
+        List<List<String>> records = readRecords(content, detectDelimiter(content));
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+
+        List<String> header = records.get(0).stream().map(String::trim).toList();
+        for (String column : header) {
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown CSV column: " + column);
+            }
+        }
+
+        List<OrderCreateDTO> orders = new ArrayList<>(records.size() - 1);
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (int i = 1; i < records.size(); i++) {
+            List<String> record = records.get(i);
+            if (record.size() > header.size()) {
+                errors.put("row " + i, "Expected " + header.size() + " columns but found " + record.size());
+                continue;
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int column = 0; column < record.size(); column++) {
+                String value = record.get(column).trim();
+                if (!value.isEmpty()) {
+                    values.put(header.get(column), value);
+                }
+            }
+            try {
+                orders.add(objectMapper.convertValue(values, OrderCreateDTO.class));
+            } catch (IllegalArgumentException e) {
+                String field = e.getCause() instanceof JsonMappingException mappingException
+                        && !mappingException.getPath().isEmpty()
+                        ? mappingException.getPath().get(0).getFieldName() : null;
+                errors.put("row " + i, field != null ? "Invalid value for " + field + ": " + values.get(field)
+                        : "Invalid row");
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ImportValidationException(errors.size() + " CSV rows could not be read, nothing was imported",
+                    errors);
+        }
+        return orders;
+    }
+
+    private static char detectDelimiter(String content) {
+        int lineEnd = content.indexOf('\n');
+        String firstLine = lineEnd >= 0 ? content.substring(0, lineEnd) : content;
+        return firstLine.indexOf(';') >= 0 && firstLine.indexOf(',') < 0 ? ';' : ',';
+    }
+
+    /**
+     * Kayıtları okur; boş satırlar atlanır
+     */
+    private static List<List<String>> readRecords(String content, char delimiter) {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        int length = content.length();
+        for (int i = 0; i < length; i++) {
+            char c = content.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < length && content.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"' && cell.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                record.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && i + 1 < length && content.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(cell.toString());
+                cell.setLength(0);
+                addIfNotBlank(records, record);
+                record = new ArrayList<>();
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("CSV file has an unterminated quoted value");
+        }
+        record.add(cell.toString());
+        addIfNotBlank(records, record);
+        return records;
+    }
+
+    private static void addIfNotBlank(List<List<String>> records, List<String> record) {
+        if (record.size() > 1 || !record.get(0).isBlank()) {
+            records.add(record);
+        }
+    }
+}
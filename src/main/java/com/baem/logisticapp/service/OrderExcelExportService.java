@@ -0,0 +1,215 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.dto.OrderSearchCriteria;
+import com.baem.logisticapp.entity.Customer;
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.User;
+import com.baem.logisticapp.repository.OrderRepository;
+import com.baem.logisticapp.repository.OrderSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.DeferredSXSSFSheet;
+import org.apache.poi.xssf.streaming.DeferredSXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Sipariş aramasının sonuçlarını XLSX olarak yazar. Satırlar sunucu taraflı cursor ile okunur ve
+ * çalışma kitabı yazılırken üretilir; bellekte yalnızca son {@value #ROW_WINDOW} satır tutulur,
+ * yanıtın ilk byte'ları sorgu bitmeden gönderilir.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExcelExportService {
+
+    // Bellekte tutulan satır penceresi; dolunca en eski satırlar çıkış akışına yazılır
+    private static final int ROW_WINDOW = 200;
+    // JDBC cursor'dan tek seferde çekilen satır
+    private static final int FETCH_SIZE = 1000;
+    // Başlık satırı hariç bir sayfaya sığan en fazla sipariş
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+
+    private static final String[] HEADERS = {
+            "Sipariş No", "Sefer No", "Oluşturma Tarihi", "Müşteri", "Satış Temsilcisi",
+            "Çıkış Ülkesi", "Çıkış Şehri", "Varış Ülkesi", "Varış Şehri",
+            "Yükleme Tarihi", "Termin Tarihi", "Tahmini Varış", "Durum", "Tedarik Türü", "Yük Türü",
+            "Ağırlık (kg)", "Teklif Fiyatı", "Gerçekleşen Fiyat"
+    };
+    private static final int[] COLUMN_WIDTHS = {
+            20, 24, 18, 32, 24, 16, 18, 16, 18, 14, 14, 14, 20, 14, 18, 14, 16, 18
+    };
+
+    private final EntityManager entityManager;
+    private final OrderRepository orderRepository;
+
+    /**
+     * Sıralamayı ve satır sınırını doğrular. Yanıt başlamadan çağrılmalı ki hatalar 400 olarak dönebilsin.
+     */
+    @Transactional(readOnly = true)
+    public Sort prepareExport(OrderSearchCriteria criteria, Sort requested) {
+        Sort sort = OrderSpecifications.searchSort(requested);
+        long count = orderRepository.count(OrderSpecifications.matching(criteria));
+        if (count > MAX_ROWS) {
+            throw new IllegalArgumentException("Export is limited to " + MAX_ROWS + " orders, " + count
+                    + " match the filters; narrow the date range");
+        }
+        return sort;
+    }
+
+    /**
+     * Filtreye uyan siparişleri XLSX olarak çıkış akışına yazar (akışı kapatmaz)
+     */
+    @Transactional(readOnly = true)
+    public void writeXlsx(OrderSearchCriteria criteria, Sort sort, OutputStream outputStream) throws IOException {
+        long started = System.nanoTime();
+        int[] written = {0};
+        try (DeferredSXSSFWorkbook workbook = new DeferredSXSSFWorkbook(ROW_WINDOW)) {
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font bold = workbook.createFont();
+            bold.setBold(true);
+            headerStyle.setFont(bold);
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd.mm.yyyy"));
+            CellStyle dateTimeStyle = workbook.createCellStyle();
+            dateTimeStyle.setDataFormat(workbook.createDataFormat().getFormat("dd.mm.yyyy hh:mm"));
+            CellStyle amountStyle = workbook.createCellStyle();
+            amountStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+
+            DeferredSXSSFSheet sheet = workbook.createSheet("Siparişler");
+            sheet.createFreezePane(0, 1);
+            for (int i = 0; i < COLUMN_WIDTHS.length; i++) {
+                sheet.setColumnWidth(i, COLUMN_WIDTHS[i] * 256);
+            }
+
+            // Satırlar workbook.write sırasında üretilir; cursor bu süre boyunca açık kalır
+            sheet.setRowGenerator(target -> written[0] = writeRows(target, criteria, sort,
+                    headerStyle, dateStyle, dateTimeStyle, amountStyle));
+            workbook.write(outputStream);
+        }
+        log.info("Exported {} orders to XLSX in {} ms", written[0], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private int writeRows(SXSSFSheet sheet, OrderSearchCriteria criteria, Sort sort, CellStyle headerStyle,
+            CellStyle dateStyle, CellStyle dateTimeStyle, CellStyle amountStyle) {
+        Row header = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = header.createCell(i);
+            cell.setCellValue(HEADERS[i]);
+            cell.setCellStyle(headerStyle);
+        }
+
+        int rowIndex = 0;
+        try (Stream<Object[]> rows = streamRows(criteria, sort)) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext() && rowIndex < MAX_ROWS) {
+                Object[] values = iterator.next();
+                Row row = sheet.createRow(++rowIndex);
+                int column = 0;
+                setText(row, column++, values[0]); // orderNumber
+                setText(row, column++, values[1]); // tripNumber
+                setDateTime(row, column++, (OffsetDateTime) values[2], dateTimeStyle);
+                setText(row, column++, values[3]); // müşteri
+                setText(row, column++, fullName((String) values[4], (String) values[5]));
+                for (int i = 6; i <= 9; i++) {
+                    setText(row, column++, values[i]); // çıkış / varış ülke ve şehir
+                }
+                for (int i = 10; i <= 12; i++) {
+                    setDate(row, column++, (LocalDate) values[i], dateStyle);
+                }
+                for (int i = 13; i <= 15; i++) {
+                    setText(row, column++, values[i]); // durum, tedarik türü, yük türü
+                }
+                setAmount(row, column++, (BigDecimal) values[16], null);
+                setAmount(row, column++, (BigDecimal) values[17], amountStyle);
+                setAmount(row, column, (BigDecimal) values[18], amountStyle);
+            }
+        }
+        return rowIndex;
+    }
+
+    private Stream<Object[]> streamRows(OrderSearchCriteria criteria, Sort sort) {
+        // Entity yerine yalnızca gerekli kolonlar: persistence context büyümez, satır başına ek sorgu olmaz
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Order> root = query.from(Order.class);
+        Join<Order, Customer> customer = root.join("customer", JoinType.LEFT);
+        Join<Order, User> salesPerson = root.join("salesPerson", JoinType.LEFT);
+        query.multiselect(
+                        root.get("orderNumber"), root.get("tripNumber"), root.get("createdAt"),
+                        customer.get("name"), salesPerson.get("firstName"), salesPerson.get("lastName"),
+                        root.get("departureCountry"), root.get("departureCity"),
+                        root.get("arrivalCountry"), root.get("arrivalCity"),
+                        root.get("loadingDate"), root.get("deadlineDate"), root.get("estimatedArrivalDate"),
+                        root.get("tripStatus"), root.get("supplyType"), root.get("cargoType"),
+                        root.get("cargoWeightKg"), root.get("quotePrice"), root.get("actualPrice"))
+                .where(OrderSpecifications.matching(criteria).toPredicate(root, query, cb))
+                .orderBy(QueryUtils.toOrders(sort, root, cb));
+        // PostgreSQL sürücüsü transaction içinde fetch size verilince sonuçları cursor ile parça parça getirir
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        if (firstName == null && lastName == null) {
+            return null;
+        }
+        return ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+    }
+
+    private static void setText(Row row, int column, Object value) {
+        if (value != null) {
+            row.createCell(column).setCellValue(value instanceof Enum<?> e ? e.name() : value.toString());
+        }
+    }
+
+    private static void setDate(Row row, int column, LocalDate value, CellStyle style) {
+        if (value != null) {
+            Cell cell = row.createCell(column);
+            cell.setCellValue(value);
+            cell.setCellStyle(style);
+        }
+    }
+
+    private static void setDateTime(Row row, int column, OffsetDateTime value, CellStyle style) {
+        if (value != null) {
+            Cell cell = row.createCell(column);
+            cell.setCellValue(value.toLocalDateTime());
+            cell.setCellStyle(style);
+        }
+    }
+
+    private static void setAmount(Row row, int column, BigDecimal value, CellStyle style) {
+        if (value != null) {
+            Cell cell = row.createCell(column);
+            cell.setCellValue(value.doubleValue());
+            if (style != null) {
+                cell.setCellStyle(style);
+            }
+        }
+    }
+}
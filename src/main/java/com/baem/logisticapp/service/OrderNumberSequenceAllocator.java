@@ -0,0 +1,78 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.repository.OrderNumberSequenceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gün + ülke öneki (YYMMDDCC) bazında sipariş sıra numarası dağıtıcı.
+ * Numaralar veritabanından bloklar halinde ayrılır ve bellekte dağıtılır;
+ * birden fazla uygulama instance'ı farklı bloklar alacağından numaralar çakışmaz.
+ * Yeniden başlatmada kullanılmamış blok numaraları atlanır (boşluk oluşabilir).
+ */
+@Component
+@Slf4j
+public class OrderNumberSequenceAllocator {
+
+    private static final long MAX_SEQUENCE = 99_999_999L;
+
+    private final OrderNumberSequenceRepository orderNumberSequenceRepository;
+    private final long blockSize;
+    private final Map<String, SequenceBlock> blocks = new ConcurrentHashMap<>();
+
+    public OrderNumberSequenceAllocator(OrderNumberSequenceRepository orderNumberSequenceRepository,
+            @Value("${orders.number.block-size:50}") long blockSize) {
+        this.orderNumberSequenceRepository = orderNumberSequenceRepository;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Verilen önek için bir sonraki sıra numarasını döner
+     *
+     * @param datePrefix  YYMMDD
+     * @param countryCode 2 haneli ülke kodu
+     */
+    public long next(String datePrefix, String countryCode) {
+        // Önceki günlere ait blokları bırak
+        if (blocks.size() > 1) {
+            blocks.keySet().removeIf(prefix -> !prefix.startsWith(datePrefix));
+        }
+
+        String prefix = datePrefix + countryCode;
+        SequenceBlock block = blocks.computeIfAbsent(prefix, key -> new SequenceBlock());
+        synchronized (block) {
+            if (block.next > block.last) {
+                long last = orderNumberSequenceRepository.allocateBlock(prefix, blockSize);
+                block.next = last - blockSize + 1;
+                block.last = last;
+                log.debug("Allocated order number block {}-{} for prefix {}", block.next, block.last, prefix);
+            }
+            if (block.next > MAX_SEQUENCE) {
+                throw new IllegalStateException("Daily order number sequence exhausted for prefix " + prefix);
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Toplu kullanım için tek veritabanı çağrısıyla ardışık count adet numara ayırır
+     * (bellekteki bloktan bağımsız) ve ilk numarayı döner
+     */
+    public long reserve(String datePrefix, String countryCode, int count) {
+        String prefix = datePrefix + countryCode;
+        long last = orderNumberSequenceRepository.allocateBlock(prefix, count);
+        if (last > MAX_SEQUENCE) {
+            throw new IllegalStateException("Daily order number sequence exhausted for prefix " + prefix);
+        }
+        return last - count + 1;
+    }
+
+    private static final class SequenceBlock {
+        private long next = 1;
+        private long last = 0;
+    }
+}
@@ -1,20 +1,35 @@
 package com.baem.logisticapp.service;
 
 import com.baem.logisticapp.dto.OrderCreateDTO;
+import com.baem.logisticapp.dto.OrderCursorPageDTO;
+import com.baem.logisticapp.dto.OrderImportResultDTO;
 import com.baem.logisticapp.dto.OrderResponseDTO;
+import com.baem.logisticapp.dto.OrderSearchCriteria;
 import com.baem.logisticapp.dto.OrderUpdateDTO;
 import com.baem.logisticapp.entity.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface OrderService {
 
         OrderResponseDTO createOrder(OrderCreateDTO createDTO);
 
+        // Toplu içe aktarma: önce tüm satırlar doğrulanır, hepsi geçerliyse tek transaction'da batch insert
+        OrderImportResultDTO importOrders(List<OrderCreateDTO> createDTOs);
+
         OrderResponseDTO getOrderById(Long id);
 
         List<OrderResponseDTO> getAllOrders();
 
+        // Keyset (cursor) pagination - (createdAt, id) azalan sırada
+        OrderCursorPageDTO getOrdersPage(String cursor, int size);
+
+        // Tüm siparişleri sabit bellek kullanımıyla tek tek consumer'a aktarır
+        void streamAllOrders(Consumer<OrderResponseDTO> consumer);
+
         OrderResponseDTO updateOrder(Long id, OrderUpdateDTO updateDTO);
 
         void deleteOrder(Long id);
@@ -23,19 +38,24 @@ public interface OrderService {
                         Long operationPersonId,
                         String tripStatus);
 
-        OrderResponseDTO assignToOperation(Long orderId, Long operationPersonId);
+        // Dinamik filtreli, sayfalı ve sıralı arama (yalnızca verilen filtreler sorguya eklenir)
+        Page<OrderResponseDTO> searchOrders(OrderSearchCriteria criteria, Pageable pageable);
+
+        // expectedVersion: istemcinin okuduğu version (opsiyonel); farklıysa ConflictException (409)
+        OrderResponseDTO assignToOperation(Long orderId, Long operationPersonId, Long expectedVersion);
 
-        OrderResponseDTO assignToFleet(Long orderId, Long fleetPersonId);
+        OrderResponseDTO assignToFleet(Long orderId, Long fleetPersonId, Long expectedVersion);
 
         // Yeni metodlar
-        OrderResponseDTO approveQuote(Long orderId, Long approverUserId);
+        OrderResponseDTO approveQuote(Long orderId, Long approverUserId, Long expectedVersion);
 
-        OrderResponseDTO cancelQuote(Long orderId, Long cancelerUserId);
+        OrderResponseDTO cancelQuote(Long orderId, Long cancelerUserId, Long expectedVersion);
 
         OrderResponseDTO assignToOperationByOperation(Long orderId, Long newOperationPersonId,
-                        Long currentOperationPersonId);
+                        Long currentOperationPersonId, Long expectedVersion);
 
-        OrderResponseDTO assignFleet(Long orderId, Long vehicleId, Long trailerId, Long driverId);
+        OrderResponseDTO assignFleet(Long orderId, Long vehicleId, Long trailerId, Long driverId,
+                        Long expectedVersion);
 
         List<OrderResponseDTO> getOrdersByOperationPerson(Long operationPersonId);
 
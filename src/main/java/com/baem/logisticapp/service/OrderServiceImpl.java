@@ -1,32 +1,87 @@
 package com.baem.logisticapp.service;
 
 import com.baem.logisticapp.dto.OrderCreateDTO;
+import com.baem.logisticapp.dto.OrderCursorPageDTO;
+import com.baem.logisticapp.dto.OrderImportResultDTO;
 import com.baem.logisticapp.dto.OrderResponseDTO;
+import com.baem.logisticapp.dto.OrderSearchCriteria;
 import com.baem.logisticapp.dto.OrderUpdateDTO;
+import com.baem.logisticapp.dto.ResourceBookingDTO;
 import com.baem.logisticapp.entity.*;
+import com.baem.logisticapp.exception.ConflictException;
+import com.baem.logisticapp.exception.ImportValidationException;
 import com.baem.logisticapp.exception.ResourceNotFoundException;
 import com.baem.logisticapp.repository.*;
+import com.baem.logisticapp.service.DashboardCounterService.OrderSnapshot;
+import com.baem.logisticapp.service.ResourceAvailabilityIndex.BookingWindow;
+import com.baem.logisticapp.service.ResourceAvailabilityIndex.ResourceType;
 import com.baem.logisticapp.validator.OrderValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
+@Transactional
 public class OrderServiceImpl implements OrderService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    // Akış sırasında persistence context'in bu kadar satırda bir temizlenmesi (sabit bellek için)
+    private static final int STREAM_CLEAR_INTERVAL = 500;
+    // Toplu içe aktarmada persistence context'in bu kadar siparişte bir boşaltılması
+    private static final int IMPORT_FLUSH_INTERVAL = 500;
+
     private final OrderRepository orderRepository;
     private final CustomerRepository customerRepository;
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final TrailerRepository trailerRepository;
     private final DriverRepository driverRepository;
-    private final CountryCodeRepository countryCodeRepository;
+    private final CountryCodeIndex countryCodeIndex;
     private final OrderValidator orderValidator;
+    private final EntityManager entityManager;
+    private final DashboardCounterService dashboardCounterService;
+    private final OrderNumberSequenceAllocator orderNumberSequenceAllocator;
+    private final TripNumberGenerator tripNumberGenerator;
+    private final GlobalSearchIndex globalSearchIndex;
+    private final ResourceAvailabilityIndex resourceAvailabilityIndex;
+    private final ActivityLog activityLog;
+
+    // Tek istekte içe aktarılabilecek en fazla sipariş
+    @Value("${orders.import.max-rows:5000}")
+    private int maxImportRows;
 
     @Override
     public OrderResponseDTO createOrder(OrderCreateDTO createDTO) {
@@ -68,67 +123,220 @@ public class OrderServiceImpl implements OrderService {
         // Mantıklı sipariş numarası oluştur
         String orderNumber = generateOrderNumber(createDTO.getDepartureCountry());
 
-        Order order = Order.builder()
-                .orderNumber(orderNumber)
-                .customer(customer)
-                .departureCountry(createDTO.getDepartureCountry())
-                .departureCity(createDTO.getDepartureCity())
-                .departureDistrict(createDTO.getDepartureDistrict())
-                .departurePostalCode(createDTO.getDeparturePostalCode())
-                .departureAddress(createDTO.getDepartureAddress())
-                .departureContactName(createDTO.getDepartureContactName())
-                .departureContactPhone(createDTO.getDepartureContactPhone())
-                .departureContactEmail(createDTO.getDepartureContactEmail())
-                .arrivalCountry(createDTO.getArrivalCountry())
-                .arrivalCity(createDTO.getArrivalCity())
-                .arrivalDistrict(createDTO.getArrivalDistrict())
-                .arrivalPostalCode(createDTO.getArrivalPostalCode())
-                .arrivalAddress(createDTO.getArrivalAddress())
-                .arrivalContactName(createDTO.getArrivalContactName())
-                .arrivalContactPhone(createDTO.getArrivalContactPhone())
-                .arrivalContactEmail(createDTO.getArrivalContactEmail())
-                .cargoWidth(createDTO.getCargoWidth())
-                .cargoLength(createDTO.getCargoLength())
-                .cargoHeight(createDTO.getCargoHeight())
-                .cargoWeightKg(createDTO.getCargoWeightKg())
-                .cargoType(createDTO.getCargoType())
-                .canTransfer(createDTO.getCanTransfer())
-                .salesPerson(salesPerson)
-                .assignedTruck(assignedTruck)
-                .assignedTrailer(assignedTrailer)
-                .assignedDriver(assignedDriver)
-                .quotePrice(createDTO.getQuotePrice())
-                .actualPrice(createDTO.getActualPrice())
-                .supplyType(createDTO.getSupplyType())
-                .tripNumber(tripNumber)
-                .customsAddress(createDTO.getCustomsAddress())
-                .loadingDate(createDTO.getLoadingDate())
-                .deadlineDate(createDTO.getDeadlineDate())
-                .estimatedArrivalDate(createDTO.getEstimatedArrivalDate())
-                .tripStatus(createDTO.getTripStatus())
-                .build();
+        Order order = buildOrder(createDTO, customer, salesPerson, assignedTruck, assignedTrailer, assignedDriver,
+                orderNumber, tripNumber);
+        reserveResources(null, order.getTripStatus(), bookingWindow(order), createDTO.getAssignedTruckId(),
+                createDTO.getAssignedTrailerId(), createDTO.getAssignedDriverId());
+
+        Order savedOrder = orderRepository.save(order);
+        dashboardCounterService.recordOrderChange(null, OrderSnapshot.of(savedOrder));
+        globalSearchIndex.orderSaved(savedOrder);
+        resourceAvailabilityIndex.orderSaved(savedOrder);
+        recordOrderActivity(savedOrder.getId(), ActivityLog.Status.INFO, "Yeni Sipariş",
+                customer.getName() + " müşterisinden " + savedOrder.getOrderNumber() + " numaralı sipariş alındı");
+        return convertToDTO(savedOrder);
+    }
+
+    @Override
+    public OrderImportResultDTO importOrders(List<OrderCreateDTO> createDTOs) {
+        if (createDTOs == null || createDTOs.isEmpty()) {
+            throw new IllegalArgumentException("No orders to import");
+        }
+        if (createDTOs.size() > maxImportRows) {
+            throw new IllegalArgumentException("At most " + maxImportRows + " orders can be imported at once");
+        }
+
+        // Referanslar tür başına tek IN sorgusu ile
+        Map<Long, Customer> customers = findAllByIds(customerRepository, createDTOs, OrderCreateDTO::getCustomerId, Customer::getId);
+        Map<Long, User> salesPeople = findAllByIds(userRepository, createDTOs, OrderCreateDTO::getSalesPersonId, User::getId);
+        Map<Long, Vehicle> trucks = findAllByIds(vehicleRepository, createDTOs, OrderCreateDTO::getAssignedTruckId, Vehicle::getId);
+        Map<Long, Trailer> trailers = findAllByIds(trailerRepository, createDTOs, OrderCreateDTO::getAssignedTrailerId, Trailer::getId);
+        Map<Long, Driver> drivers = findAllByIds(driverRepository, createDTOs, OrderCreateDTO::getAssignedDriverId, Driver::getId);
+
+        // Kaynaklar doğrulamadan önce kilitlenir; böylece eşzamanlı bir içe aktarma veya atama
+        // doğrulama ile kayıt arasında aynı kaynağı alamaz
+        lockImportResources(createDTOs);
+
+        // Önce tüm satırlar doğrulanır; hatalı satır varsa hiçbiri yazılmaz
+        Map<String, String> errors = new LinkedHashMap<>();
+        Map<ResourceType, Map<Long, List<RowBooking>>> fileBookings = new EnumMap<>(ResourceType.class);
+        for (int i = 0; i < createDTOs.size(); i++) {
+            OrderCreateDTO createDTO = createDTOs.get(i);
+            List<String> rowErrors = new ArrayList<>();
+            if (createDTO == null) {
+                rowErrors.add("Order is empty");
+            } else {
+                try {
+                    orderValidator.validateForCreate(createDTO);
+                } catch (IllegalArgumentException e) {
+                    rowErrors.add(e.getMessage());
+                }
+                if (createDTO.getCustomerId() == null) {
+                    rowErrors.add("Customer ID is required");
+                }
+                checkReference(rowErrors, createDTO.getCustomerId(), customers, "Customer");
+                checkReference(rowErrors, createDTO.getSalesPersonId(), salesPeople, "Sales person");
+                checkReference(rowErrors, createDTO.getAssignedTruckId(), trucks, "Vehicle");
+                checkReference(rowErrors, createDTO.getAssignedTrailerId(), trailers, "Trailer");
+                checkReference(rowErrors, createDTO.getAssignedDriverId(), drivers, "Driver");
+                // Önce dosyanın önceki satırlarıyla, sonra kayıtlı rezervasyonlarla karşılaştırılır
+                if (ResourceAvailabilityIndex.holdsResources(createDTO.getTripStatus())) {
+                    String conflict = reserveImportRow(fileBookings, i + 1, createDTO);
+                    if (conflict != null) {
+                        rowErrors.add(conflict);
+                    }
+                }
+            }
+            if (!rowErrors.isEmpty()) {
+                errors.put("row " + (i + 1), String.join("; ", rowErrors));
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new ImportValidationException(errors.size() + " of " + createDTOs.size()
+                    + " orders are invalid, nothing was imported", errors);
+        }
 
-        return convertToDTO(orderRepository.save(order));
+        // Sipariş numaraları: gün + ülke öneki başına tek blok ayrılır
+        String datePrefix = LocalDate.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
+        String[] countryCodes = new String[createDTOs.size()];
+        Map<String, Integer> countsByCountryCode = new HashMap<>();
+        for (int i = 0; i < createDTOs.size(); i++) {
+            countryCodes[i] = getCountryCode(createDTOs.get(i).getDepartureCountry());
+            countsByCountryCode.merge(countryCodes[i], 1, Integer::sum);
+        }
+        Map<String, Long> nextSequences = new HashMap<>();
+        countsByCountryCode.forEach((countryCode, count) ->
+                nextSequences.put(countryCode, orderNumberSequenceAllocator.reserve(datePrefix, countryCode, count)));
+
+        // Sequence id + hibernate.jdbc.batch_size ile INSERT'ler JDBC batch olarak gider
+        List<Order> savedOrders = new ArrayList<>(createDTOs.size());
+        for (int i = 0; i < createDTOs.size(); i++) {
+            OrderCreateDTO createDTO = createDTOs.get(i);
+            long sequence = nextSequences.merge(countryCodes[i], 1L, Long::sum) - 1;
+            Order order = buildOrder(createDTO,
+                    customers.get(createDTO.getCustomerId()),
+                    salesPeople.get(createDTO.getSalesPersonId()),
+                    trucks.get(createDTO.getAssignedTruckId()),
+                    trailers.get(createDTO.getAssignedTrailerId()),
+                    drivers.get(createDTO.getAssignedDriverId()),
+                    datePrefix + countryCodes[i] + String.format("%08d", sequence),
+                    generateTripNumber());
+            savedOrders.add(orderRepository.save(order));
+            if ((i + 1) % IMPORT_FLUSH_INTERVAL == 0) {
+                // Persistence context sabit boyutta kalsın
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        dashboardCounterService.recordOrdersCreated(savedOrders.stream().map(OrderSnapshot::of).toList());
+        globalSearchIndex.ordersSaved(savedOrders);
+        resourceAvailabilityIndex.ordersSaved(savedOrders);
+        // İçe aktarma sipariş başına değil tek aktivite olarak kaydedilir
+        recordOrderActivity(null, ActivityLog.Status.INFO, "Siparişler İçe Aktarıldı",
+                savedOrders.size() + " sipariş toplu olarak içe aktarıldı");
+        log.info("Imported {} orders", savedOrders.size());
+
+        List<OrderImportResultDTO.ImportedOrder> imported = new ArrayList<>(savedOrders.size());
+        for (int i = 0; i < savedOrders.size(); i++) {
+            Order order = savedOrders.get(i);
+            imported.add(new OrderImportResultDTO.ImportedOrder(i + 1, order.getId(), order.getOrderNumber(),
+                    order.getTripNumber()));
+        }
+        return OrderImportResultDTO.builder()
+                .importedCount(imported.size())
+                .orders(imported)
+                .build();
     }
 
     @Override
     public OrderResponseDTO getOrderById(Long id) {
-        return orderRepository.findById(id)
+        return orderRepository.findWithAssociationsById(id)
                 .map(this::convertToDTO)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
     }
 
     @Override
     public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
+        return orderRepository.findAllWithAssociations().stream()
                 .map(this::convertToDTO)
                 .toList();
     }
 
+    @Override
+    public OrderCursorPageDTO getOrdersPage(String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Bir fazla satır çekerek sonraki sayfanın varlığını count sorgusu olmadan anla
+        PageRequest limit = PageRequest.ofSize(size + 1);
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstPage(limit);
+        } else {
+            String[] key = decodeCursor(cursor);
+            orders = orderRepository.findPageAfter(OffsetDateTime.parse(key[0]), Long.valueOf(key[1]), limit);
+        }
+
+        boolean hasNext = orders.size() > size;
+        List<Order> pageOrders = hasNext ? orders.subList(0, size) : orders;
+        String nextCursor = hasNext ? encodeCursor(pageOrders.get(pageOrders.size() - 1)) : null;
+
+        return OrderCursorPageDTO.builder()
+                .content(pageOrders.stream().map(this::convertToDTO).toList())
+                .size(pageOrders.size())
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<OrderResponseDTO> consumer) {
+        try (Stream<Order> orders = orderRepository.streamAllWithAssociations()) {
+            Iterator<Order> iterator = orders.iterator();
+            int processed = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(convertToDTO(iterator.next()));
+                if (++processed % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    // Cursor formatı: base64url("createdAt|id")
+    private String encodeCursor(Order order) {
+        String key = order.getCreatedAt() + "|" + order.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = key.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            OffsetDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
     @Override
     public OrderResponseDTO updateOrder(Long id, OrderUpdateDTO updateDTO) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        checkVersion(order.getVersion(), updateDTO.getVersion());
+        OrderSnapshot before = OrderSnapshot.of(order);
+        BookingWindow windowBefore = bookingWindow(order);
+        boolean heldBefore = ResourceAvailabilityIndex.holdsResources(order.getTripStatus());
 
         // Customer'ı güncelle
         if (updateDTO.getCustomerId() != null) {
@@ -148,15 +356,36 @@ public class OrderServiceImpl implements OrderService {
         updateOrderFields(order, updateDTO);
         order.setUpdatedAt(OffsetDateTime.now());
 
-        return convertToDTO(orderRepository.save(order));
+        // Tarihler değişti ya da sipariş yeniden aktif olduysa atanmış kaynaklar yeni aralıkta da boş olmalı
+        BookingWindow window = bookingWindow(order);
+        boolean held = ResourceAvailabilityIndex.holdsResources(order.getTripStatus());
+        if (held && (!heldBefore || !Objects.equals(window, windowBefore))) {
+            reserveResources(order.getId(), order.getTripStatus(), window,
+                    order.getAssignedTruck() != null ? order.getAssignedTruck().getId() : null,
+                    order.getAssignedTrailer() != null ? order.getAssignedTrailer().getId() : null,
+                    order.getAssignedDriver() != null ? order.getAssignedDriver().getId() : null);
+        }
+
+        // Flush: version kontrolü burada yapılır ve yanıttaki version güncel olur
+        Order savedOrder = orderRepository.saveAndFlush(order);
+        dashboardCounterService.recordOrderChange(before, OrderSnapshot.of(savedOrder));
+        globalSearchIndex.orderSaved(savedOrder);
+        resourceAvailabilityIndex.orderSaved(savedOrder);
+        recordOrderActivity(savedOrder.getId(), ActivityLog.Status.INFO, "Sipariş Güncellendi",
+                savedOrder.getOrderNumber() + " numaralı sipariş güncellendi");
+        return convertToDTO(savedOrder);
     }
 
     @Override
     public void deleteOrder(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Order not found");
-        }
-        orderRepository.deleteById(id);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        dashboardCounterService.recordOrderChange(OrderSnapshot.of(order), null);
+        orderRepository.delete(order);
+        globalSearchIndex.removed(GlobalSearchIndex.EntityType.ORDER, id);
+        resourceAvailabilityIndex.orderRemoved(id);
+        recordOrderActivity(id, ActivityLog.Status.WARNING, "Sipariş Silindi",
+                order.getOrderNumber() + " numaralı sipariş silindi");
     }
 
     @Override
@@ -172,45 +401,130 @@ public class OrderServiceImpl implements OrderService {
             }
         }
 
+        OrderSearchCriteria criteria = OrderSearchCriteria.builder()
+                .customerId(customerId)
+                .salesPersonId(salesPersonId)
+                .fleetPersonId(fleetPersonId)
+                .operationPersonId(operationPersonId)
+                .tripStatus(tripStatusEnum)
+                .build();
         return orderRepository
-                .findOrdersWithFilters(customerId, salesPersonId, fleetPersonId, operationPersonId, tripStatusEnum)
+                .findAll(OrderSpecifications.matching(criteria), Sort.by(Sort.Direction.DESC, "createdAt", "id"))
                 .stream()
                 .map(this::convertToDTO)
                 .toList();
     }
 
     @Override
-    public OrderResponseDTO assignToOperation(Long orderId, Long operationPersonId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+    @Transactional(readOnly = true)
+    public Page<OrderResponseDTO> searchOrders(OrderSearchCriteria criteria, Pageable pageable) {
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Pageable sortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                OrderSpecifications.searchSort(pageable.getSort()));
+
+        return orderRepository.findAll(OrderSpecifications.matching(criteria), sortedPageable)
+                .map(this::convertToDTO);
+    }
+
+    @Override
+    public OrderResponseDTO assignToOperation(Long orderId, Long operationPersonId, Long expectedVersion) {
+        OrderState state = findState(orderId);
 
         User operationPerson = userRepository.findById(operationPersonId)
                 .orElseThrow(() -> new ResourceNotFoundException("Operation person not found"));
 
-        order.setOperationPerson(operationPerson);
-        order.setUpdatedAt(OffsetDateTime.now());
-
-        return convertToDTO(orderRepository.save(order));
+        changeOperationPerson(state, operationPerson, expectedVersion);
+        return getOrderById(orderId);
     }
 
     @Override
-    public OrderResponseDTO assignToFleet(Long orderId, Long fleetPersonId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+    public OrderResponseDTO assignToFleet(Long orderId, Long fleetPersonId, Long expectedVersion) {
+        OrderState state = findState(orderId);
 
         User fleetPerson = userRepository.findById(fleetPersonId)
                 .orElseThrow(() -> new ResourceNotFoundException("Fleet person not found"));
 
-        order.setFleetPerson(fleetPerson);
-        order.setUpdatedAt(OffsetDateTime.now());
+        // Aynı atamanın tekrarı (ör. istemcinin yeniden denemesi) yazım yapmaz
+        if (!fleetPerson.getId().equals(state.getFleetPersonId())) {
+            checkVersion(state.getVersion(), expectedVersion);
+            OffsetDateTime now = OffsetDateTime.now();
+            requireUpdated(orderRepository.updateFleetPerson(orderId, state.getVersion(), fleetPerson, now));
+            recordStateChange(state, state.getTripStatus(), state.getOperationPersonId() != null, now);
+            recordOrderActivity(orderId, ActivityLog.Status.INFO, "Filo Sorumlusu Atandı",
+                    state.getOrderNumber() + " numaralı sipariş " + fleetPerson.getUsername() + " kullanıcısına atandı");
+        }
+        return getOrderById(orderId);
+    }
+
+    private Order buildOrder(OrderCreateDTO createDTO, Customer customer, User salesPerson, Vehicle assignedTruck,
+            Trailer assignedTrailer, Driver assignedDriver, String orderNumber, String tripNumber) {
+        return Order.builder()
+                .orderNumber(orderNumber)
+                .customer(customer)
+                .departureCountry(createDTO.getDepartureCountry())
+                .departureCity(createDTO.getDepartureCity())
+                .departureDistrict(createDTO.getDepartureDistrict())
+                .departurePostalCode(createDTO.getDeparturePostalCode())
+                .departureAddress(createDTO.getDepartureAddress())
+                .departureContactName(createDTO.getDepartureContactName())
+                .departureContactPhone(createDTO.getDepartureContactPhone())
+                .departureContactEmail(createDTO.getDepartureContactEmail())
+                .arrivalCountry(createDTO.getArrivalCountry())
+                .arrivalCity(createDTO.getArrivalCity())
+                .arrivalDistrict(createDTO.getArrivalDistrict())
+                .arrivalPostalCode(createDTO.getArrivalPostalCode())
+                .arrivalAddress(createDTO.getArrivalAddress())
+                .arrivalContactName(createDTO.getArrivalContactName())
+                .arrivalContactPhone(createDTO.getArrivalContactPhone())
+                .arrivalContactEmail(createDTO.getArrivalContactEmail())
+                .cargoWidth(createDTO.getCargoWidth())
+                .cargoLength(createDTO.getCargoLength())
+                .cargoHeight(createDTO.getCargoHeight())
+                .cargoWeightKg(createDTO.getCargoWeightKg())
+                .cargoType(createDTO.getCargoType())
+                .canTransfer(createDTO.getCanTransfer())
+                .salesPerson(salesPerson)
+                .assignedTruck(assignedTruck)
+                .assignedTrailer(assignedTrailer)
+                .assignedDriver(assignedDriver)
+                .quotePrice(createDTO.getQuotePrice())
+                .actualPrice(createDTO.getActualPrice())
+                .supplyType(createDTO.getSupplyType())
+                .tripNumber(tripNumber)
+                .customsAddress(createDTO.getCustomsAddress())
+                .loadingDate(createDTO.getLoadingDate())
+                .deadlineDate(createDTO.getDeadlineDate())
+                .estimatedArrivalDate(createDTO.getEstimatedArrivalDate())
+                .tripStatus(createDTO.getTripStatus())
+                .build();
+    }
 
-        return convertToDTO(orderRepository.save(order));
+    private static <T> Map<Long, T> findAllByIds(JpaRepository<T, Long> repository, List<OrderCreateDTO> createDTOs,
+            Function<OrderCreateDTO, Long> referenceId, Function<T, Long> entityId) {
+        Set<Long> ids = createDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(referenceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Collections.emptyMap(); // Map.of() null anahtar sorgusunda hata verir
+        }
+        return repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(entityId, Function.identity()));
+    }
+
+    private static void checkReference(List<String> rowErrors, Long id, Map<Long, ?> found, String name) {
+        if (id != null && !found.containsKey(id)) {
+            rowErrors.add(name + " not found: " + id);
+        }
     }
 
     // Sefer numarası oluşturma metodu
     private String generateTripNumber() {
-        // Basit bir sefer numarası oluşturma: SF + timestamp
-        return "SF" + System.currentTimeMillis();
+        // SF + zaman sıralı, node bazlı benzersiz numara (veritabanı erişimi yok)
+        return tripNumberGenerator.nextTripNumber();
     }
 
     // Mantıklı sipariş numarası oluşturma metodu (16 hane: YYMMDDCCSSSSSSSS)
@@ -230,33 +544,27 @@ public class OrderServiceImpl implements OrderService {
         return datePrefix + countryCode + sequenceNumber;
     }
 
-    // Ülke kodunu veritabanından getir
+    // Ülke kodunu getir
     private String getCountryCode(String country) {
         if (country == null)
             return "00";
 
-        // Önce veritabanından ülke kodunu bul
-        return countryCodeRepository.findByAnyCountryName(country.trim())
-                .map(CountryCode::getCountryCodeNumeric)
+        // Bellekteki ülke kodu indeksinden bul
+        return countryCodeIndex.findNumericCode(country)
                 .orElse("00"); // Varsayılan kod
     }
 
     // Günlük sequence number oluştur (8 haneli: 00000001-99999999)
     private String getDailySequenceNumber(String datePrefix, String countryCode) {
-        // Aynı gün ve ülke için kaç order var kontrol et
-        String pattern = datePrefix + countryCode + "%";
-        Long count = orderRepository.countByOrderNumberLike(pattern);
-
-        // Sequence number: 00000001, 00000002, 00000003...
-        long nextSequence = count + 1;
+        // Aynı gün ve ülke için bellekteki bloktan sıradaki numarayı al
+        long nextSequence = orderNumberSequenceAllocator.next(datePrefix, countryCode);
         return String.format("%08d", nextSequence);
     }
 
     // Teklif onaylama metodu
     @Override
-    public OrderResponseDTO approveQuote(Long orderId, Long approverUserId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+    public OrderResponseDTO approveQuote(Long orderId, Long approverUserId, Long expectedVersion) {
+        OrderState state = findState(orderId);
 
         User approver = userRepository.findById(approverUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -265,21 +573,14 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalArgumentException("User does not have quote approval authority");
         }
 
-        if (order.getTripStatus() != TripStatus.TEKLIF_ASAMASI) {
-            throw new IllegalArgumentException("Order is not in quote stage");
-        }
-
-        order.setTripStatus(TripStatus.ONAYLANAN_TEKLIF);
-        order.setUpdatedAt(OffsetDateTime.now());
-
-        return convertToDTO(orderRepository.save(order));
+        changeQuoteStatus(state, TripStatus.ONAYLANAN_TEKLIF, expectedVersion);
+        return getOrderById(orderId);
     }
 
     // Teklif iptal etme metodu
     @Override
-    public OrderResponseDTO cancelQuote(Long orderId, Long cancelerUserId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+    public OrderResponseDTO cancelQuote(Long orderId, Long cancelerUserId, Long expectedVersion) {
+        OrderState state = findState(orderId);
 
         User canceler = userRepository.findById(cancelerUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -288,22 +589,15 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalArgumentException("User does not have quote cancellation authority");
         }
 
-        if (order.getTripStatus() != TripStatus.TEKLIF_ASAMASI) {
-            throw new IllegalArgumentException("Order is not in quote stage");
-        }
-
-        order.setTripStatus(TripStatus.IPTAL_EDILDI);
-        order.setUpdatedAt(OffsetDateTime.now());
-
-        return convertToDTO(orderRepository.save(order));
+        changeQuoteStatus(state, TripStatus.IPTAL_EDILDI, expectedVersion);
+        return getOrderById(orderId);
     }
 
     // Operasyoncu atama metodu (operasyoncu kendi yerine başkasını atayabilir)
     @Override
     public OrderResponseDTO assignToOperationByOperation(Long orderId, Long newOperationPersonId,
-            Long currentOperationPersonId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+            Long currentOperationPersonId, Long expectedVersion) {
+        OrderState state = findState(orderId);
 
         User currentOperationPerson = userRepository.findById(currentOperationPersonId)
                 .orElseThrow(() -> new ResourceNotFoundException("Current operation person not found"));
@@ -316,10 +610,236 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalArgumentException("Current user is not an operation person");
         }
 
-        order.setOperationPerson(newOperationPerson);
-        order.setUpdatedAt(OffsetDateTime.now());
+        changeOperationPerson(state, newOperationPerson, expectedVersion);
+        return getOrderById(orderId);
+    }
+
+    // Durum ve atama değişiklikleri: entity yüklenmeden okunan version ile tek koşullu UPDATE
+
+    private OrderState findState(Long orderId) {
+        return orderRepository.findStateById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+    }
+
+    // İstemci okuduğu version'ı gönderdiyse sipariş o zamandan beri değişmemiş olmalı
+    private static void checkVersion(Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ConflictException("Order was modified by another user (version " + currentVersion
+                    + ", expected " + expectedVersion + "), reload it and try again");
+        }
+    }
+
+    // 0 satır: sipariş okunduktan sonra başka bir işlem tarafından güncellendi
+    private static void requireUpdated(int updatedRows) {
+        if (updatedRows == 0) {
+            throw new ConflictException("Order was modified by another user, reload it and try again");
+        }
+    }
+
+    private void changeQuoteStatus(OrderState state, TripStatus targetStatus, Long expectedVersion) {
+        // Zaten hedef durumdaysa (ör. istemcinin yeniden denemesi) yazım yapılmaz
+        if (state.getTripStatus() == targetStatus) {
+            return;
+        }
+        if (state.getTripStatus() != TripStatus.TEKLIF_ASAMASI) {
+            throw new IllegalArgumentException("Order is not in quote stage");
+        }
+        checkVersion(state.getVersion(), expectedVersion);
+        OffsetDateTime now = OffsetDateTime.now();
+        requireUpdated(orderRepository.updateTripStatus(state.getId(), state.getVersion(), targetStatus, now));
+        recordStateChange(state, targetStatus, state.getOperationPersonId() != null, now);
+        resourceAvailabilityIndex.orderChanged(state, targetStatus, state.getAssignedTruckId(),
+                state.getAssignedTrailerId(), state.getAssignedDriverId());
+        if (targetStatus == TripStatus.ONAYLANAN_TEKLIF) {
+            recordOrderActivity(state.getId(), ActivityLog.Status.SUCCESS, "Teklif Onaylandı",
+                    state.getOrderNumber() + " numaralı siparişin teklifi onaylandı");
+        } else {
+            recordOrderActivity(state.getId(), ActivityLog.Status.WARNING, "Teklif İptal Edildi",
+                    state.getOrderNumber() + " numaralı siparişin teklifi iptal edildi");
+        }
+    }
+
+    private void changeOperationPerson(OrderState state, User operationPerson, Long expectedVersion) {
+        if (operationPerson.getId().equals(state.getOperationPersonId())) {
+            return;
+        }
+        checkVersion(state.getVersion(), expectedVersion);
+        OffsetDateTime now = OffsetDateTime.now();
+        requireUpdated(orderRepository.updateOperationPerson(state.getId(), state.getVersion(), operationPerson, now));
+        recordStateChange(state, state.getTripStatus(), true, now);
+        recordOrderActivity(state.getId(), ActivityLog.Status.INFO, "Operasyoncu Atandı",
+                state.getOrderNumber() + " numaralı sipariş " + operationPerson.getUsername() + " kullanıcısına atandı");
+    }
+
+    private void recordOrderActivity(Long orderId, ActivityLog.Status status, String title, String message) {
+        activityLog.record(ActivityLog.ActivityType.ORDER, orderId, status, title, message);
+    }
+
+    private void recordStateChange(OrderState state, TripStatus tripStatus, boolean operationAssigned,
+            OffsetDateTime updatedAt) {
+        OrderSnapshot before = OrderSnapshot.of(state);
+        dashboardCounterService.recordOrderChange(before, before.updated(tripStatus, operationAssigned, updatedAt));
+    }
+
+    // Kaynak rezervasyonları: bir kamyon, dorse veya şoför aynı tarihlerde tek siparişe ayrılabilir
+
+    private static BookingWindow bookingWindow(Order order) {
+        return ResourceAvailabilityIndex.window(order.getLoadingDate(), order.getDeadlineDate(),
+                order.getEstimatedArrivalDate());
+    }
+
+    /**
+     * Kaynaklar aralıkta başka bir siparişe ayrılmışsa ConflictException fırlatır. Bellekteki indeks
+     * çoğu çakışmayı sorgusuz yakalar; ardından kaynak satırları kilitlenip veritabanında tekrar
+     * bakılır, böylece aynı kaynağa eşzamanlı iki atama (veya başka bir instance'taki atama) geçemez.
+     */
+    private void reserveResources(Long orderId, TripStatus tripStatus, BookingWindow window, Long truckId,
+            Long trailerId, Long driverId) {
+        if (window == null || !ResourceAvailabilityIndex.holdsResources(tripStatus)
+                || (truckId == null && trailerId == null && driverId == null)) {
+            return;
+        }
+        String conflict = findBookingConflict(orderId, window, truckId, trailerId, driverId);
+        if (conflict != null) {
+            throw new ConflictException(conflict);
+        }
+
+        // Kilit sırası her yerde aynı (kamyon, dorse, şoför) ki deadlock oluşmasın
+        if (truckId != null) {
+            entityManager.find(Vehicle.class, truckId, LockModeType.PESSIMISTIC_WRITE);
+        }
+        if (trailerId != null) {
+            entityManager.find(Trailer.class, trailerId, LockModeType.PESSIMISTIC_WRITE);
+        }
+        if (driverId != null) {
+            entityManager.find(Driver.class, driverId, LockModeType.PESSIMISTIC_WRITE);
+        }
+        List<Object[]> overlapping = orderId != null
+                ? orderRepository.findOverlappingBookingsExcluding(orderId, window.from(), window.to(),
+                        ResourceAvailabilityIndex.RELEASED_STATUSES, truckId, trailerId, driverId)
+                : orderRepository.findOverlappingBookings(window.from(), window.to(),
+                        ResourceAvailabilityIndex.RELEASED_STATUSES, truckId, trailerId, driverId);
+        if (!overlapping.isEmpty()) {
+            Object[] row = overlapping.get(0);
+            BookingWindow booked = ResourceAvailabilityIndex.window((LocalDate) row[2], (LocalDate) row[3],
+                    (LocalDate) row[4]);
+            ResourceType type = truckId != null && truckId.equals(row[5]) ? ResourceType.TRUCK
+                    : trailerId != null && trailerId.equals(row[6]) ? ResourceType.TRAILER : ResourceType.DRIVER;
+            Long resourceId = type == ResourceType.TRUCK ? truckId : type == ResourceType.TRAILER ? trailerId : driverId;
+            throw new ConflictException(bookingConflictMessage(type, resourceId, (String) row[1], booked));
+        }
+    }
+
+    // İçe aktarılacak siparişlerin kaynakları, reserveResources ile aynı sırada (kamyon, dorse, şoför)
+    // ve tür içinde id sırasıyla kilitlenir ki eşzamanlı işlemlerle deadlock oluşmasın
+    private void lockImportResources(List<OrderCreateDTO> createDTOs) {
+        Set<Long> truckIds = new TreeSet<>();
+        Set<Long> trailerIds = new TreeSet<>();
+        Set<Long> driverIds = new TreeSet<>();
+        for (OrderCreateDTO createDTO : createDTOs) {
+            if (createDTO == null || !ResourceAvailabilityIndex.holdsResources(createDTO.getTripStatus())
+                    || createDTO.getLoadingDate() == null) {
+                continue;
+            }
+            addIfPresent(truckIds, createDTO.getAssignedTruckId());
+            addIfPresent(trailerIds, createDTO.getAssignedTrailerId());
+            addIfPresent(driverIds, createDTO.getAssignedDriverId());
+        }
+        truckIds.forEach(id -> entityManager.find(Vehicle.class, id, LockModeType.PESSIMISTIC_WRITE));
+        trailerIds.forEach(id -> entityManager.find(Trailer.class, id, LockModeType.PESSIMISTIC_WRITE));
+        driverIds.forEach(id -> entityManager.find(Driver.class, id, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * İçe aktarma satırının kaynaklarını dosyanın önceki satırlarına ve kayıtlı rezervasyonlara karşı
+     * ayırır; çakışma varsa açıklamasını döner. Kaynak satırları lockImportResources ile kilitlidir.
+     */
+    private String reserveImportRow(Map<ResourceType, Map<Long, List<RowBooking>>> fileBookings, int row,
+            OrderCreateDTO createDTO) {
+        BookingWindow window = ResourceAvailabilityIndex.window(createDTO.getLoadingDate(),
+                createDTO.getDeadlineDate(), createDTO.getEstimatedArrivalDate());
+        if (window == null) {
+            return null;
+        }
+        Map<ResourceType, Long> resources = new EnumMap<>(ResourceType.class);
+        if (createDTO.getAssignedTruckId() != null) {
+            resources.put(ResourceType.TRUCK, createDTO.getAssignedTruckId());
+        }
+        if (createDTO.getAssignedTrailerId() != null) {
+            resources.put(ResourceType.TRAILER, createDTO.getAssignedTrailerId());
+        }
+        if (createDTO.getAssignedDriverId() != null) {
+            resources.put(ResourceType.DRIVER, createDTO.getAssignedDriverId());
+        }
+
+        for (Map.Entry<ResourceType, Long> resource : resources.entrySet()) {
+            for (RowBooking booking : fileBookings.getOrDefault(resource.getKey(), Map.of())
+                    .getOrDefault(resource.getValue(), List.of())) {
+                if (!booking.window().from().isAfter(window.to()) && !booking.window().to().isBefore(window.from())) {
+                    return bookingConflictMessage(resource.getKey(), resource.getValue(), "in row " + booking.row(),
+                            booking.window());
+                }
+            }
+        }
+        try {
+            reserveResources(null, createDTO.getTripStatus(), window, createDTO.getAssignedTruckId(),
+                    createDTO.getAssignedTrailerId(), createDTO.getAssignedDriverId());
+        } catch (ConflictException e) {
+            return e.getMessage();
+        }
+
+        resources.forEach((type, id) -> fileBookings.computeIfAbsent(type, key -> new HashMap<>())
+                .computeIfAbsent(id, key -> new ArrayList<>())
+                .add(new RowBooking(row, window)));
+        return null;
+    }
+
+    private record RowBooking(int row, BookingWindow window) {
+    }
+
+    // İndekse göre ilk çakışan rezervasyonun açıklaması; çakışma yoksa null
+    private String findBookingConflict(Long orderId, BookingWindow window, Long truckId, Long trailerId,
+            Long driverId) {
+        if (window == null) {
+            return null;
+        }
+        Map<ResourceType, Long> resources = new EnumMap<>(ResourceType.class);
+        if (truckId != null) {
+            resources.put(ResourceType.TRUCK, truckId);
+        }
+        if (trailerId != null) {
+            resources.put(ResourceType.TRAILER, trailerId);
+        }
+        if (driverId != null) {
+            resources.put(ResourceType.DRIVER, driverId);
+        }
+        for (Map.Entry<ResourceType, Long> resource : resources.entrySet()) {
+            List<ResourceBookingDTO> bookings = resourceAvailabilityIndex.findBookings(resource.getKey(),
+                    resource.getValue(), window.from(), window.to(), orderId);
+            if (!bookings.isEmpty()) {
+                ResourceBookingDTO booking = bookings.get(0);
+                return bookingConflictMessage(resource.getKey(), resource.getValue(), booking.getOrderNumber(),
+                        new BookingWindow(booking.getFrom(), booking.getTo()));
+            }
+        }
+        return null;
+    }
 
-        return convertToDTO(orderRepository.save(order));
+    private static String bookingConflictMessage(ResourceType type, Long resourceId, String orderNumber,
+            BookingWindow booked) {
+        String resource = switch (type) {
+            case TRUCK -> "Vehicle";
+            case TRAILER -> "Trailer";
+            case DRIVER -> "Driver";
+        };
+        return resource + " " + resourceId + " is already booked by order " + orderNumber + " from "
+                + booked.from() + " to " + booked.to();
     }
 
     private void updateOrderFields(Order order, OrderUpdateDTO updateDTO) {
@@ -438,36 +958,63 @@ public class OrderServiceImpl implements OrderService {
                 .tripStatusDisplayName(order.getTripStatus() != null ? order.getTripStatus().getDisplayName() : null)
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
+                .version(order.getVersion())
                 .build();
     }
 
     @Override
-    public OrderResponseDTO assignFleet(Long orderId, Long vehicleId, Long trailerId, Long driverId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+    public OrderResponseDTO assignFleet(Long orderId, Long vehicleId, Long trailerId, Long driverId,
+            Long expectedVersion) {
+        OrderState state = findState(orderId);
+
+        // Verilmeyen kaynaklar mevcut atamasını korur (yalnızca referans, sorgu yok)
+        Vehicle truck = state.getAssignedTruckId() != null
+                ? entityManager.getReference(Vehicle.class, state.getAssignedTruckId()) : null;
+        Trailer trailer = state.getAssignedTrailerId() != null
+                ? entityManager.getReference(Trailer.class, state.getAssignedTrailerId()) : null;
+        Driver driver = state.getAssignedDriverId() != null
+                ? entityManager.getReference(Driver.class, state.getAssignedDriverId()) : null;
 
         // Vehicle assignment
         if (vehicleId != null) {
-            Vehicle vehicle = vehicleRepository.findById(vehicleId)
-                    .orElseThrow(() -> new RuntimeException("Vehicle not found with id: " + vehicleId));
-            order.setAssignedTruck(vehicle);
+            truck = vehicleRepository.findById(vehicleId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with id: " + vehicleId));
         }
 
         // Trailer assignment
         if (trailerId != null) {
-            Trailer trailer = trailerRepository.findById(trailerId)
-                    .orElseThrow(() -> new RuntimeException("Trailer not found with id: " + trailerId));
-            order.setAssignedTrailer(trailer);
+            trailer = trailerRepository.findById(trailerId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Trailer not found with id: " + trailerId));
         }
 
         // Driver assignment
         if (driverId != null) {
-            Driver driver = driverRepository.findById(driverId)
-                    .orElseThrow(() -> new RuntimeException("Driver not found with id: " + driverId));
-            order.setAssignedDriver(driver);
+            driver = driverRepository.findById(driverId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + driverId));
         }
 
-        return convertToDTO(orderRepository.save(order));
+        boolean changed = (vehicleId != null && !vehicleId.equals(state.getAssignedTruckId()))
+                || (trailerId != null && !trailerId.equals(state.getAssignedTrailerId()))
+                || (driverId != null && !driverId.equals(state.getAssignedDriverId()));
+        if (changed) {
+            checkVersion(state.getVersion(), expectedVersion);
+            // Yalnızca yeni atanan kaynaklar kontrol edilir; korunanlar zaten bu siparişe ayrılmış
+            reserveResources(orderId, state.getTripStatus(),
+                    ResourceAvailabilityIndex.window(state.getLoadingDate(), state.getDeadlineDate(),
+                            state.getEstimatedArrivalDate()),
+                    vehicleId != null && !vehicleId.equals(state.getAssignedTruckId()) ? vehicleId : null,
+                    trailerId != null && !trailerId.equals(state.getAssignedTrailerId()) ? trailerId : null,
+                    driverId != null && !driverId.equals(state.getAssignedDriverId()) ? driverId : null);
+            OffsetDateTime now = OffsetDateTime.now();
+            requireUpdated(orderRepository.updateFleetResources(orderId, state.getVersion(), truck, trailer, driver, now));
+            recordStateChange(state, state.getTripStatus(), state.getOperationPersonId() != null, now);
+            resourceAvailabilityIndex.orderChanged(state, state.getTripStatus(),
+                    truck != null ? truck.getId() : null, trailer != null ? trailer.getId() : null,
+                    driver != null ? driver.getId() : null);
+            recordOrderActivity(orderId, ActivityLog.Status.INFO, "Araç Ataması Güncellendi",
+                    state.getOrderNumber() + " numaralı siparişin araç, dorse ve şoför ataması güncellendi");
+        }
+        return getOrderById(orderId);
     }
 
     @Override
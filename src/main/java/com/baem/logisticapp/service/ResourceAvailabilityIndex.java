@@ -0,0 +1,450 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.dto.AvailableResourceDTO;
+import com.baem.logisticapp.dto.ResourceBookingDTO;
+import com.baem.logisticapp.entity.Order;
+import com.baem.logisticapp.entity.TripStatus;
+import com.baem.logisticapp.repository.DriverRepository;
+import com.baem.logisticapp.repository.OrderRepository;
+import com.baem.logisticapp.repository.OrderState;
+import com.baem.logisticapp.repository.TrailerRepository;
+import com.baem.logisticapp.repository.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Kamyon, dorse ve şoförlerin sipariş rezervasyonlarını tutan bellek içi aralık indeksi.
+ * Her kaynak için rezervasyonlar başlangıç tarihine göre sıralıdır; bir tarih aralığıyla
+ * çakışanlar, başlangıcı aralığın sonundan önce ve en uzun rezervasyon kadar geriden
+ * başlayanlar taranarak bulunur. Açılışta ve periyodik olarak yeniden oluşturulur,
+ * aradaki değişiklikler commit sonrası uygulanır.
+ */
+@Component
+@Slf4j
+public class ResourceAvailabilityIndex {
+
+    public enum ResourceType {
+        TRUCK, TRAILER, DRIVER;
+
+        public static ResourceType from(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid resource type: " + value);
+            }
+        }
+    }
+
+    // Bu durumlardaki siparişler kaynaklarını bırakmış sayılır
+    public static final Set<TripStatus> RELEASED_STATUSES =
+            EnumSet.of(TripStatus.IPTAL_EDILDI, TripStatus.REDDEDILDI, TripStatus.TESLIM_EDILDI);
+
+    private static final Comparator<Booking> BY_START = Comparator.comparing(Booking::from)
+            .thenComparing(Booking::orderId);
+
+    private final OrderRepository orderRepository;
+    private final VehicleRepository vehicleRepository;
+    private final TrailerRepository trailerRepository;
+    private final DriverRepository driverRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // lock ile korunur
+    private IndexData data = new IndexData();
+    // Yeniden oluşturma sürerken gelen değişiklikler; yeni indekse de uygulanır (lock ile korunur)
+    private List<Consumer<IndexData>> pendingDuringRebuild;
+    private volatile boolean built;
+
+    public ResourceAvailabilityIndex(OrderRepository orderRepository,
+                                     VehicleRepository vehicleRepository,
+                                     TrailerRepository trailerRepository,
+                                     DriverRepository driverRepository) {
+        this.orderRepository = orderRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.trailerRepository = trailerRepository;
+        this.driverRepository = driverRepository;
+    }
+
+    /**
+     * Sipariş tarihlerinden rezervasyon aralığı: yükleme tarihinden tahmini varışa (yoksa termin
+     * tarihine) kadar, iki uç dahil. Yükleme tarihi olmayan sipariş kaynak ayırmaz.
+     */
+    public static BookingWindow window(LocalDate loadingDate, LocalDate deadlineDate, LocalDate estimatedArrivalDate) {
+        if (loadingDate == null) {
+            return null;
+        }
+        LocalDate end = estimatedArrivalDate != null ? estimatedArrivalDate : deadlineDate;
+        return new BookingWindow(loadingDate, end != null && end.isAfter(loadingDate) ? end : loadingDate);
+    }
+
+    public static boolean holdsResources(TripStatus tripStatus) {
+        return tripStatus == null || !RELEASED_STATUSES.contains(tripStatus);
+    }
+
+    /**
+     * İndeksi veritabanından baştan oluşturur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${availability.index.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${availability.index.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        withWriteLock(() -> pendingDuringRebuild = new ArrayList<>());
+        IndexData rebuilt = new IndexData();
+        try {
+            for (Object[] row : vehicleRepository.findAvailabilityIndexRows()) {
+                rebuilt.putResource(ResourceType.TRUCK, (Long) row[0], (String) row[1]);
+            }
+            for (Object[] row : trailerRepository.findAvailabilityIndexRows()) {
+                rebuilt.putResource(ResourceType.TRAILER, (Long) row[0], (String) row[1]);
+            }
+            for (Object[] row : driverRepository.findAvailabilityIndexRows()) {
+                rebuilt.putResource(ResourceType.DRIVER, (Long) row[0], row[1] + " " + row[2]);
+            }
+            for (Object[] row : orderRepository.findBookingRows(RELEASED_STATUSES)) {
+                BookingWindow window = window((LocalDate) row[2], (LocalDate) row[3], (LocalDate) row[4]);
+                rebuilt.putOrder(new OrderBooking(new Booking((Long) row[0], (String) row[1], window.from(), window.to()),
+                        (Long) row[5], (Long) row[6], (Long) row[7]));
+            }
+        } catch (RuntimeException e) {
+            withWriteLock(() -> pendingDuringRebuild = null);
+            throw e;
+        }
+        withWriteLock(() -> {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            data = rebuilt;
+        });
+        built = true;
+        log.info("Availability index rebuilt with {} bookings in {} ms", rebuilt.bookingCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void orderSaved(Order order) {
+        OrderBooking booking = orderBooking(order);
+        Long orderId = order.getId();
+        applyAfterCommit(index -> index.putOrder(orderId, booking));
+    }
+
+    /**
+     * Toplu oluşturulan siparişleri tek seferde (tek kilitle) indeksler
+     */
+    public void ordersSaved(Collection<Order> orders) {
+        Map<Long, OrderBooking> bookings = new HashMap<>();
+        for (Order order : orders) {
+            bookings.put(order.getId(), orderBooking(order));
+        }
+        applyAfterCommit(index -> bookings.forEach(index::putOrder));
+    }
+
+    /**
+     * Koşullu UPDATE ile değişen sipariş: entity yüklenmeden okunan alanlar ve yeni değerlerle
+     */
+    public void orderChanged(OrderState state, TripStatus tripStatus, Long truckId, Long trailerId, Long driverId) {
+        BookingWindow window = window(state.getLoadingDate(), state.getDeadlineDate(), state.getEstimatedArrivalDate());
+        OrderBooking booking = window != null && holdsResources(tripStatus)
+                ? new OrderBooking(new Booking(state.getId(), state.getOrderNumber(), window.from(), window.to()),
+                        truckId, trailerId, driverId)
+                : null;
+        Long orderId = state.getId();
+        applyAfterCommit(index -> index.putOrder(orderId, booking));
+    }
+
+    public void orderRemoved(Long orderId) {
+        applyAfterCommit(index -> index.putOrder(orderId, null));
+    }
+
+    /**
+     * Kaynak eklendi/güncellendi; pasif kaynaklar uygun listesinde gösterilmez
+     */
+    public void resourceSaved(ResourceType type, Long id, String label, Boolean active) {
+        if (Boolean.TRUE.equals(active)) {
+            applyAfterCommit(index -> index.putResource(type, id, label));
+        } else {
+            resourceRemoved(type, id);
+        }
+    }
+
+    public void resourceRemoved(ResourceType type, Long id) {
+        applyAfterCommit(index -> index.removeResource(type, id));
+    }
+
+    /**
+     * Verilen aralıkta (iki uç dahil) hiçbir rezervasyonu olmayan aktif kaynaklar, türe ve id'ye göre sıralı
+     *
+     * @param types boş veya null ise tüm türler
+     */
+    public List<AvailableResourceDTO> findAvailable(Set<ResourceType> types, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        Set<ResourceType> searchedTypes = types == null || types.isEmpty() ? EnumSet.allOf(ResourceType.class) : types;
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            List<AvailableResourceDTO> available = new ArrayList<>();
+            for (ResourceType type : searchedTypes) {
+                String typeName = type.name().toLowerCase(Locale.ROOT);
+                Map<Long, Schedule> schedules = data.schedules.get(type);
+                data.resources.get(type).forEach((id, label) -> {
+                    Schedule schedule = schedules.get(id);
+                    if (schedule == null || schedule.isFree(from, to)) {
+                        available.add(AvailableResourceDTO.builder()
+                                .type(typeName)
+                                .id(id)
+                                .label(label)
+                                .build());
+                    }
+                });
+            }
+            return available;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bir kaynağın verilen aralıkla çakışan rezervasyonları, başlangıç tarihine göre sıralı
+     *
+     * @param excludeOrderId bu siparişin kendi rezervasyonu sayılmaz (null olabilir)
+     */
+    public List<ResourceBookingDTO> findBookings(ResourceType type, Long resourceId, LocalDate from, LocalDate to,
+            Long excludeOrderId) {
+        validateRange(from, to);
+        ensureBuilt();
+
+        lock.readLock().lock();
+        try {
+            Schedule schedule = data.schedules.get(type).get(resourceId);
+            if (schedule == null) {
+                return List.of();
+            }
+            List<ResourceBookingDTO> bookings = new ArrayList<>();
+            schedule.forEachOverlapping(from, to, booking -> {
+                if (!booking.orderId().equals(excludeOrderId)) {
+                    bookings.add(ResourceBookingDTO.builder()
+                            .orderId(booking.orderId())
+                            .orderNumber(booking.orderNumber())
+                            .from(booking.from())
+                            .to(booking.to())
+                            .build());
+                }
+            });
+            return bookings;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kaynak aralıkta (iki uç dahil) boş mu
+     *
+     * @param excludeOrderId bu siparişin kendi rezervasyonu sayılmaz (null olabilir)
+     */
+    public boolean isFree(ResourceType type, Long resourceId, LocalDate from, LocalDate to, Long excludeOrderId) {
+        return findBookings(type, resourceId, from, to, excludeOrderId).isEmpty();
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The to date must not be before the from date");
+        }
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            rebuild();
+        }
+    }
+
+    private static OrderBooking orderBooking(Order order) {
+        BookingWindow window = window(order.getLoadingDate(), order.getDeadlineDate(), order.getEstimatedArrivalDate());
+        if (window == null || !holdsResources(order.getTripStatus())) {
+            return null;
+        }
+        return new OrderBooking(new Booking(order.getId(), order.getOrderNumber(), window.from(), window.to()),
+                order.getAssignedTruck() != null ? order.getAssignedTruck().getId() : null,
+                order.getAssignedTrailer() != null ? order.getAssignedTrailer().getId() : null,
+                order.getAssignedDriver() != null ? order.getAssignedDriver().getId() : null);
+    }
+
+    private void applyAfterCommit(Consumer<IndexData> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<IndexData> change) {
+        withWriteLock(() -> {
+            change.accept(data);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rezervasyon aralığı, iki uç dahil
+     */
+    public record BookingWindow(LocalDate from, LocalDate to) {
+    }
+
+    private record Booking(Long orderId, String orderNumber, LocalDate from, LocalDate to) {
+
+        long days() {
+            return ChronoUnit.DAYS.between(from, to);
+        }
+    }
+
+    private record OrderBooking(Booking booking, Long truckId, Long trailerId, Long driverId) {
+    }
+
+    /**
+     * Tek bir kaynağın rezervasyonları
+     */
+    private static final class Schedule {
+
+        private final NavigableSet<Booking> bookings = new TreeSet<>(BY_START);
+        // En uzun rezervasyonun gün sayısı; başlangıcı sorgudan bundan daha önce olan çakışamaz.
+        // Silmede küçültülmez (tarama biraz genişler), yeniden oluşturmada sıfırlanır
+        private long longestDays;
+
+        void add(Booking booking) {
+            bookings.add(booking);
+            longestDays = Math.max(longestDays, booking.days());
+        }
+
+        boolean remove(Booking booking) {
+            bookings.remove(booking);
+            return bookings.isEmpty();
+        }
+
+        boolean isFree(LocalDate from, LocalDate to) {
+            for (Booking booking : candidates(from, to)) {
+                if (!booking.to().isBefore(from)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void forEachOverlapping(LocalDate from, LocalDate to, Consumer<Booking> consumer) {
+            for (Booking booking : candidates(from, to)) {
+                if (!booking.to().isBefore(from)) {
+                    consumer.accept(booking);
+                }
+            }
+        }
+
+        private NavigableSet<Booking> candidates(LocalDate from, LocalDate to) {
+            Booking lower = new Booking(Long.MIN_VALUE, null, from.minusDays(longestDays), null);
+            Booking upper = new Booking(Long.MAX_VALUE, null, to, null);
+            return bookings.subSet(lower, true, upper, true);
+        }
+    }
+
+    private static final class IndexData {
+
+        // Aktif kaynakların gösterim adları, id sırasıyla
+        private final Map<ResourceType, TreeMap<Long, String>> resources = new EnumMap<>(ResourceType.class);
+        private final Map<ResourceType, Map<Long, Schedule>> schedules = new EnumMap<>(ResourceType.class);
+        private final Map<Long, OrderBooking> bookingsByOrder = new HashMap<>();
+
+        IndexData() {
+            for (ResourceType type : ResourceType.values()) {
+                resources.put(type, new TreeMap<>());
+                schedules.put(type, new HashMap<>());
+            }
+        }
+
+        int bookingCount() {
+            return bookingsByOrder.size();
+        }
+
+        void putResource(ResourceType type, Long id, String label) {
+            resources.get(type).put(id, label);
+        }
+
+        void removeResource(ResourceType type, Long id) {
+            resources.get(type).remove(id);
+        }
+
+        void putOrder(Long orderId, OrderBooking orderBooking) {
+            OrderBooking previous = bookingsByOrder.remove(orderId);
+            if (previous != null) {
+                forEachResource(previous, (type, id) -> {
+                    Map<Long, Schedule> byResource = schedules.get(type);
+                    if (byResource.get(id).remove(previous.booking())) {
+                        byResource.remove(id);
+                    }
+                });
+            }
+            if (orderBooking != null) {
+                putOrder(orderBooking);
+            }
+        }
+
+        void putOrder(OrderBooking orderBooking) {
+            if (orderBooking.truckId() == null && orderBooking.trailerId() == null && orderBooking.driverId() == null) {
+                return;
+            }
+            bookingsByOrder.put(orderBooking.booking().orderId(), orderBooking);
+            forEachResource(orderBooking, (type, id) ->
+                    schedules.get(type).computeIfAbsent(id, key -> new Schedule()).add(orderBooking.booking()));
+        }
+
+        private static void forEachResource(OrderBooking orderBooking,
+                BiConsumer<ResourceType, Long> action) {
+            if (orderBooking.truckId() != null) {
+                action.accept(ResourceType.TRUCK, orderBooking.truckId());
+            }
+            if (orderBooking.trailerId() != null) {
+                action.accept(ResourceType.TRAILER, orderBooking.trailerId());
+            }
+            if (orderBooking.driverId() != null) {
+                action.accept(ResourceType.DRIVER, orderBooking.driverId());
+            }
+        }
+    }
+}
@@ -6,9 +6,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Service
@@ -19,39 +22,49 @@ public class StatisticsService {
     private final VehicleRepository vehicleRepository;
     private final DriverRepository driverRepository;
     private final TrailerRepository trailerRepository;
-    private final OrderRepository orderRepository;
+    private final DashboardCounterService dashboardCounterService;
+    private final DriverComplianceCalendar driverComplianceCalendar;
+    private final ActivityLog activityLog;
+
+    private static final int MAX_RECENT_ACTIVITIES = 100;
+    private static final DateTimeFormatter NOTIFICATION_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
     public FleetDashboardStatsDTO getFleetDashboardStats(Long fleetPersonId) {
         log.info("Getting fleet dashboard stats for fleet person: {}", fleetPersonId);
-        
+
+        ResourceCounts vehicles = vehicleRepository.countTotalAndActive();
+        ResourceCounts drivers = driverRepository.countTotalAndActive();
+        ResourceCounts trailers = trailerRepository.countTotalAndActive();
+        OrderDashboardCounts orders = aggregateOrderCounts();
+
         // Vehicle stats
         var vehicleStats = FleetDashboardStatsDTO.VehicleStatsDTO.builder()
-                .total(vehicleRepository.countAll())
-                .active(vehicleRepository.countByActiveTrue())
+                .total(toInt(vehicles.getTotal()))
+                .active(toInt(vehicles.getActive()))
                 .maintenance(0) // Bu alanı ileriye erteleyebiliriz
-                .available(vehicleRepository.countByActiveTrue())
+                .available(toInt(vehicles.getActive()))
                 .build();
 
         // Driver stats  
         var driverStats = FleetDashboardStatsDTO.DriverStatsDTO.builder()
-                .total(driverRepository.countAll())
-                .active(driverRepository.countByActiveTrue())
+                .total(toInt(drivers.getTotal()))
+                .active(toInt(drivers.getActive()))
                 .onLeave(0) // Bu alanı ileriye erteleyebiliriz
                 .build();
 
         // Trailer stats
         var trailerStats = FleetDashboardStatsDTO.TrailerStatsDTO.builder()
-                .total(trailerRepository.countAll())
-                .active(trailerRepository.countByActiveTrue())
+                .total(toInt(trailers.getTotal()))
+                .active(toInt(trailers.getActive()))
                 .maintenance(0) // Bu alanı ileriye erteleyebiliriz
                 .build();
 
         // Offer stats (using orders as offers)
         var offerStats = FleetDashboardStatsDTO.OfferStatsDTO.builder()
-                .total(orderRepository.countAll())
-                .pending(orderRepository.countByStatus("PENDING"))
-                .approved(orderRepository.countByStatus("APPROVED"))
-                .completed(orderRepository.countByStatus("COMPLETED"))
+                .total(toInt(orders.getTotal()))
+                .pending(toInt(orders.getPending()))
+                .approved(toInt(orders.getApproved()))
+                .completed(toInt(orders.getCompleted()))
                 .build();
 
         return FleetDashboardStatsDTO.builder()
@@ -64,14 +77,12 @@ public class StatisticsService {
 
     public SalesDashboardStatsDTO getSalesDashboardStats(Long salesPersonId) {
         log.info("Getting sales dashboard stats for sales person: {}", salesPersonId);
-        
-        OffsetDateTime now = OffsetDateTime.now();
-        OffsetDateTime startOfThisMonth = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        OffsetDateTime startOfLastMonth = startOfThisMonth.minusMonths(1);
+
+        OrderDashboardCounts orders = aggregateOrderCounts();
 
         // Monthly stats
-        int thisMonthOrders = orderRepository.countByCreatedDateBetween(startOfThisMonth, now);
-        int lastMonthOrders = orderRepository.countByCreatedDateBetween(startOfLastMonth, startOfThisMonth);
+        int thisMonthOrders = toInt(orders.getCreatedThisMonth());
+        int lastMonthOrders = toInt(orders.getCreatedLastMonth());
         double growth = lastMonthOrders > 0 ? (double) (thisMonthOrders - lastMonthOrders) / lastMonthOrders : 0.0;
 
         var monthlyStats = SalesDashboardStatsDTO.MonthlyStatsDTO.builder()
@@ -82,50 +93,51 @@ public class StatisticsService {
 
         // Status breakdown
         var statusBreakdown = SalesDashboardStatsDTO.StatusBreakdownDTO.builder()
-                .approved(orderRepository.countByStatus("APPROVED"))
-                .pending(orderRepository.countByStatus("PENDING"))
-                .rejected(orderRepository.countByStatus("REJECTED"))
+                .approved(toInt(orders.getApproved()))
+                .pending(toInt(orders.getPending()))
+                .rejected(toInt(orders.getRejected()))
                 .build();
 
         // Financial data
         var financial = SalesDashboardStatsDTO.FinancialDTO.builder()
-                .totalValue(orderRepository.sumTotalAmount())
-                .monthlyValue(orderRepository.sumTotalAmountByCreatedDateBetween(startOfThisMonth, now))
-                .successRate(calculateSuccessRate())
+                .totalValue(toDouble(orders.getTotalValue()))
+                .monthlyValue(toDouble(orders.getMonthlyValue()))
+                .successRate(calculateSuccessRate(orders))
                 .build();
 
         return SalesDashboardStatsDTO.builder()
                 .monthlyStats(monthlyStats)
                 .statusBreakdown(statusBreakdown)
                 .financial(financial)
-                .needsOperatorAssignment(orderRepository.countByStatusAndAssignedOperatorIsNull("APPROVED"))
+                .needsOperatorAssignment(toInt(orders.getApprovedWithoutOperator()))
                 .build();
     }
 
     public OperatorDashboardStatsDTO getOperatorDashboardStats(Long operatorId) {
         log.info("Getting operator dashboard stats for operator: {}", operatorId);
-        
-        OffsetDateTime today = OffsetDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        OffsetDateTime tomorrow = today.plusDays(1);
+
+        OrderDashboardCounts orders = aggregateOrderCounts();
+        ResourceCounts vehicles = vehicleRepository.countTotalAndActive();
+        ResourceCounts drivers = driverRepository.countTotalAndActive();
 
         // Trip stats (using orders as trips)
         var tripStats = OperatorDashboardStatsDTO.TripStatsDTO.builder()
-                .active(orderRepository.countByStatus("IN_PROGRESS"))
-                .completedToday(orderRepository.countByStatusAndCompletedDateBetween("COMPLETED", today, tomorrow))
-                .delayed(orderRepository.countDelayed())
+                .active(toInt(orders.getInTransit()))
+                .completedToday(toInt(orders.getCompletedToday()))
+                .delayed(toInt(orders.getDelayed()))
                 .build();
 
         // Resource stats
         var resourceStats = OperatorDashboardStatsDTO.ResourceStatsDTO.builder()
-                .activeVehicles(vehicleRepository.countByActiveTrue())
-                .activeDrivers(driverRepository.countByActiveTrue())
-                .approvedOffers(orderRepository.countByStatus("APPROVED"))
+                .activeVehicles(toInt(vehicles.getActive()))
+                .activeDrivers(toInt(drivers.getActive()))
+                .approvedOffers(toInt(orders.getApproved()))
                 .build();
 
         // Assignment stats
         var assignmentStats = OperatorDashboardStatsDTO.AssignmentStatsDTO.builder()
-                .pendingAssignments(orderRepository.countByStatusAndAssignedOperatorIsNull("APPROVED"))
-                .todayAssignments(orderRepository.countByAssignedDateBetween(today, tomorrow))
+                .pendingAssignments(toInt(orders.getApprovedWithoutOperator()))
+                .todayAssignments(toInt(orders.getUpdatedToday()))
                 .build();
 
         return OperatorDashboardStatsDTO.builder()
@@ -135,62 +147,98 @@ public class StatisticsService {
                 .build();
     }
 
-    public List<RecentActivityDTO> getRecentActivities(Integer limit, String type, Long userId) {
-        log.info("Getting recent activities: limit={}, type={}, userId={}", limit, type, userId);
-        
-        // Mock data for now - in real implementation, you would have an activity log table
-        List<RecentActivityDTO> activities = new ArrayList<>();
-        
-        activities.add(RecentActivityDTO.builder()
-                .id(1L)
-                .type("truck")
-                .title("Araç Durumu Değişti")
-                .message("Tır #TRK-001 bakımdan döndü")
-                .timestamp(LocalDateTime.now().minusHours(2))
-                .relativeTime("2 saat önce")
-                .status("success")
-                .entityId(123L)
-                .build());
-                
-        activities.add(RecentActivityDTO.builder()
-                .id(2L)
-                .type("order")
-                .title("Yeni Sipariş")
-                .message("ABC Şirketi'nden yeni sipariş alındı")
-                .timestamp(LocalDateTime.now().minusHours(4))
-                .relativeTime("4 saat önce")
-                .status("info")
-                .entityId(456L)
-                .build());
-
-        return activities.stream().limit(limit != null ? limit : 10).toList();
+    public List<RecentActivityDTO> getRecentActivities(Integer limit, String type, Long userId, Long beforeId) {
+        log.info("Getting recent activities: limit={}, type={}, userId={}, beforeId={}", limit, type, userId, beforeId);
+
+        int pageSize = limit != null ? limit : 10;
+        if (pageSize < 1 || pageSize > MAX_RECENT_ACTIVITIES) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RECENT_ACTIVITIES);
+        }
+        ActivityLog.ActivityType activityType = type != null && !type.isBlank()
+                ? ActivityLog.ActivityType.fromKey(type.trim())
+                : null;
+
+        OffsetDateTime now = OffsetDateTime.now();
+        return activityLog.findRecent(pageSize, activityType, userId, beforeId).stream()
+                .map(activity -> RecentActivityDTO.builder()
+                        .id(activity.id())
+                        .type(activity.type().getKey())
+                        .title(activity.title())
+                        .message(activity.message())
+                        // Yanıt formatı UTC ('Z') olduğundan UTC'ye çevrilir
+                        .timestamp(activity.createdAt().atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())
+                        .relativeTime(relativeTime(activity.createdAt(), now))
+                        .status(activity.status().getKey())
+                        .entityId(activity.entityId())
+                        .build())
+                .toList();
     }
 
     public List<NotificationDTO> getDashboardNotifications(Long userId, Boolean unreadOnly) {
         log.info("Getting dashboard notifications for user: {}, unreadOnly: {}", userId, unreadOnly);
-        
-        // Mock data for now - in real implementation, you would have a notifications table
-        List<NotificationDTO> notifications = new ArrayList<>();
-        
-        notifications.add(NotificationDTO.builder()
-                .id(1L)
-                .type("maintenance_due")
-                .title("Bakım Zamanı")
-                .message("34 ABC 123 plakalı araç bakım zamanı geldi")
-                .priority("high")
-                .timestamp(LocalDateTime.now().minusHours(8))
-                .read(false)
-                .actionUrl("/admin/vehicles/1")
-                .build());
-
-        return notifications.stream()
+
+        // Şoför belge süreleri bellek içi takvimden okunur; her istekte şoför tablosu taranmaz.
+        // Okundu bilgisi tutulmadığından bildirimler okunmamış döner.
+        LocalDate today = LocalDate.now();
+        int documentTypes = DriverComplianceCalendar.DocumentType.values().length;
+        return driverComplianceCalendar.findExpiring(null).stream()
+                .map(entry -> NotificationDTO.builder()
+                        .id(entry.driverId() * documentTypes + entry.document().ordinal())
+                        .type("document_expiry")
+                        .title(documentExpiryTitle(entry, today))
+                        .message(documentExpiryMessage(entry, today))
+                        .priority(driverComplianceCalendar.priority(entry, today))
+                        .timestamp(entry.detectedAt().atZoneSameInstant(ZoneOffset.UTC).toLocalDateTime())
+                        .read(false)
+                        .actionUrl("/admin/drivers/" + entry.driverId())
+                        .build())
                 .filter(notification -> !Boolean.TRUE.equals(unreadOnly) || !notification.getRead())
                 .toList();
     }
 
-    private double calculateSuccessRate() {
-        int totalOrders = orderRepository.countAll();
-        int successfulOrders = orderRepository.countByStatus("COMPLETED");
+    private static String relativeTime(OffsetDateTime time, OffsetDateTime now) {
+        long minutes = Math.max(0, Duration.between(time, now).toMinutes());
+        if (minutes < 1) {
+            return "az önce";
+        }
+        if (minutes < 60) {
+            return minutes + " dakika önce";
+        }
+        long hours = minutes / 60;
+        return hours < 24 ? hours + " saat önce" : hours / 24 + " gün önce";
+    }
+
+    private static String documentExpiryTitle(DriverComplianceCalendar.ExpiryEntry entry, LocalDate today) {
+        String document = entry.document().getDisplayName();
+        return entry.daysLeft(today) < 0 ? document + " Süresi Doldu" : document + " Süresi Doluyor";
+    }
+
+    private static String documentExpiryMessage(DriverComplianceCalendar.ExpiryEntry entry, LocalDate today) {
+        long daysLeft = entry.daysLeft(today);
+        String date = entry.expiryDate().format(NOTIFICATION_DATE);
+        String subject = entry.driverName() + " adlı şoförün " + entry.document().getGenitive() + " süresi ";
+        if (daysLeft < 0) {
+            return subject + date + " tarihinde doldu";
+        }
+        return daysLeft == 0 ? subject + "bugün doluyor" : subject + daysLeft + " gün sonra (" + date + ") doluyor";
+    }
+
+    // Sipariş sayaçları orders tablosu taranmadan sayaç deposundan okunur
+    private OrderDashboardCounts aggregateOrderCounts() {
+        return dashboardCounterService.readOrderCounts();
+    }
+
+    private double calculateSuccessRate(OrderDashboardCounts orders) {
+        long totalOrders = orders.getTotal();
+        long successfulOrders = orders.getCompleted();
         return totalOrders > 0 ? (double) successfulOrders / totalOrders : 0.0;
     }
+
+    private static int toInt(Long value) {
+        return value != null ? value.intValue() : 0;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : 0.0;
+    }
 }
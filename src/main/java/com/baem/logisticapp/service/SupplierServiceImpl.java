@@ -17,9 +17,11 @@ import java.util.stream.Collectors;
 public class SupplierServiceImpl implements SupplierService {
 
     private final SupplierRepository supplierRepository;
+    private final GlobalSearchIndex globalSearchIndex;
 
-    public SupplierServiceImpl(SupplierRepository supplierRepository) {
+    public SupplierServiceImpl(SupplierRepository supplierRepository, GlobalSearchIndex globalSearchIndex) {
         this.supplierRepository = supplierRepository;
+        this.globalSearchIndex = globalSearchIndex;
     }
 
     @Override
@@ -46,6 +48,7 @@ public class SupplierServiceImpl implements SupplierService {
                 .build();
 
         Supplier savedSupplier = supplierRepository.save(supplier);
+        globalSearchIndex.supplierSaved(savedSupplier);
         return convertToResponseDTO(savedSupplier);
     }
 
@@ -118,6 +121,7 @@ public class SupplierServiceImpl implements SupplierService {
         }
 
         Supplier updatedSupplier = supplierRepository.save(supplier);
+        globalSearchIndex.supplierSaved(updatedSupplier);
         return convertToResponseDTO(updatedSupplier);
     }
 
@@ -129,6 +133,7 @@ public class SupplierServiceImpl implements SupplierService {
         // Soft delete - sadece isActive false yap
         supplier.setIsActive(false);
         supplierRepository.save(supplier);
+        globalSearchIndex.removed(GlobalSearchIndex.EntityType.SUPPLIER, id);
     }
 
     @Override
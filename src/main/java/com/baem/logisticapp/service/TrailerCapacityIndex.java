@@ -0,0 +1,333 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.repository.TrailerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Aktif dorselerin kapasite ve ölçülerine göre önceden sıralanmış indeksi. Her boyut (ağırlık,
+ * taban uzun kenarı, taban kısa kenarı, yükseklik) için dorseler artan sırada tutulur; bir yük için
+ * en seçici boyutta ikili arama ile yükü taşıyabilecek ilk dorse bulunur ve yalnızca oradan
+ * sonrası taranır. Dorseler değiştikçe commit sonrası yeniden oluşturulur.
+ *
+ * Birimler: dorse kapasitesi ton, ölçüler metre; yük ağırlığı kg, yük ölçüleri metre.
+ * Yük tabanda döndürülebilir, bu yüzden taban ölçüleri uzun/kısa kenar olarak karşılaştırılır.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrailerCapacityIndex {
+
+    static final int WEIGHT = 0;
+    static final int LONG_SIDE = 1;
+    static final int SHORT_SIDE = 2;
+    static final int HEIGHT = 3;
+    private static final int DIMENSIONS = 4;
+
+    private final TrailerRepository trailerRepository;
+
+    // Her yeniden oluşturmada tamamen değiştirilir (atomik referans değişimi)
+    private volatile Snapshot snapshot;
+
+    // Üst üste binen yeniden oluşturmalar sıraya girer; önce okunan eski veri sonradan yayınlanamaz
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Object[]> rows = trailerRepository.findCapacityIndexRows();
+        snapshot = new Snapshot(rows);
+        log.info("Trailer capacity index rebuilt with {} trailers", rows.size());
+    }
+
+    /**
+     * Mevcut transaction commit edildikten sonra indeksi yeniden oluşturur
+     */
+    public void rebuildAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuild();
+                }
+            });
+        } else {
+            rebuild();
+        }
+    }
+
+    /**
+     * Yükü taşıyabilen dorselerden en az boş kapasite bırakan {@code limit} tanesi, en uygundan başlayarak
+     *
+     * @param trailerType null ise tür filtresi uygulanmaz (büyük/küçük harf duyarsız)
+     * @param available   dorse id'si için uygunluk (ör. tarih aralığında boş mu); yalnızca ölçüye uyanlar için çağrılır
+     */
+    public List<TrailerFit> findBestFits(Cargo cargo, String trailerType, LongPredicate available, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current.findBestFits(cargo, trailerType, available, limit);
+    }
+
+    /**
+     * Tüm ölçüleri bilinen aktif dorselerden en yüksek kapasiteli olanı (eşitlikte taban uzun kenarı
+     * en uzun olan); yük konsolidasyonunda planlama ölçüsü olarak kullanılır
+     *
+     * @param trailerType null ise tür filtresi uygulanmaz (büyük/küçük harf duyarsız)
+     */
+    public Optional<TrailerDimensions> findLargest(String trailerType) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current.findLargest(trailerType);
+    }
+
+    /**
+     * Yük ölçüleri; bilinmeyenler null verilir ve kısıt oluşturmaz
+     */
+    public record Cargo(Double weightKg, Double length, Double width, Double height) {
+
+        double[] requirements() {
+            double[] required = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+            if (weightKg != null) {
+                required[WEIGHT] = weightKg;
+            }
+            if (length != null && width != null) {
+                required[LONG_SIDE] = Math.max(length, width);
+                required[SHORT_SIDE] = Math.min(length, width);
+            } else if (length != null || width != null) {
+                // Tek kenar biliniyorsa en azından uzun kenara sığmalı
+                required[LONG_SIDE] = length != null ? length : width;
+            }
+            if (height != null) {
+                required[HEIGHT] = height;
+            }
+            return required;
+        }
+
+        Double volume() {
+            return length != null && width != null && height != null ? length * width * height : null;
+        }
+    }
+
+    /**
+     * Yüke uyan dorse. score: boş kalan ağırlık ve hacim oranlarının ortalaması (0 = tam dolu, küçük olan daha uygun)
+     */
+    public record TrailerFit(long trailerId, String trailerNo, String trailerType, Double capacityTons,
+            Double length, Double width, Double height, Double leftoverWeightKg, Double leftoverVolume,
+            double score) {
+    }
+
+    /**
+     * Dorse kapasitesi (ton) ve ölçüleri (metre)
+     */
+    public record TrailerDimensions(long trailerId, String trailerNo, String trailerType, double capacityTons,
+            double length, double width, double height) {
+    }
+
+    private record Scored(int trailer, double score) {
+    }
+
+    private static final class Snapshot {
+
+        private final long[] ids;
+        private final String[] trailerNos;
+        private final String[] trailerTypes;
+        private final Double[] capacities;
+        private final Double[] lengths;
+        private final Double[] widths;
+        private final Double[] heights;
+        // Kapasite (kg) ve hacim (m³); bilinmeyen NaN
+        private final double[] capacityKg;
+        private final double[] volumes;
+        // values[boyut][dorse]; ölçüsü bilinmeyen NaN
+        private final double[][] values = new double[DIMENSIONS][];
+        // sorted[boyut]: ölçüsü bilinen dorselerin o boyuta göre artan sıralı konumları
+        private final int[][] sorted = new int[DIMENSIONS][];
+
+        Snapshot(List<Object[]> rows) {
+            int size = rows.size();
+            ids = new long[size];
+            trailerNos = new String[size];
+            trailerTypes = new String[size];
+            capacities = new Double[size];
+            lengths = new Double[size];
+            widths = new Double[size];
+            heights = new Double[size];
+            capacityKg = new double[size];
+            volumes = new double[size];
+            for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+                values[dimension] = new double[size];
+            }
+            for (int i = 0; i < size; i++) {
+                Object[] row = rows.get(i);
+                ids[i] = (Long) row[0];
+                trailerNos[i] = (String) row[1];
+                trailerTypes[i] = (String) row[2];
+                capacities[i] = (Double) row[3];
+                lengths[i] = (Double) row[4];
+                widths[i] = (Double) row[5];
+                heights[i] = (Double) row[6];
+                capacityKg[i] = capacities[i] != null ? capacities[i] * 1000 : Double.NaN;
+                volumes[i] = lengths[i] != null && widths[i] != null && heights[i] != null
+                        ? lengths[i] * widths[i] * heights[i] : Double.NaN;
+                values[WEIGHT][i] = capacityKg[i];
+                if (lengths[i] != null && widths[i] != null) {
+                    values[LONG_SIDE][i] = Math.max(lengths[i], widths[i]);
+                    values[SHORT_SIDE][i] = Math.min(lengths[i], widths[i]);
+                } else {
+                    values[LONG_SIDE][i] = Double.NaN;
+                    values[SHORT_SIDE][i] = Double.NaN;
+                }
+                values[HEIGHT][i] = heights[i] != null ? heights[i] : Double.NaN;
+            }
+            for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+                double[] dimensionValues = values[dimension];
+                sorted[dimension] = IntStream.range(0, size)
+                        .filter(i -> !Double.isNaN(dimensionValues[i]))
+                        .boxed()
+                        .sorted(Comparator.comparingDouble(i -> dimensionValues[i]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+            }
+        }
+
+        List<TrailerFit> findBestFits(Cargo cargo, String trailerType, LongPredicate available, int limit) {
+            double[] required = cargo.requirements();
+
+            // En az dorse bırakan boyut taranır; diğer boyutlar tek tek kontrol edilir
+            int[] candidates = null;
+            int from = 0;
+            for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+                if (Double.isNaN(required[dimension])) {
+                    continue;
+                }
+                int first = firstAtLeast(dimension, required[dimension]);
+                if (candidates == null || sorted[dimension].length - first < candidates.length - from) {
+                    candidates = sorted[dimension];
+                    from = first;
+                }
+            }
+            int count = candidates != null ? candidates.length - from : ids.length;
+
+            Double cargoVolume = cargo.volume();
+            double cargoWeight = cargo.weightKg() != null ? cargo.weightKg() : 0;
+            // En kötü (en yüksek puanlı) aday başta; nesne yalnızca ilk limit içine girenler için oluşturulur
+            Comparator<Scored> byFit = Comparator.comparingDouble(Scored::score)
+                    .thenComparingLong(scored -> ids[scored.trailer()]);
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, byFit.reversed());
+            for (int k = 0; k < count; k++) {
+                int i = candidates != null ? candidates[from + k] : k;
+                if (!fits(i, required) || (trailerType != null && !trailerType.equalsIgnoreCase(trailerTypes[i]))) {
+                    continue;
+                }
+                double score = score(i, cargoWeight, cargoVolume);
+                if (top.size() == limit) {
+                    Scored worst = top.peek();
+                    if (score > worst.score() || (score == worst.score() && ids[i] > ids[worst.trailer()])) {
+                        continue;
+                    }
+                }
+                // Uygunluk kontrolü en pahalı adım; yalnızca ilk limit içine girecek dorseler için
+                if (!available.test(ids[i])) {
+                    continue;
+                }
+                top.add(new Scored(i, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Scored> best = new ArrayList<>(top);
+            best.sort(byFit);
+            List<TrailerFit> fits = new ArrayList<>(best.size());
+            for (Scored scored : best) {
+                int i = scored.trailer();
+                fits.add(new TrailerFit(ids[i], trailerNos[i], trailerTypes[i], capacities[i], lengths[i], widths[i],
+                        heights[i], Double.isNaN(capacityKg[i]) ? null : capacityKg[i] - cargoWeight,
+                        Double.isNaN(volumes[i]) ? null
+                                : Math.round((volumes[i] - (cargoVolume != null ? cargoVolume : 0)) * 1000) / 1000.0,
+                        Math.round(scored.score() * 10_000) / 10_000.0));
+            }
+            return fits;
+        }
+
+        Optional<TrailerDimensions> findLargest(String trailerType) {
+            int best = -1;
+            int[] byWeight = sorted[WEIGHT];
+            for (int k = byWeight.length - 1; k >= 0; k--) {
+                int i = byWeight[k];
+                if (best >= 0 && capacityKg[i] < capacityKg[best]) {
+                    break;
+                }
+                if (Double.isNaN(volumes[i]) || (trailerType != null && !trailerType.equalsIgnoreCase(trailerTypes[i]))) {
+                    continue;
+                }
+                if (best < 0 || values[LONG_SIDE][i] > values[LONG_SIDE][best]) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new TrailerDimensions(ids[best], trailerNos[best], trailerTypes[best],
+                    capacities[best], lengths[best], widths[best], heights[best]));
+        }
+
+        // Boş kalan ağırlık ve hacim oranlarının ortalaması; kapasitesi bilinmeyen dorse en sona (1.0)
+        private double score(int trailer, double cargoWeight, Double cargoVolume) {
+            double slack = 0;
+            int measures = 0;
+            if (capacityKg[trailer] > 0) {
+                slack += (capacityKg[trailer] - cargoWeight) / capacityKg[trailer];
+                measures++;
+            }
+            if (volumes[trailer] > 0) {
+                slack += (volumes[trailer] - (cargoVolume != null ? cargoVolume : 0)) / volumes[trailer];
+                measures++;
+            }
+            return measures > 0 ? slack / measures : 1.0;
+        }
+
+        private boolean fits(int trailer, double[] required) {
+            for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+                // Yük ölçüsü verilmiş ama dorsenin ölçüsü bilinmiyorsa sığdığı varsayılmaz (NaN karşılaştırması false)
+                if (!Double.isNaN(required[dimension]) && !(values[dimension][trailer] >= required[dimension])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // sorted[dimension] içinde değeri en az minimum olan ilk konum
+        private int firstAtLeast(int dimension, double minimum) {
+            int[] order = sorted[dimension];
+            double[] dimensionValues = values[dimension];
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (dimensionValues[order[mid]] < minimum) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
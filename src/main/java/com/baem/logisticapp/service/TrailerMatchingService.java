@@ -0,0 +1,104 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.dto.TrailerMatchDTO;
+import com.baem.logisticapp.exception.ResourceNotFoundException;
+import com.baem.logisticapp.repository.OrderRepository;
+import com.baem.logisticapp.service.ResourceAvailabilityIndex.BookingWindow;
+import com.baem.logisticapp.service.ResourceAvailabilityIndex.ResourceType;
+import com.baem.logisticapp.service.TrailerCapacityIndex.Cargo;
+import com.baem.logisticapp.service.TrailerCapacityIndex.TrailerFit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+/**
+ * Siparişlere yük ölçüsü ve ağırlığına göre en uygun aktif dorseleri önerir. Yalnızca siparişin
+ * tarihlerinde boş olan dorseler döner; toplu istekte her sipariş diğerlerinden bağımsız eşleştirilir.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrailerMatchingService {
+
+    static final int MAX_LIMIT = 50;
+    static final int MAX_BATCH_SIZE = 200;
+
+    private final OrderRepository orderRepository;
+    private final TrailerCapacityIndex trailerCapacityIndex;
+    private final ResourceAvailabilityIndex resourceAvailabilityIndex;
+
+    /**
+     * @param trailerType null ise tüm dorse türleri
+     * @return istek sırasıyla, sipariş başına en fazla {@code limit} dorse
+     */
+    @Transactional(readOnly = true)
+    public List<TrailerMatchDTO> matchTrailers(List<Long> orderIds, String trailerType, int limit) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one order id is required");
+        }
+        if (orderIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " orders can be matched at once");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String type = trailerType != null && !trailerType.isBlank() ? trailerType.trim() : null;
+
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        Map<Long, Object[]> rows = new HashMap<>();
+        for (Object[] row : orderRepository.findCargoRowsByIdIn(ids)) {
+            rows.put((Long) row[0], row);
+        }
+
+        List<TrailerMatchDTO> matches = new ArrayList<>(ids.size());
+        for (Long orderId : ids) {
+            Object[] row = rows.get(orderId);
+            if (row == null) {
+                throw new ResourceNotFoundException("Order not found with id: " + orderId);
+            }
+            Cargo cargo = new Cargo(toDouble(row[1]), toDouble(row[2]), toDouble(row[3]), toDouble(row[4]));
+            BookingWindow window = ResourceAvailabilityIndex.window((LocalDate) row[5], (LocalDate) row[6],
+                    (LocalDate) row[7]);
+            // Tarihi belli olmayan sipariş için uygunluk bilinemez, tüm dorseler aday
+            LongPredicate available = window == null ? trailerId -> true
+                    : trailerId -> resourceAvailabilityIndex.isFree(ResourceType.TRAILER, trailerId, window.from(),
+                            window.to(), orderId);
+
+            matches.add(TrailerMatchDTO.builder()
+                    .orderId(orderId)
+                    .trailers(trailerCapacityIndex.findBestFits(cargo, type, available, limit).stream()
+                            .map(TrailerMatchingService::toCandidate)
+                            .toList())
+                    .build());
+        }
+        return matches;
+    }
+
+    private static TrailerMatchDTO.Candidate toCandidate(TrailerFit fit) {
+        return TrailerMatchDTO.Candidate.builder()
+                .trailerId(fit.trailerId())
+                .trailerNo(fit.trailerNo())
+                .trailerType(fit.trailerType())
+                .capacity(fit.capacityTons())
+                .length(fit.length())
+                .width(fit.width())
+                .height(fit.height())
+                .leftoverWeightKg(fit.leftoverWeightKg())
+                .leftoverVolume(fit.leftoverVolume())
+                .score(fit.score())
+                .build();
+    }
+
+    private static Double toDouble(Object value) {
+        return value != null ? ((BigDecimal) value).doubleValue() : null;
+    }
+}
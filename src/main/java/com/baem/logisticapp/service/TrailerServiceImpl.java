@@ -22,6 +22,8 @@ public class TrailerServiceImpl implements TrailerService {
     private final TrailerRepository trailerRepository;
     private final VehicleOwnershipTypeRepository vehicleOwnershipTypeRepository;
     private final TrailerValidator trailerValidator;
+    private final ResourceAvailabilityIndex resourceAvailabilityIndex;
+    private final TrailerCapacityIndex trailerCapacityIndex;
 
     public TrailerResponseDTO createTrailer(TrailerCreateDTO createDTO) {
         trailerValidator.validateForCreate(createDTO);
@@ -46,7 +48,11 @@ public class TrailerServiceImpl implements TrailerService {
                 .isActive(true)
                 .build();
 
-        return convertToDTO(trailerRepository.save(trailer));
+        Trailer savedTrailer = trailerRepository.save(trailer);
+        resourceAvailabilityIndex.resourceSaved(ResourceAvailabilityIndex.ResourceType.TRAILER, savedTrailer.getId(),
+                savedTrailer.getTrailerNo(), savedTrailer.getIsActive());
+        trailerCapacityIndex.rebuildAfterCommit();
+        return convertToDTO(savedTrailer);
     }
 
     public TrailerResponseDTO getTrailerById(Long id) {
@@ -85,7 +91,11 @@ public class TrailerServiceImpl implements TrailerService {
         trailer.setHeight(updateDTO.getHeight());
         trailer.setIsActive(updateDTO.getIsActive() != null ? updateDTO.getIsActive() : true);
 
-        return convertToDTO(trailerRepository.save(trailer));
+        Trailer savedTrailer = trailerRepository.save(trailer);
+        resourceAvailabilityIndex.resourceSaved(ResourceAvailabilityIndex.ResourceType.TRAILER, savedTrailer.getId(),
+                savedTrailer.getTrailerNo(), savedTrailer.getIsActive());
+        trailerCapacityIndex.rebuildAfterCommit();
+        return convertToDTO(savedTrailer);
     }
 
     public void deleteTrailer(Long id) {
@@ -93,6 +103,8 @@ public class TrailerServiceImpl implements TrailerService {
             throw new ResourceNotFoundException("Trailer not found");
         }
         trailerRepository.deleteById(id);
+        resourceAvailabilityIndex.resourceRemoved(ResourceAvailabilityIndex.ResourceType.TRAILER, id);
+        trailerCapacityIndex.rebuildAfterCommit();
     }
 
     @Override
@@ -0,0 +1,74 @@
+package com.baem.logisticapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Snowflake benzeri sefer numarası üreticisi.
+ * 41 bit zaman (ms, özel epoch) + 10 bit node id + 12 bit sıra numarası.
+ * Veritabanına gitmeden çakışmasız, monoton artan ve sabit uzunlukta
+ * (dolayısıyla alfabetik olarak da sıralı) numaralar üretir.
+ */
+@Component
+@Slf4j
+public class TripNumberGenerator {
+
+    private static final String PREFIX = "SF";
+    // 2024-01-01T00:00:00Z
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Saat bu kadar milisaniyeden fazla geri giderse uyarı logla
+    private static final long CLOCK_SKEW_WARN_MILLIS = 10;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    public TripNumberGenerator(@Value("${orders.trip-number.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Trip number node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Yeni sefer numarası üretir: SF + 19 haneli sıfır dolgulu sayı
+     */
+    public String nextTripNumber() {
+        return PREFIX + String.format("%019d", nextId());
+    }
+
+    synchronized long nextId() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+
+        if (now < lastTimestamp) {
+            // Saat geri gitti: mantıksal saat olarak son zamanı kullanmaya devam et
+            if (lastTimestamp - now > CLOCK_SKEW_WARN_MILLIS) {
+                log.warn("System clock moved backwards by {} ms, continuing with logical clock",
+                        lastTimestamp - now);
+            }
+            now = lastTimestamp;
+        }
+
+        if (now == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // Bu milisaniyenin sıra numaraları bitti, bir sonraki milisaniyeyi kullan
+                now = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+
+        lastTimestamp = now;
+        return (now << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
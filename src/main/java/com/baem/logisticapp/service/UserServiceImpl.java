@@ -26,6 +26,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
     @Override
     public UserResponseDTO createUser(UserCreateDTO userCreateDTO) {
@@ -95,6 +96,7 @@ public class UserServiceImpl implements UserService {
 
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        String previousUsername = user.getUsername();
 
         // Check if username is being changed and if it already exists
         if (userUpdateDTO.getUsername() != null && !userUpdateDTO.getUsername().equals(user.getUsername())) {
@@ -146,6 +148,8 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userDetailsService.evictAfterCommit(previousUsername);
+        userDetailsService.evictAfterCommit(updatedUser.getUsername());
         log.info("User updated successfully with ID: {}", updatedUser.getId());
 
         return mapToResponseDTO(updatedUser);
@@ -161,6 +165,7 @@ public class UserServiceImpl implements UserService {
         // Soft delete by setting isActive to false
         user.setIsActive(false);
         userRepository.save(user);
+        userDetailsService.evictAfterCommit(user.getUsername());
 
         log.info("User soft deleted successfully with ID: {}", id);
     }
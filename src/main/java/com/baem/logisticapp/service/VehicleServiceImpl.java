@@ -23,6 +23,8 @@ public class VehicleServiceImpl implements VehicleService {
     private final VehicleRepository vehicleRepository;
     private final VehicleOwnershipTypeRepository vehicleOwnershipTypeRepository;
     private final VehicleValidator vehicleValidator;
+    private final ResourceAvailabilityIndex resourceAvailabilityIndex;
+    private final ActivityLog activityLog;
 
     @Override
     public VehicleResponseDTO createVehicle(VehicleCreateDTO createDTO) {
@@ -43,7 +45,12 @@ public class VehicleServiceImpl implements VehicleService {
                 .isActive(true)
                 .build();
 
-        return convertToDTO(vehicleRepository.save(vehicle));
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        resourceAvailabilityIndex.resourceSaved(ResourceAvailabilityIndex.ResourceType.TRUCK, savedVehicle.getId(),
+                savedVehicle.getPlateNo(), savedVehicle.getIsActive());
+        activityLog.record(ActivityLog.ActivityType.VEHICLE, savedVehicle.getId(), ActivityLog.Status.SUCCESS,
+                "Yeni Araç", savedVehicle.getPlateNo() + " plakalı araç filoya eklendi");
+        return convertToDTO(savedVehicle);
     }
 
     @Override
@@ -80,7 +87,12 @@ public class VehicleServiceImpl implements VehicleService {
         vehicle.setVin(updateDTO.getVin());
         vehicle.setIsActive(updateDTO.getIsActive() != null ? updateDTO.getIsActive() : true);
 
-        return convertToDTO(vehicleRepository.save(vehicle));
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        resourceAvailabilityIndex.resourceSaved(ResourceAvailabilityIndex.ResourceType.TRUCK, savedVehicle.getId(),
+                savedVehicle.getPlateNo(), savedVehicle.getIsActive());
+        activityLog.record(ActivityLog.ActivityType.VEHICLE, savedVehicle.getId(), ActivityLog.Status.INFO,
+                "Araç Güncellendi", savedVehicle.getPlateNo() + " plakalı aracın bilgileri güncellendi");
+        return convertToDTO(savedVehicle);
     }
 
     @Override
@@ -89,6 +101,9 @@ public class VehicleServiceImpl implements VehicleService {
             throw new ResourceNotFoundException("Vehicle not found");
         }
         vehicleRepository.deleteById(id);
+        resourceAvailabilityIndex.resourceRemoved(ResourceAvailabilityIndex.ResourceType.TRUCK, id);
+        activityLog.record(ActivityLog.ActivityType.VEHICLE, id, ActivityLog.Status.WARNING,
+                "Araç Silindi", "#" + id + " numaralı araç filodan silindi");
     }
 
     @Override
@@ -0,0 +1,217 @@
+-- Başlangıç şeması: Flyway'e geçilmeden önce ddl-auto=update ile oluşan şemanın birebir karşılığı.
+-- Migration geçmişi olmayan mevcut veritabanlarında bu sürüm baseline kabul edilir ve çalıştırılmaz;
+-- bu yüzden yalnızca o dönemde var olan tabloları içerir, sonradan eklenen tablolar V2+ migration'lardadır.
+
+CREATE TABLE country_codes (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    country_name         VARCHAR(100) NOT NULL,
+    country_name_tr      VARCHAR(100),
+    country_code_iso     VARCHAR(3),
+    country_code_numeric VARCHAR(2)   NOT NULL,
+    is_active            BOOLEAN      NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE currency (
+    currency_code VARCHAR(3) NOT NULL,
+    name          VARCHAR(255),
+    symbol        VARCHAR(255),
+    PRIMARY KEY (currency_code)
+);
+
+CREATE TABLE customer_risk_status (
+    risk_status_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    status_name    VARCHAR(255) NOT NULL UNIQUE,
+    PRIMARY KEY (risk_status_id)
+);
+
+CREATE TABLE customer (
+    customer_id    BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name           VARCHAR(255),
+    tax_no         VARCHAR(255),
+    contact_name   VARCHAR(255),
+    phone_number   VARCHAR(255),
+    address        VARCHAR(255),
+    risk_status_id BIGINT,
+    is_blacklisted BOOLEAN,
+    is_in_lawsuit  BOOLEAN,
+    credit_limit   NUMERIC(38, 2),
+    created_at     TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (customer_id)
+);
+
+CREATE TABLE driver (
+    driver_id               BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    first_name              VARCHAR(255) NOT NULL,
+    last_name               VARCHAR(255) NOT NULL,
+    license_no              VARCHAR(255) NOT NULL UNIQUE,
+    license_class           VARCHAR(255) NOT NULL,
+    passport_expiry         DATE         NOT NULL,
+    visa_expiry             DATE         NOT NULL,
+    residence_permit_expiry DATE         NOT NULL,
+    phone_number            VARCHAR(255) NOT NULL,
+    email                   VARCHAR(255) NOT NULL,
+    is_active               BOOLEAN,
+    PRIMARY KEY (driver_id)
+);
+
+CREATE TABLE users (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username           VARCHAR(255) NOT NULL UNIQUE,
+    password           VARCHAR(255) NOT NULL,
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    email              VARCHAR(255),
+    phone              VARCHAR(255),
+    department         VARCHAR(255),
+    role               VARCHAR(255) NOT NULL CHECK (role IN ('SALES', 'OPERATION', 'FLEET', 'ADMIN')),
+    hire_date          DATE,
+    is_active          BOOLEAN,
+    can_approve_quotes BOOLEAN,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE supplier (
+    supplier_id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    company_name          VARCHAR(255) NOT NULL,
+    tax_number            VARCHAR(255) NOT NULL UNIQUE,
+    tax_office            VARCHAR(255),
+    trade_registry_number VARCHAR(255),
+    phone_number          VARCHAR(255),
+    email                 VARCHAR(255),
+    address               VARCHAR(255),
+    city                  VARCHAR(255),
+    country               VARCHAR(255),
+    is_active             BOOLEAN,
+    contract_start_date   DATE,
+    contract_end_date     DATE,
+    notes                 TEXT,
+    created_at            TIMESTAMP(6) WITH TIME ZONE,
+    updated_at            TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (supplier_id)
+);
+
+CREATE TABLE vehicle_ownership_type (
+    ownership_type_id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    ownership_name    VARCHAR(255) NOT NULL UNIQUE,
+    PRIMARY KEY (ownership_type_id)
+);
+
+CREATE TABLE vehicle (
+    vehicle_id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    plate_no          VARCHAR(255) NOT NULL UNIQUE,
+    make              VARCHAR(255),
+    model             VARCHAR(255),
+    model_year        SMALLINT,
+    vin               VARCHAR(255),
+    purchase_date     DATE,
+    is_active         BOOLEAN,
+    ownership_type_id BIGINT,
+    supplier_id       BIGINT,
+    PRIMARY KEY (vehicle_id)
+);
+
+CREATE TABLE trailer (
+    trailer_id        BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    trailer_no        VARCHAR(255) NOT NULL UNIQUE,
+    trailer_type      VARCHAR(255),
+    make              VARCHAR(255),
+    model             VARCHAR(255),
+    model_year        SMALLINT,
+    vin               VARCHAR(255),
+    capacity          FLOAT(53),
+    length            FLOAT(53),
+    width             FLOAT(53),
+    height            FLOAT(53),
+    purchase_date     DATE,
+    is_active         BOOLEAN,
+    ownership_type_id BIGINT,
+    supplier_id       BIGINT,
+    PRIMARY KEY (trailer_id)
+);
+
+CREATE TABLE orders (
+    order_id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    order_number            VARCHAR(16) UNIQUE,
+    trip_number             VARCHAR(255) UNIQUE,
+    customer_id             BIGINT NOT NULL,
+
+    departure_country       VARCHAR(255),
+    departure_city          VARCHAR(255),
+    departure_district      VARCHAR(255),
+    departure_postal_code   VARCHAR(255),
+    departure_address       TEXT,
+    departure_contact_name  VARCHAR(255),
+    departure_contact_phone VARCHAR(255),
+    departure_contact_email VARCHAR(255),
+
+    arrival_country         VARCHAR(255),
+    arrival_city            VARCHAR(255),
+    arrival_district        VARCHAR(255),
+    arrival_postal_code     VARCHAR(255),
+    arrival_address         TEXT,
+    arrival_contact_name    VARCHAR(255),
+    arrival_contact_phone   VARCHAR(255),
+    arrival_contact_email   VARCHAR(255),
+
+    cargo_type              VARCHAR(255),
+    cargo_weight_kg         NUMERIC(38, 2),
+    cargo_width             NUMERIC(38, 2),
+    cargo_length            NUMERIC(38, 2),
+    cargo_height            NUMERIC(38, 2),
+    can_transfer            BOOLEAN,
+    supply_type             VARCHAR(255),
+    customs_address         TEXT,
+
+    quote_price             NUMERIC(10, 2),
+    actual_price            NUMERIC(10, 2),
+
+    sales_person_id         BIGINT,
+    operation_person_id     BIGINT,
+    fleet_person_id         BIGINT,
+    customs_person_id       BIGINT,
+    assigned_truck_id       BIGINT,
+    assigned_trailer_id     BIGINT,
+    assigned_driver_id      BIGINT,
+
+    loading_date            DATE,
+    deadline_date           DATE,
+    estimated_arrival_date  DATE,
+    trip_status             VARCHAR(255) CHECK (trip_status IN ('TEKLIF_ASAMASI', 'ONAYLANAN_TEKLIF', 'IPTAL_EDILDI',
+                                                                'REDDEDILDI', 'YOLA_CIKTI', 'TESLIM_EDILDI')),
+    created_at              TIMESTAMP(6) WITH TIME ZONE,
+    updated_at              TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (order_id)
+);
+
+-- Foreign key isimleri Hibernate'in ürettikleriyle aynıdır; böylece ddl-auto ile oluşmuş
+-- veritabanları ile Flyway ile oluşanlar arasında fark olmaz.
+ALTER TABLE customer
+    ADD CONSTRAINT FK3nbm9d4hl5j2k9uloxx1hrbca FOREIGN KEY (risk_status_id) REFERENCES customer_risk_status;
+
+ALTER TABLE orders
+    ADD CONSTRAINT FKe5dwn4mkg7spvhcnhvxv94ckc FOREIGN KEY (assigned_driver_id) REFERENCES driver;
+ALTER TABLE orders
+    ADD CONSTRAINT FKoxrvlcjtxtrhxan4hh7ixgfkc FOREIGN KEY (assigned_trailer_id) REFERENCES trailer;
+ALTER TABLE orders
+    ADD CONSTRAINT FK2ljgtglnme8c9nb9pedbfjl6y FOREIGN KEY (assigned_truck_id) REFERENCES vehicle;
+ALTER TABLE orders
+    ADD CONSTRAINT FK624gtjin3po807j3vix093tlf FOREIGN KEY (customer_id) REFERENCES customer;
+ALTER TABLE orders
+    ADD CONSTRAINT FK89a32uf98ugf9jtw0v4bcd2lo FOREIGN KEY (customs_person_id) REFERENCES users;
+ALTER TABLE orders
+    ADD CONSTRAINT FK2qoragfsmet2aqradjcey46i1 FOREIGN KEY (fleet_person_id) REFERENCES users;
+ALTER TABLE orders
+    ADD CONSTRAINT FKgr3kh2qp6fu409jdix9s1hwok FOREIGN KEY (operation_person_id) REFERENCES users;
+ALTER TABLE orders
+    ADD CONSTRAINT FKh8j3o4uygb40o4k08ioj8buly FOREIGN KEY (sales_person_id) REFERENCES users;
+
+ALTER TABLE trailer
+    ADD CONSTRAINT FKleqahb0jvnyqtt3sc6t1g9ck6 FOREIGN KEY (ownership_type_id) REFERENCES vehicle_ownership_type;
+ALTER TABLE trailer
+    ADD CONSTRAINT FK7yfc097kwuuqm4hklal7xj0v FOREIGN KEY (supplier_id) REFERENCES supplier;
+
+ALTER TABLE vehicle
+    ADD CONSTRAINT FKlo3amh34jrprkmav6y1ltlgou FOREIGN KEY (ownership_type_id) REFERENCES vehicle_ownership_type;
+ALTER TABLE vehicle
+    ADD CONSTRAINT FK4ph43otibjwq0bgscyu2oje66 FOREIGN KEY (supplier_id) REFERENCES supplier;
@@ -0,0 +1,39 @@
+-- Sorguların ihtiyaç duyduğu index'ler. ddl-auto döneminde @Index ile oluşmuş olabilecekleri
+-- için IF NOT EXISTS kullanılır.
+
+-- Sipariş filtreleri (OrderSpecifications, findBy*PersonId, findByCustomerId, findByTripStatus)
+-- ve varsayılan sıralama (created_at DESC)
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created ON orders (customer_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_sales_person_created ON orders (sales_person_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_operation_person_created ON orders (operation_person_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_fleet_person_created ON orders (fleet_person_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created ON orders (trip_status, created_at);
+CREATE INDEX IF NOT EXISTS idx_orders_loading_date ON orders (loading_date);
+
+-- Keyset sayfalama (findFirstPage/findPageAfter) ve oluşturulma gününe göre sayaç mutabakatı
+CREATE INDEX IF NOT EXISTS idx_orders_created_id ON orders (created_at, order_id);
+
+-- Güncellenme gününe göre sayaç mutabakatı (countUpdatedAndCompletedByUpdatedDay)
+CREATE INDEX IF NOT EXISTS idx_orders_updated_at ON orders (updated_at);
+
+-- Operasyoncu atanmamış siparişler (countByTripStatusAndOperationPersonIsNull)
+CREATE INDEX IF NOT EXISTS idx_orders_unassigned_status ON orders (trip_status) WHERE operation_person_id IS NULL;
+
+-- Gecikmiş siparişler (countDelayed): yalnızca yoldaki/onaylı siparişler
+CREATE INDEX IF NOT EXISTS idx_orders_active_estimated_arrival ON orders (estimated_arrival_date)
+    WHERE trip_status IN ('ONAYLANAN_TEKLIF', 'YOLA_CIKTI');
+
+-- Şehir önek araması: lower(city) LIKE 'x%' (OrderSpecifications)
+CREATE INDEX IF NOT EXISTS idx_orders_departure_city_lower ON orders (lower(departure_city) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_orders_arrival_city_lower ON orders (lower(arrival_city) text_pattern_ops);
+
+-- Foreign key'ler: findByCustomsPersonId, findByAssigned*Id ve silme sırasındaki referans kontrolleri
+CREATE INDEX IF NOT EXISTS idx_orders_customs_person ON orders (customs_person_id);
+CREATE INDEX IF NOT EXISTS idx_orders_assigned_truck ON orders (assigned_truck_id);
+CREATE INDEX IF NOT EXISTS idx_orders_assigned_trailer ON orders (assigned_trailer_id);
+CREATE INDEX IF NOT EXISTS idx_orders_assigned_driver ON orders (assigned_driver_id);
+CREATE INDEX IF NOT EXISTS idx_customer_risk_status ON customer (risk_status_id);
+CREATE INDEX IF NOT EXISTS idx_vehicle_supplier ON vehicle (supplier_id);
+CREATE INDEX IF NOT EXISTS idx_vehicle_ownership_type ON vehicle (ownership_type_id);
+CREATE INDEX IF NOT EXISTS idx_trailer_supplier ON trailer (supplier_id);
+CREATE INDEX IF NOT EXISTS idx_trailer_ownership_type ON trailer (ownership_type_id);
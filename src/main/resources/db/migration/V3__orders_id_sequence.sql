@@ -0,0 +1,11 @@
+-- orders.order_id IDENTITY yerine sequence ile üretilir. IDENTITY'de Hibernate her INSERT'ten sonra
+-- üretilen id'yi okumak zorunda olduğu için JDBC batch devre dışı kalır; sequence ile id'ler önceden
+-- ayrılır ve toplu içe aktarımda INSERT'ler batch olarak gönderilir.
+ALTER TABLE orders ALTER COLUMN order_id DROP IDENTITY IF EXISTS;
+
+-- INCREMENT BY, Order entity'sindeki allocationSize ile aynı olmalı: Hibernate'in pooled optimizer'ı
+-- nextval ile dönen değeri bloğun son id'si olarak kullanır (değer - 49 ... değer)
+CREATE SEQUENCE orders_seq INCREMENT BY 50 OWNED BY orders.order_id;
+
+-- İlk blok mevcut en büyük id'nin hemen ardından başlar
+SELECT setval('orders_seq', (SELECT COALESCE(MAX(order_id), 0) FROM orders) + 50, false);
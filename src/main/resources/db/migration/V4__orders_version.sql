@@ -0,0 +1,3 @@
+-- Siparişlerde optimistic locking: her güncelleme version'ı bir artırır, okunan version'dan
+-- farklıysa güncelleme uygulanmaz (409)
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
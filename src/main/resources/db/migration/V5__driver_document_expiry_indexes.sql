@@ -0,0 +1,6 @@
+-- Şoför belge takvimi taraması (findDocumentExpiryRows): aktif şoförlerde her bitiş tarihi için
+-- ayrı index; üç koşul OR ile birleştiği için PostgreSQL bunları bitmap OR ile birlikte kullanır
+CREATE INDEX IF NOT EXISTS idx_driver_active_passport_expiry ON driver (passport_expiry) WHERE is_active = true;
+CREATE INDEX IF NOT EXISTS idx_driver_active_visa_expiry ON driver (visa_expiry) WHERE is_active = true;
+CREATE INDEX IF NOT EXISTS idx_driver_active_residence_permit_expiry ON driver (residence_permit_expiry)
+    WHERE is_active = true;
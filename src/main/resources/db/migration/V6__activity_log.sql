@@ -0,0 +1,17 @@
+-- Dashboard aktivite akışı: sipariş, araç, şoför ve müşteri değişiklikleri. Tablo yalnızca eklenir;
+-- activity_id uygulamada snowflake üreticisiyle verilir (zamanla monoton artar), bu yüzden
+-- "en yeniler" ve keyset sayfalama doğrudan birincil anahtar üzerinden okunur.
+CREATE TABLE IF NOT EXISTS activity_log (
+    activity_id BIGINT PRIMARY KEY,
+    type        VARCHAR(32)  NOT NULL,
+    entity_id   BIGINT,
+    title       VARCHAR(255) NOT NULL,
+    message     TEXT,
+    status      VARCHAR(16)  NOT NULL,
+    username    VARCHAR(255),
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Tür ve kullanıcı filtreli keyset sorguları (WHERE ... AND activity_id < ? ORDER BY activity_id DESC)
+CREATE INDEX IF NOT EXISTS idx_activity_log_type_id ON activity_log (type, activity_id);
+CREATE INDEX IF NOT EXISTS idx_activity_log_username_id ON activity_log (username, activity_id);
@@ -0,0 +1,16 @@
+-- Dashboard sayaçları ve günlük sipariş numarası blokları. Bu tablolar Flyway'e geçilmeden önce
+-- ddl-auto=update ile oluşturulmuş olabileceği için IF NOT EXISTS kullanılır; baseline kabul edilen
+-- veritabanlarında V1 çalışmadığından burada oluşturulmaları gerekir.
+CREATE TABLE IF NOT EXISTS dashboard_counters (
+    counter_key   VARCHAR(64)    NOT NULL,
+    counter_value NUMERIC(19, 2) NOT NULL,
+    bucket_date   DATE,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (counter_key)
+);
+
+CREATE TABLE IF NOT EXISTS order_number_sequences (
+    prefix          VARCHAR(8) NOT NULL,
+    high_water_mark BIGINT     NOT NULL,
+    PRIMARY KEY (prefix)
+);
@@ -0,0 +1,7 @@
+-- Keyset sayfalama (created_at DESC, order_id DESC) created_at'in dolu olmasına dayanır: NULL değerler
+-- DESC sıralamada başa düşer, imleç olarak kodlanamaz ve "created_at < ?" koşuluna hiç uymaz.
+-- ddl-auto döneminden kalan boş değerler doldurulur; NULLS FIRST ile zaten en yeni göründükleri için
+-- güncellenme zamanı, o da yoksa şimdiki zaman kullanılır.
+UPDATE orders SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+
+ALTER TABLE orders ALTER COLUMN created_at SET NOT NULL;
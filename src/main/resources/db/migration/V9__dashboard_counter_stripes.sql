@@ -0,0 +1,5 @@
+-- Dashboard sayaçları şeritlere bölünür: her anahtar en fazla N satırda tutulur ve okumada toplanır.
+-- Eşzamanlı sipariş yazımları aynı sayaç satırının kilidinde sıraya girmez.
+ALTER TABLE dashboard_counters ADD COLUMN IF NOT EXISTS stripe SMALLINT NOT NULL DEFAULT 0;
+ALTER TABLE dashboard_counters DROP CONSTRAINT IF EXISTS dashboard_counters_pkey;
+ALTER TABLE dashboard_counters ADD PRIMARY KEY (counter_key, stripe);
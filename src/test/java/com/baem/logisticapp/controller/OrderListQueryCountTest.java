@@ -0,0 +1,107 @@
+package com.baem.logisticapp.controller;
+
+import com.baem.logisticapp.support.TestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sipariş listeleme uçlarının çalıştırdığı SQL sayısı sipariş sayısına bağlı olmamalı (N+1 regresyonu).
+ * Her siparişin müşterisi, kamyonu, dorsesi ve şoförü farklıdır; ilişkiler tembel yüklenirse sayı
+ * sipariş sayısıyla büyür. Sayım, SQL profilinin X-SQL-Statements header'ından okunur.
+ */
+@SpringBootTest(properties = "metrics.sql.response-headers=true")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderListQueryCountTest {
+
+    private static final int ORDER_COUNT = 40;
+    // Sayfalı uçlarda veri + count sorgusu; liste uçlarında tek sorgu
+    private static final int STATEMENT_BUDGET = 2;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        TestDatabase.register(registry);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedOrders() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class) > 0) {
+            return;
+        }
+        Long salesId = userId("sales");
+        Long operationId = userId("operation");
+        Long fleetId = userId("fleet");
+        for (int i = 1; i <= ORDER_COUNT; i++) {
+            Long customerId = insert("INSERT INTO customer (name, tax_no, is_blacklisted, is_in_lawsuit) "
+                    + "VALUES (?, ?, false, false) RETURNING customer_id", "Müşteri " + i, "TAX" + i);
+            Long truckId = insert("INSERT INTO vehicle (plate_no, is_active) VALUES (?, true) RETURNING vehicle_id",
+                    "34 TR " + i);
+            Long trailerId = insert("INSERT INTO trailer (trailer_no, trailer_type, capacity, length, width, height, "
+                    + "is_active) VALUES (?, 'Tenteli', 24, 13.6, 2.45, 2.7, true) RETURNING trailer_id", "DR-" + i);
+            Long driverId = insert("INSERT INTO driver (first_name, last_name, license_no, license_class, "
+                    + "passport_expiry, visa_expiry, residence_permit_expiry, phone_number, email, is_active) "
+                    + "VALUES ('Şoför', ?, ?, 'CE', DATE '2030-01-01', DATE '2030-01-01', DATE '2030-01-01', "
+                    + "'0555', 'sofor@example.com', true) RETURNING driver_id", "No " + i, "LIC-" + i);
+            jdbcTemplate.update("INSERT INTO orders (order_id, order_number, trip_number, customer_id, departure_city, "
+                            + "arrival_city, sales_person_id, operation_person_id, fleet_person_id, customs_person_id, "
+                            + "assigned_truck_id, assigned_trailer_id, assigned_driver_id, trip_status, created_at) "
+                            + "VALUES (nextval('orders_seq'), ?, ?, ?, 'İstanbul', 'Münih', ?, ?, ?, ?, ?, ?, ?, "
+                            + "'ONAYLANAN_TEKLIF', now() - make_interval(mins => ?))",
+                    String.format("2601019000%06d", i), "SF-TEST-" + i, customerId, salesId, operationId, fleetId,
+                    operationId, truckId, trailerId, driverId, i);
+        }
+    }
+
+    Stream<String> listEndpoints() {
+        return Stream.of(
+                "/api/v1/orders",
+                "/api/v1/orders/page?size=100",
+                "/api/v1/orders/search?tripStatus=ONAYLANAN_TEKLIF",
+                "/api/v1/orders/search/page?size=100",
+                "/api/v1/orders/operation-person/" + userId("operation"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("listEndpoints")
+    void listEndpointsStayWithinStatementBudget(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(result.getResponse().getContentAsString()).contains("SF-TEST-" + ORDER_COUNT);
+        int statements = Integer.parseInt(result.getResponse().getHeader("X-SQL-Statements"));
+        assertThat(statements)
+                .as("SQL statements for %s with %d orders", url, ORDER_COUNT)
+                .isLessThanOrEqualTo(STATEMENT_BUDGET);
+    }
+
+    private Long userId(String username) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+    }
+
+    private Long insert(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -0,0 +1,105 @@
+package com.baem.logisticapp.service;
+
+import com.baem.logisticapp.repository.OrderNumberSequenceRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Eşzamanlı sipariş oluşturmada aynı önek için aynı sıra numarası iki kez verilmemeli.
+ * allocateBlock'un veritabanındaki atomik upsert'i önek başına bir sayaçla taklit edilir.
+ */
+class OrderNumberSequenceAllocatorTest {
+
+    private static final int THREADS = 64;
+    private static final int ORDERS = 10_000;
+    private static final long BLOCK_SIZE = 50;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final Map<String, AtomicLong> highWaterMarks = new ConcurrentHashMap<>();
+    private final OrderNumberSequenceAllocator allocator = new OrderNumberSequenceAllocator(sequenceRepository(),
+            BLOCK_SIZE);
+
+    @Test
+    void concurrentNextNeverReturnsDuplicates() throws Exception {
+        List<Long> numbers = runConcurrently(() -> allocator.next("261018", "01"));
+
+        assertThat(Set.copyOf(numbers)).hasSize(ORDERS);
+        // Tüm bloklar tükendiği için numaralar boşluksuz 1..ORDERS olmalı
+        assertThat(numbers).containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, ORDERS).boxed().toList());
+    }
+
+    @Test
+    void concurrentNextAndReserveDoNotOverlap() throws Exception {
+        List<Long> numbers = runConcurrently(() -> {
+            if (calls.incrementAndGet() % 10 == 0) {
+                // Toplu ayırmanın ilk numarası; ayrılan aralığın tamamı kontrol edilir
+                return -allocator.reserve("261018", "01", 3);
+            }
+            return allocator.next("261018", "01");
+        });
+
+        List<Long> expanded = new ArrayList<>();
+        for (long number : numbers) {
+            if (number < 0) {
+                LongStream.range(-number, -number + 3).forEach(expanded::add);
+            } else {
+                expanded.add(number);
+            }
+        }
+        assertThat(Set.copyOf(expanded)).hasSize(expanded.size());
+    }
+
+    private List<Long> runConcurrently(NumberSource source) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(ORDERS);
+            for (int i = 0; i < ORDERS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return source.next();
+                }));
+            }
+            start.countDown();
+
+            List<Long> numbers = new ArrayList<>(ORDERS);
+            for (Future<Long> future : futures) {
+                numbers.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return numbers;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private OrderNumberSequenceRepository sequenceRepository() {
+        OrderNumberSequenceRepository repository = mock(OrderNumberSequenceRepository.class);
+        when(repository.allocateBlock(anyString(), anyLong())).thenAnswer(invocation -> highWaterMarks
+                .computeIfAbsent(invocation.getArgument(0), prefix -> new AtomicLong())
+                .addAndGet(invocation.getArgument(1)));
+        return repository;
+    }
+
+    @FunctionalInterface
+    private interface NumberSource {
+        long next();
+    }
+}
@@ -0,0 +1,47 @@
+package com.baem.logisticapp.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Testler için gömülü PostgreSQL. Sunucu JVM başına bir kez başlatılır; her test sınıfı boş bir
+ * veritabanı alır ve şema uygulamadaki gibi Flyway migration'larıyla kurulur.
+ */
+public final class TestDatabase {
+
+    private static EmbeddedPostgres postgres;
+    private static int databaseCount;
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Test sınıfının @DynamicPropertySource metodundan çağrılır
+     */
+    public static synchronized void register(DynamicPropertyRegistry registry) {
+        String database = "test_" + (++databaseCount);
+        try {
+            if (postgres == null) {
+                postgres = EmbeddedPostgres.builder().start();
+            }
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE DATABASE " + database);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create test database " + database, e);
+        }
+        EmbeddedPostgres server = postgres;
+        registry.add("spring.datasource.url", () -> server.getJdbcUrl("postgres", database));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+}